@@ -3,6 +3,7 @@ package com.daicy.devtools.plugin;
 import javafx.geometry.Pos;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
@@ -11,19 +12,54 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 
 import javax.imageio.ImageIO;
-import java.awt.image.RenderedImage;
-import java.io.File;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * 图标生成工具类
+ * 生成的图标按（文字、尺寸、配色、主题）缓存在内存中，超过容量时淘汰最久未使用的图标；
+ * 同时以PNG保存到磁盘缓存目录，再次启动时直接读取文件，不再创建场景图和截图
  */
 public class IconGenerator {
     private static final int ICON_SIZE = 32;
     private static final double FONT_RATIO = 0.7; // 增大字体比例
-    private static final Color BACKGROUND_COLOR = Color.web("#4A90E2"); // 使用更柔和的蓝色
-    private static final Color TEXT_COLOR = Color.WHITE;
-    private static final double CORNER_RADIUS = 8.0; // 圆角半径
+    private static final double CORNER_RADIUS = 8.0; // 圆角半径（32像素图标下的值，按尺寸等比缩放）
+
+    /** 磁盘缓存目录的系统属性，默认为 user.dir/config/icon-cache */
+    public static final String CACHE_DIR_PROPERTY = "devtools.icon.cache.dir";
+    /** 内存中最多缓存的图标数 */
+    private static final int MAX_CACHED_ICONS = 256;
+    /** 绘制方式变化时递增，使旧的磁盘缓存失效 */
+    private static final int RENDER_VERSION = 1;
+
+    private static final Logger logger = Logger.getLogger(IconGenerator.class.getName());
+
+    private static final Map<String, Image> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+            return size() > MAX_CACHED_ICONS;
+        }
+    };
+
+    // PNG编码和写文件放到后台线程，不占用JavaFX线程
+    private static final ExecutorService diskWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "icon-cache-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * 为插件生成默认图标
@@ -31,19 +67,92 @@ public class IconGenerator {
      * @return 生成的图标
      */
     public static Image generateIcon(String text) {
+        return generateIcon(text, ICON_SIZE, IconStyle.DEFAULT);
+    }
+
+    /**
+     * 生成指定尺寸的默认配色图标
+     * @param text 图标文字
+     * @param size 图标边长（像素）
+     * @return 生成的图标
+     */
+    public static Image generateIcon(String text, int size) {
+        return generateIcon(text, size, IconStyle.DEFAULT);
+    }
+
+    /**
+     * 生成指定尺寸和配色的图标，优先使用内存和磁盘缓存
+     * 缓存未命中时需要截图，必须在JavaFX线程调用
+     * @param text 图标文字，只使用第一个字符
+     * @param size 图标边长（像素）
+     * @param style 配色
+     * @return 生成的图标
+     */
+    public static Image generateIcon(String text, int size, IconStyle style) {
+        String glyph = text.substring(0, 1); // 使用第一个字符
+        if (size <= 0) {
+            throw new IllegalArgumentException("Icon size must be positive: " + size);
+        }
+        String key = cacheKey(glyph, size, style);
+        synchronized (cache) {
+            Image cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Path file = cacheDirectory().resolve(key + ".png");
+        Image icon = readCachedIcon(file, size);
+        if (icon == null) {
+            WritableImage rendered = render(glyph, size, style);
+            writeCachedIcon(file, rendered);
+            icon = rendered;
+        }
+        synchronized (cache) {
+            cache.put(key, icon);
+        }
+        return icon;
+    }
+
+    /**
+     * 一次生成多个尺寸的图标，用于高DPI屏幕或窗口图标（系统会从中选择最合适的尺寸）
+     * @param text 图标文字
+     * @param style 配色
+     * @param sizes 需要的边长（像素）
+     * @return 与 sizes 顺序一致的图标列表
+     */
+    public static List<Image> generateIcons(String text, IconStyle style, int... sizes) {
+        List<Image> icons = new ArrayList<>(sizes.length);
+        for (int size : sizes) {
+            icons.add(generateIcon(text, size, style));
+        }
+        return icons;
+    }
+
+    /**
+     * 清空内存缓存，磁盘缓存保留
+     */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static WritableImage render(String glyph, int size, IconStyle style) {
         // 创建文本节点
         Text textNode = new Text();
-        textNode.setText(text.substring(0, 1)); // 使用第一个字符
-        textNode.setFont(Font.font("System", FontWeight.BOLD, ICON_SIZE * FONT_RATIO));
-        textNode.setFill(TEXT_COLOR);
+        textNode.setText(glyph);
+        textNode.setFont(Font.font("System", FontWeight.BOLD, size * FONT_RATIO));
+        textNode.setFill(style.text());
 
         // 创建圆角矩形背景
+        double cornerRadius = CORNER_RADIUS * size / ICON_SIZE;
         javafx.scene.shape.Rectangle background = new javafx.scene.shape.Rectangle(
-            ICON_SIZE, ICON_SIZE,
-            BACKGROUND_COLOR
+            size, size,
+            style.background()
         );
-        background.setArcWidth(CORNER_RADIUS * 2);
-        background.setArcHeight(CORNER_RADIUS * 2);
+        background.setArcWidth(cornerRadius * 2);
+        background.setArcHeight(cornerRadius * 2);
 
         // 创建容器并添加背景和文本
         StackPane container = new StackPane();
@@ -55,9 +164,75 @@ public class IconGenerator {
         params.setFill(Color.TRANSPARENT);
 
         // 创建图标
-        WritableImage icon = new WritableImage(ICON_SIZE, ICON_SIZE);
+        WritableImage icon = new WritableImage(size, size);
         container.snapshot(params, icon);
 
         return icon;
     }
-}
\ No newline at end of file
+
+    private static String cacheKey(String glyph, int size, IconStyle style) {
+        return "v" + RENDER_VERSION
+                + "-" + Integer.toHexString(glyph.charAt(0))
+                + "-" + size
+                + "-" + colorHex(style.background())
+                + "-" + colorHex(style.text())
+                + "-" + style.theme().replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    private static String colorHex(Color color) {
+        return String.format("%02x%02x%02x%02x",
+                Math.round(color.getRed() * 255), Math.round(color.getGreen() * 255),
+                Math.round(color.getBlue() * 255), Math.round(color.getOpacity() * 255));
+    }
+
+    private static Path cacheDirectory() {
+        String directory = System.getProperty(CACHE_DIR_PROPERTY);
+        if (directory != null && !directory.isEmpty()) {
+            return Paths.get(directory);
+        }
+        return Paths.get(System.getProperty("user.dir"), "config", "icon-cache");
+    }
+
+    private static Image readCachedIcon(Path file, int size) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            Image image = new Image(in);
+            if (image.isError() || (int) image.getWidth() != size || (int) image.getHeight() != size) {
+                // 文件损坏或尺寸不符时重新生成并覆盖
+                return null;
+            }
+            return image;
+        } catch (IOException e) {
+            logger.log(Level.FINE, "读取图标缓存失败: " + file, e);
+            return null;
+        }
+    }
+
+    private static void writeCachedIcon(Path file, WritableImage icon) {
+        // 在当前线程读取像素，编码和写入交给后台线程
+        int width = (int) icon.getWidth();
+        int height = (int) icon.getHeight();
+        int[] argb = new int[width * height];
+        icon.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argb, 0, width);
+
+        diskWriter.execute(() -> {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            image.setRGB(0, 0, width, height, argb, 0, width);
+            try {
+                Files.createDirectories(file.getParent());
+                // 先写临时文件再替换，避免其他实例读到写了一半的文件
+                Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                try {
+                    ImageIO.write(image, "png", tempFile.toFile());
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tempFile);
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "写入图标缓存失败: " + file, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.daicy.devtools.plugin;
+
+import javafx.scene.paint.Color;
+
+/**
+ * 生成图标使用的配色
+ * 主题名称参与图标缓存的键，同样的颜色在不同主题下分别缓存
+ *
+ * @param theme      主题名称
+ * @param background 背景颜色
+ * @param text       文字颜色
+ */
+public record IconStyle(String theme, Color background, Color text) {
+
+    /** 默认配色：柔和的蓝色背景配白色文字 */
+    public static final IconStyle DEFAULT = new IconStyle("default", Color.web("#4A90E2"), Color.WHITE);
+
+    public IconStyle {
+        if (theme == null || background == null || text == null) {
+            throw new IllegalArgumentException("Icon style theme and colors must not be null");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.daicy.devtools.plugin;
 
+import com.daicy.devtools.plugin.metrics.OperationMetrics;
+import com.daicy.devtools.plugin.metrics.PluginMetrics;
 import javafx.scene.Node;
 import javafx.scene.image.Image;
 
@@ -17,6 +19,16 @@ public interface Plugin {
         return IconGenerator.generateIcon(getName());
     }
 
+    /**
+     * 获取本插件某个操作的性能指标，指标会显示在主程序的性能指标面板中
+     * 返回的对象应保存在字段中复用，避免每次操作都查找
+     * @param operation 操作名称，如“格式化”
+     * @return 操作指标
+     */
+    default OperationMetrics operationMetrics(String operation) {
+        return PluginMetrics.getInstance().operation(getName(), operation);
+    }
+
     /**
      * 销毁插件资源
      */
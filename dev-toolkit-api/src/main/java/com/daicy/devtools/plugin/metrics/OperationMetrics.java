@@ -0,0 +1,121 @@
+package com.daicy.devtools.plugin.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个插件操作（如JSON格式化、Base64编码）的指标：耗时分布、处理字节数和失败次数
+ * 调用方应缓存本对象，热点路径上的 start/stop 不分配任何对象：
+ * <pre>
+ * long start = metrics.start();
+ * ...
+ * metrics.stop(start, bytes);
+ * </pre>
+ */
+public final class OperationMetrics {
+    private final String pluginName;
+    private final String operation;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder bytesProcessed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    OperationMetrics(String pluginName, String operation) {
+        this.pluginName = pluginName;
+        this.operation = operation;
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * 开始计时
+     * @return 开始时刻，传给 stop 或 fail
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束计时并记录一次成功的操作
+     * @param startNanos start() 的返回值
+     * @param bytes 本次处理的字节数
+     */
+    public void stop(long startNanos, long bytes) {
+        record(System.nanoTime() - startNanos, bytes);
+    }
+
+    /**
+     * 结束计时并记录一次失败的操作，失败的耗时同样计入分布
+     * @param startNanos start() 的返回值
+     */
+    public void fail(long startNanos) {
+        failures.increment();
+        latency.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 直接记录一次操作
+     * @param nanos 耗时（纳秒）
+     * @param bytes 处理的字节数
+     */
+    public void record(long nanos, long bytes) {
+        latency.record(nanos);
+        if (bytes > 0) {
+            bytesProcessed.add(bytes);
+        }
+    }
+
+    /**
+     * 计算文本按UTF-8编码后的字节数，不实际编码，用于记录处理的字节数
+     * @param text 文本
+     * @return 字节数
+     */
+    public static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    public void reset() {
+        latency.reset();
+        bytesProcessed.reset();
+        failures.reset();
+    }
+
+    /**
+     * 生成当前指标的快照
+     * @return 快照，包含 p50/p95/p99 等统计值
+     */
+    public OperationMetricsSnapshot snapshot() {
+        LatencyHistogram.Snapshot histogram = latency.snapshot();
+        return new OperationMetricsSnapshot(
+            pluginName,
+            operation,
+            histogram.getCount(),
+            failures.sum(),
+            bytesProcessed.sum(),
+            histogram.getValueAtPercentile(50),
+            histogram.getValueAtPercentile(95),
+            histogram.getValueAtPercentile(99),
+            histogram.getMax(),
+            histogram.getMean()
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.daicy.devtools.plugin.metrics;
+
+/**
+ * 插件操作指标的快照，时间单位均为纳秒
+ */
+public record OperationMetricsSnapshot(
+    String pluginName,
+    String operation,
+    long count,
+    long failures,
+    long bytesProcessed,
+    long p50Nanos,
+    long p95Nanos,
+    long p99Nanos,
+    long maxNanos,
+    double meanNanos
+) {}
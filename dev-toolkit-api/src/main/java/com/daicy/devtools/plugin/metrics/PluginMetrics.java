@@ -0,0 +1,59 @@
+package com.daicy.devtools.plugin.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 插件性能指标注册表
+ * 按（插件名称，操作名称）登记 OperationMetrics，进程内共享，主程序据此展示各插件的性能指标
+ */
+public class PluginMetrics {
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    private static class SingletonHolder {
+        private static final PluginMetrics instance = new PluginMetrics();
+    }
+
+    public static PluginMetrics getInstance() {
+        return SingletonHolder.instance;
+    }
+
+    private PluginMetrics() {
+    }
+
+    /**
+     * 获取（不存在时创建）插件操作的指标
+     * 查找本身需要拼接字符串，调用方应在初始化时获取一次并保存
+     * @param pluginName 插件名称
+     * @param operation 操作名称
+     * @return 操作指标
+     */
+    public OperationMetrics operation(String pluginName, String operation) {
+        return operations.computeIfAbsent(pluginName + '\u0000' + operation,
+            key -> new OperationMetrics(pluginName, operation));
+    }
+
+    /**
+     * 生成所有操作指标的快照，按插件名称和操作名称排序
+     * @return 快照列表
+     */
+    public List<OperationMetricsSnapshot> snapshot() {
+        List<OperationMetricsSnapshot> snapshots = new ArrayList<>(operations.size());
+        for (OperationMetrics metrics : operations.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(OperationMetricsSnapshot::pluginName)
+            .thenComparing(OperationMetricsSnapshot::operation));
+        return snapshots;
+    }
+
+    /**
+     * 清空所有指标的计数，已登记的操作保留
+     */
+    public void reset() {
+        operations.values().forEach(OperationMetrics::reset);
+    }
+}
@@ -3,9 +3,12 @@ package com.daicy.devtools.plugin;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
@@ -17,10 +20,21 @@ import javafx.scene.image.PixelReader;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
+import java.nio.file.Path;
+import java.util.List;
+
 @ExtendWith(ApplicationExtension.class)
 public class IconGeneratorTest {
     private Stage stage;
 
+    @TempDir
+    static Path cacheDir;
+
+    @BeforeAll
+    static void useTempCacheDir() {
+        System.setProperty(IconGenerator.CACHE_DIR_PROPERTY, cacheDir.toString());
+    }
+
     @Start
     private void start(Stage stage) {
         this.stage = stage;
@@ -133,6 +147,46 @@ public class IconGeneratorTest {
         WaitForAsyncUtils.waitForFxEvents();
     }
 
+    @Test
+    void testGenerateIconIsCached() {
+        Platform.runLater(() -> {
+            Image first = IconGenerator.generateIcon("Cache");
+            Image second = IconGenerator.generateIcon("Cat");
+
+            assertSame(first, second, "Same first character, size and style should reuse the cached icon");
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    @Test
+    void testGenerateIconLoadsFromDiskCache() {
+        Platform.runLater(() -> {
+            Image rendered = IconGenerator.generateIcon("D");
+            IconGenerator.clearCache();
+            Image loaded = IconGenerator.generateIcon("D");
+
+            assertEquals(32, (int)loaded.getWidth());
+            PixelReader renderedReader = rendered.getPixelReader();
+            PixelReader loadedReader = loaded.getPixelReader();
+            assertTrue(colorEquals(renderedReader.getColor(4, 16), loadedReader.getColor(4, 16)));
+            assertEquals(0, loadedReader.getColor(0, 0).getOpacity());
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    @Test
+    void testGenerateIconsMultipleSizes() {
+        Platform.runLater(() -> {
+            List<Image> icons = IconGenerator.generateIcons("HiDPI", IconStyle.DEFAULT, 16, 32, 64);
+
+            assertEquals(3, icons.size());
+            assertEquals(16, (int)icons.get(0).getWidth());
+            assertEquals(32, (int)icons.get(1).getWidth());
+            assertEquals(64, (int)icons.get(2).getHeight());
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
     // Helper method to compare colors with tolerance
     private boolean colorEquals(Color c1, Color c2) {
         double tolerance = 0.1;
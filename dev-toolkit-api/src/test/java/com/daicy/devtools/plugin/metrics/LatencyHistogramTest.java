@@ -0,0 +1,87 @@
+package com.daicy.devtools.plugin.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketBoundsCoverEveryValue() {
+        // 每个值都落在上界不小于它、相对误差不超过1/32的桶中
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456, 1_000_000_007L, LatencyHistogram.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index >= 0 && index < LatencyHistogram.BUCKET_COUNT);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value, "upper bound " + upper + " below " + value);
+            assertTrue(upper - value <= Math.max(1, value / 32), "bucket too wide for " + value);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(500), snapshot.getValueAtPercentile(50));
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(950), snapshot.getValueAtPercentile(95));
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(990), snapshot.getValueAtPercentile(99));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), snapshot.getValueAtPercentile(100));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), snapshot.getMax());
+    }
+
+    @Test
+    void testRecordCorrectedBackfillsMissedSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 98个1ms的正常样本和一次1秒的停顿，预期间隔1ms时停顿期间少测了约999个样本
+        for (int i = 0; i < 98; i++) {
+            histogram.recordCorrected(1_000_000, 1_000_000);
+        }
+        histogram.recordCorrected(1_000_000_000, 1_000_000);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(98 + 1000, snapshot.getCount());
+        // 不修正时p90是1ms，修正后p90接近停顿的大部分
+        assertTrue(snapshot.getValueAtPercentile(90) > 800_000_000L);
+
+        LatencyHistogram uncorrected = new LatencyHistogram();
+        uncorrected.recordCorrected(5_000_000, 0);
+        assertEquals(1, uncorrected.snapshot().getCount());
+    }
+
+    @Test
+    void testOperationMetricsSnapshot() {
+        OperationMetrics metrics = PluginMetrics.getInstance().operation("测试插件", "操作");
+        metrics.reset();
+        metrics.record(TimeUnit.MILLISECONDS.toNanos(2), 100);
+        metrics.record(TimeUnit.MILLISECONDS.toNanos(4), 50);
+        metrics.fail(metrics.start());
+
+        OperationMetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(3, snapshot.count());
+        assertEquals(1, snapshot.failures());
+        assertEquals(150, snapshot.bytesProcessed());
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(4), snapshot.p99Nanos());
+        assertTrue(PluginMetrics.getInstance().snapshot().contains(snapshot));
+    }
+
+    @Test
+    void testUtf8Length() {
+        assertEquals(0, OperationMetrics.utf8Length(""));
+        assertEquals("a中😀é".getBytes(java.nio.charset.StandardCharsets.UTF_8).length,
+            OperationMetrics.utf8Length("a中😀é"));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 32 + 1,
+            "expected about " + expected + " but was " + actual);
+    }
+}
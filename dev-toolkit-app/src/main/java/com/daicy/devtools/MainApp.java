@@ -1,5 +1,6 @@
 package com.daicy.devtools;
 
+import com.daicy.devtools.cli.DevToolsCli;
 import com.daicy.devtools.plugin.Plugin;
 import com.daicy.devtools.plugin.PluginManager;
 import com.daicy.devtools.plugin.config.PluginConfig;
@@ -10,6 +11,9 @@ import com.daicy.devtools.plugin.impl.HostEditorPlugin;
 import com.daicy.devtools.plugin.impl.JsonToBeanPlugin;
 import com.daicy.devtools.plugin.market.PluginMarketService;
 import com.daicy.devtools.plugin.market.PluginMarketView;
+import com.daicy.devtools.plugin.metrics.OperationMetricsSnapshot;
+import com.daicy.devtools.plugin.metrics.PluginMetrics;
+import com.daicy.devtools.plugin.utils.PluginException;
 import javafx.application.Application;
 import javafx.concurrent.Worker;
 import javafx.geometry.Insets;
@@ -133,6 +137,82 @@ public class MainApp extends Application {
         tabPane.getSelectionModel().select(homeTab);
     }
 
+    private void showMetricsReport() {
+        Stage metricsStage = new Stage();
+        metricsStage.setTitle("插件性能指标");
+
+        TableView<OperationMetricsSnapshot> tableView = new TableView<>();
+        tableView.setStyle("-fx-font-size: 14px;");
+
+        TableColumn<OperationMetricsSnapshot, String> pluginColumn = new TableColumn<>("插件名称");
+        pluginColumn.setCellValueFactory(data ->
+            new javafx.beans.property.SimpleStringProperty(data.getValue().pluginName()));
+
+        TableColumn<OperationMetricsSnapshot, String> operationColumn = new TableColumn<>("操作");
+        operationColumn.setCellValueFactory(data ->
+            new javafx.beans.property.SimpleStringProperty(data.getValue().operation()));
+
+        TableColumn<OperationMetricsSnapshot, Number> countColumn = new TableColumn<>("次数");
+        countColumn.setCellValueFactory(data ->
+            new javafx.beans.property.SimpleLongProperty(data.getValue().count()));
+        countColumn.setStyle("-fx-alignment: CENTER-RIGHT;");
+
+        TableColumn<OperationMetricsSnapshot, Number> failureColumn = new TableColumn<>("失败");
+        failureColumn.setCellValueFactory(data ->
+            new javafx.beans.property.SimpleLongProperty(data.getValue().failures()));
+        failureColumn.setStyle("-fx-alignment: CENTER-RIGHT;");
+
+        TableColumn<OperationMetricsSnapshot, String> p50Column = millisColumn("P50(ms)", OperationMetricsSnapshot::p50Nanos);
+        TableColumn<OperationMetricsSnapshot, String> p95Column = millisColumn("P95(ms)", OperationMetricsSnapshot::p95Nanos);
+        TableColumn<OperationMetricsSnapshot, String> p99Column = millisColumn("P99(ms)", OperationMetricsSnapshot::p99Nanos);
+        TableColumn<OperationMetricsSnapshot, String> maxColumn = millisColumn("最大(ms)", OperationMetricsSnapshot::maxNanos);
+
+        TableColumn<OperationMetricsSnapshot, String> bytesColumn = new TableColumn<>("处理量");
+        bytesColumn.setCellValueFactory(data ->
+            new javafx.beans.property.SimpleStringProperty(formatBytes(data.getValue().bytesProcessed())));
+        bytesColumn.setStyle("-fx-alignment: CENTER-RIGHT;");
+
+        tableView.getColumns().addAll(pluginColumn, operationColumn, countColumn, failureColumn,
+            p50Column, p95Column, p99Column, maxColumn, bytesColumn);
+        tableView.getItems().addAll(PluginMetrics.getInstance().snapshot());
+        tableView.setPlaceholder(new Label("暂无性能数据，使用插件后再查看"));
+
+        Button refreshButton = new Button("刷新");
+        refreshButton.setOnAction(e -> tableView.getItems().setAll(PluginMetrics.getInstance().snapshot()));
+        Button resetButton = new Button("清零");
+        resetButton.setOnAction(e -> {
+            PluginMetrics.getInstance().reset();
+            tableView.getItems().setAll(PluginMetrics.getInstance().snapshot());
+        });
+        ToolBar toolBar = new ToolBar(refreshButton, resetButton);
+
+        VBox vbox = new VBox(5, toolBar, tableView);
+        vbox.setPadding(new Insets(10));
+        VBox.setVgrow(tableView, javafx.scene.layout.Priority.ALWAYS);
+        Scene scene = new Scene(vbox, 800, 400);
+        metricsStage.setScene(scene);
+        metricsStage.show();
+    }
+
+    private static TableColumn<OperationMetricsSnapshot, String> millisColumn(
+            String title, java.util.function.ToLongFunction<OperationMetricsSnapshot> nanos) {
+        TableColumn<OperationMetricsSnapshot, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(
+            String.format("%.2f", nanos.applyAsLong(data.getValue()) / 1_000_000.0)));
+        column.setStyle("-fx-alignment: CENTER-RIGHT;");
+        return column;
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+
     private MenuBar createMenuBar() {
         MenuBar menuBar = new MenuBar();
 
@@ -156,7 +236,9 @@ public class MainApp extends Application {
         marketItem.setOnAction(e -> openPluginMarket());
         MenuItem usageReportItem = new MenuItem("使用报告");
         usageReportItem.setOnAction(e -> showUsageReport());
-        pluginMenu.getItems().addAll(marketItem, new SeparatorMenuItem(), usageReportItem);
+        MenuItem metricsItem = new MenuItem("性能指标");
+        metricsItem.setOnAction(e -> showMetricsReport());
+        pluginMenu.getItems().addAll(marketItem, new SeparatorMenuItem(), usageReportItem, metricsItem);
 
         // 视图菜单
         Menu viewMenu = new Menu("视图");
@@ -294,6 +376,13 @@ public class MainApp extends Application {
         if (existingTab != null) {
             tabPane.getSelectionModel().select(existingTab);
         } else {
+            // 插件在首次打开时才初始化并构建界面
+            try {
+                pluginManager.activatePlugin(plugin);
+            } catch (PluginException e) {
+                showError("错误", "无法启动插件：" + e.getMessage());
+                return;
+            }
             Tab tab = new Tab(plugin.getName());
             tab.setContent(plugin.getPluginNode());
             tabPane.getTabs().add(tab);
@@ -356,7 +445,17 @@ public class MainApp extends Application {
         alert.showAndWait();
     }
 
+    @Override
+    public void stop() {
+        // 退出前写回尚未保存的插件使用数据
+        com.daicy.devtools.plugin.analytics.PluginUsageAnalyzer.getInstance().shutdown();
+    }
+
     public static void main(String[] args) {
+        if (args.length > 0 && DevToolsCli.BATCH_COMMAND.equals(args[0])) {
+            // 批处理模式不启动界面
+            System.exit(DevToolsCli.run(args));
+        }
         launch(args);
     }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.daicy.devtools.plugin;
+
+import org.fxmisc.richtext.model.StyleSpans;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 一个后台回填周期
+ * 后台线程把开始时的文本快照按行切分、逐段高亮并分批交付；
+ * JavaFX线程记录已高亮的段落和回填开始后的编辑，把快照中的段落号换算为当前段落号，
+ * 编辑期间回填不必重新开始
+ */
+final class HighlightFill {
+    /**
+     * 接收一批段落样式
+     */
+    interface ChunkConsumer {
+        /**
+         * @param firstParagraph 本批第一个段落在快照中的段落号
+         * @param chunk 连续段落的样式
+         * @param last 是否为最后一批
+         */
+        void accept(int firstParagraph, List<StyleSpans<Collection<String>>> chunk, boolean last);
+    }
+
+    /**
+     * 回填开始后的一次编辑，段落号均为编辑时的坐标
+     *
+     * @param start 第一个被编辑的段落
+     * @param oldEnd 编辑前最后一个被编辑的段落
+     * @param newEnd 编辑后最后一个被编辑的段落
+     */
+    private record Edit(int start, int oldEnd, int newEnd) {
+    }
+
+    private final String text;
+    private final int chunkSize;
+    private volatile boolean cancelled;
+    // 以下字段仅在JavaFX线程访问
+    private final List<Edit> edits = new ArrayList<>();
+    private BitSet styled;
+
+    /**
+     * @param text 回填开始时的文本快照
+     * @param paragraphs 快照的段落数
+     * @param chunkSize 每批交付的段落数
+     */
+    HighlightFill(String text, int paragraphs, int chunkSize) {
+        this.text = text;
+        this.chunkSize = chunkSize;
+        this.styled = new BitSet(paragraphs);
+    }
+
+    /**
+     * 在当前线程逐段计算样式并分批交付，被取消时立即返回
+     * 段落与文本按换行符一一对应，末尾的换行符之后还有一个空段落
+     *
+     * @return 是否全部交付完毕
+     */
+    boolean run(ChunkConsumer consumer) {
+        List<StyleSpans<Collection<String>>> chunk = new ArrayList<>(chunkSize);
+        int firstParagraph = 0;
+        int lineStart = 0;
+        int length = text.length();
+        while (lineStart <= length) {
+            if (cancelled) {
+                return false;
+            }
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            chunk.add(JsonHighlighting.highlightLine(text.substring(lineStart, lineEnd)));
+            lineStart = lineEnd + 1;
+
+            if (chunk.size() == chunkSize && lineStart <= length) {
+                consumer.accept(firstParagraph, chunk, false);
+                firstParagraph += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (cancelled) {
+            return false;
+        }
+        consumer.accept(firstParagraph, chunk, true);
+        return true;
+    }
+
+    /**
+     * 取消回填，可在任意线程调用
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 记录回填开始后的一次编辑，被编辑的段落视为已由调用方重新高亮
+     * 只有增删了换行符的编辑才需要平移已高亮的标记
+     */
+    void edited(int start, int oldEnd, int newEnd) {
+        edits.add(new Edit(start, oldEnd, newEnd));
+        if (oldEnd != newEnd) {
+            BitSet shifted = styled.get(0, start);
+            for (int i = styled.nextSetBit(oldEnd + 1); i >= 0; i = styled.nextSetBit(i + 1)) {
+                shifted.set(i - oldEnd + newEnd);
+            }
+            styled = shifted;
+        }
+        styled.set(start, newEnd + 1);
+    }
+
+    /**
+     * @param snapshotParagraph 快照中的段落号
+     * @return 该段落当前的段落号，段落在回填开始后被编辑过时返回-1
+     */
+    int toCurrent(int snapshotParagraph) {
+        int paragraph = snapshotParagraph;
+        for (Edit edit : edits) {
+            if (paragraph > edit.oldEnd()) {
+                paragraph += edit.newEnd() - edit.oldEnd();
+            } else if (paragraph >= edit.start()) {
+                return -1;
+            }
+        }
+        return paragraph;
+    }
+
+    /**
+     * 标记当前段落已高亮
+     *
+     * @return 此前尚未高亮时返回true，调用方需要设置样式
+     */
+    boolean markStyled(int paragraph) {
+        if (styled.get(paragraph)) {
+            return false;
+        }
+        styled.set(paragraph);
+        return true;
+    }
+}
@@ -0,0 +1,179 @@
+package com.daicy.devtools.plugin;
+
+import javafx.application.Platform;
+import org.fxmisc.richtext.CodeArea;
+import org.fxmisc.richtext.model.PlainTextChange;
+import org.fxmisc.richtext.model.StyleSpans;
+import org.fxmisc.richtext.model.TwoDimensional;
+import org.reactfx.EventStreams;
+import org.reactfx.Subscription;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 增量式JSON语法高亮
+ * 按段落独立做词法分析：小范围编辑只重新分析受影响的段落；
+ * 大段文本替换时先高亮可见区域，其余段落在后台线程分块计算后回填，
+ * 大文档在设置文本后即可交互，不再整篇阻塞JavaFX线程。
+ * 回填期间的小范围编辑不会打断回填，见 {@link HighlightFill}
+ */
+public class IncrementalJsonHighlighter {
+    /** 编辑涉及的段落数不超过该值时直接在JavaFX线程重新高亮 */
+    private static final int SYNC_PARAGRAPH_LIMIT = 200;
+    /** 后台每批回填的段落数 */
+    private static final int CHUNK_SIZE = 1000;
+    /** 可见区域尚未完成布局时，优先高亮的开头段落数 */
+    private static final int INITIAL_PARAGRAPHS = 100;
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "json-highlighter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CodeArea area;
+    private final Subscription subscription;
+    // 正在进行的后台回填，没有时为null，仅在JavaFX线程访问
+    private HighlightFill fill;
+    private boolean viewportPending;
+    private boolean enabled = true;
+
+    private IncrementalJsonHighlighter(CodeArea area) {
+        this.area = area;
+        this.subscription = area.plainTextChanges().subscribe(this::onTextChange)
+                .and(EventStreams.changesOf(area.getVisibleParagraphs()).subscribe(change -> onViewportChange()));
+    }
+
+    /**
+     * 为CodeArea启用增量JSON高亮，并立即高亮已有内容
+     *
+     * @param area 目标文本区域
+     * @return 高亮器实例，可用于停用或解除绑定
+     */
+    public static IncrementalJsonHighlighter attach(CodeArea area) {
+        IncrementalJsonHighlighter highlighter = new IncrementalJsonHighlighter(area);
+        if (area.getLength() > 0) {
+            highlighter.restartFill();
+        }
+        return highlighter;
+    }
+
+    /**
+     * 启用或停用高亮
+     * 停用期间忽略文本变化，用于输出区域显示非JSON内容（如错误信息）时保留自定义样式
+     */
+    public void setEnabled(boolean enabled) {
+        if (!enabled) {
+            cancelFill();
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * 解除与CodeArea的绑定
+     */
+    public void detach() {
+        cancelFill();
+        subscription.unsubscribe();
+    }
+
+    private void onTextChange(PlainTextChange change) {
+        if (!enabled) {
+            return;
+        }
+        int startPar = area.offsetToPosition(change.getPosition(), TwoDimensional.Bias.Forward).getMajor();
+        int oldEndPar = startPar + countLines(change.getRemoved());
+        int newEndPar = startPar + countLines(change.getInserted());
+        if (newEndPar - startPar >= SYNC_PARAGRAPH_LIMIT) {
+            restartFill();
+            return;
+        }
+        for (int paragraph = startPar; paragraph <= newEndPar; paragraph++) {
+            styleParagraph(paragraph);
+        }
+        // 后台回填继续进行，已计算的段落按编辑平移后回填
+        if (fill != null) {
+            fill.edited(startPar, oldEndPar, newEndPar);
+        }
+    }
+
+    private void onViewportChange() {
+        // 滚动到尚未回填的位置时优先高亮可见段落；推迟到布局结束后执行，避免在布局过程中修改样式
+        if (fill == null || viewportPending) {
+            return;
+        }
+        viewportPending = true;
+        Platform.runLater(() -> {
+            viewportPending = false;
+            if (fill != null) {
+                styleVisibleParagraphs();
+            }
+        });
+    }
+
+    private void restartFill() {
+        cancelFill();
+        HighlightFill newFill = new HighlightFill(area.getText(), area.getParagraphs().size(), CHUNK_SIZE);
+        fill = newFill;
+        styleVisibleParagraphs();
+        EXECUTOR.execute(() -> newFill.run((firstParagraph, chunk, last) ->
+            applyChunk(newFill, firstParagraph, chunk, last)));
+    }
+
+    private void cancelFill() {
+        if (fill != null) {
+            fill.cancel();
+            fill = null;
+        }
+    }
+
+    private void styleVisibleParagraphs() {
+        int paragraphs = area.getParagraphs().size();
+        int visible = area.getVisibleParagraphs().size();
+        int first = 0;
+        int last = Math.min(paragraphs, INITIAL_PARAGRAPHS) - 1;
+        if (visible > 0) {
+            first = Math.min(area.visibleParToAllParIndex(0), paragraphs - 1);
+            last = Math.min(area.visibleParToAllParIndex(visible - 1), paragraphs - 1);
+        }
+        for (int paragraph = first; paragraph <= last; paragraph++) {
+            if (fill.markStyled(paragraph)) {
+                styleParagraph(paragraph);
+            }
+        }
+    }
+
+    private void styleParagraph(int paragraph) {
+        area.setStyleSpans(paragraph, 0, JsonHighlighting.highlightLine(area.getText(paragraph)));
+    }
+
+    private void applyChunk(HighlightFill chunkFill, int firstParagraph,
+                            List<StyleSpans<Collection<String>>> chunk, boolean last) {
+        Platform.runLater(() -> {
+            if (fill != chunkFill || chunkFill.isCancelled()) {
+                return;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                // 回填开始后被编辑过的段落已经重新高亮，跳过
+                int paragraph = chunkFill.toCurrent(firstParagraph + i);
+                if (paragraph >= 0 && chunkFill.markStyled(paragraph)) {
+                    area.setStyleSpans(paragraph, 0, chunk.get(i));
+                }
+            }
+            if (last) {
+                fill = null;
+            }
+        });
+    }
+
+    private static int countLines(String text) {
+        int count = 0;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -1,82 +1,101 @@
 package com.daicy.devtools.plugin;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonToken;
 import org.fxmisc.richtext.model.StyleSpans;
-import org.fxmisc.richtext.model.StyleSpansBuilder;
 
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
 public class JsonHighlighting {
 
-    private final static JsonFactory jsonFactory = new JsonFactory();;
+    /** 每个线程复用一个token缓冲区，高亮时只分配结果数组 */
+    private static final ThreadLocal<JsonTokenBuffer> TOKEN_BUFFER = ThreadLocal.withInitial(JsonTokenBuffer::new);
 
     public static StyleSpans<Collection<String>> highlight(String code) {
-        List<Match> matches = new ArrayList<>();
+        JsonTokenBuffer buffer = TOKEN_BUFFER.get();
+        buffer.reset();
+        tokenize(code, buffer);
+        return buffer.toStyleSpans(code.length());
+    }
 
-        try {
-            JsonParser parser = jsonFactory.createParser(code);
-            while (!parser.isClosed()) {
-                JsonToken jsonToken = parser.nextToken();
-                int start = (int) parser.getTokenLocation().getCharOffset();
-                int end = start + parser.getTextLength();
+    /**
+     * 对单个段落做词法分析并生成样式
+     * JSON字符串不能包含换行，所以每一行都可以独立分析，不依赖前后文
+     *
+     * @param line 段落文本，不含换行符
+     * @return 覆盖整行的样式
+     */
+    public static StyleSpans<Collection<String>> highlightLine(String line) {
+        return highlight(line);
+    }
 
-                // Because getTextLength() does contain the surrounding ""
-                if(jsonToken == JsonToken.VALUE_STRING || jsonToken == JsonToken.FIELD_NAME) {
-                    end += 2;
+    /**
+     * 扫描文本，把属性名、字符串和数字token依次写入缓冲区
+     *
+     * @param code   JSON文本
+     * @param buffer 接收token的缓冲区
+     */
+    public static void tokenize(CharSequence code, JsonTokenBuffer buffer) {
+        int length = code.length();
+        int i = 0;
+        while (i < length) {
+            char c = code.charAt(i);
+            int start = i;
+            byte style;
+            if (c == '"') {
+                i = skipString(code, i + 1);
+                // 字符串后紧跟冒号的是属性名
+                int next = i;
+                while (next < length && Character.isWhitespace(code.charAt(next))) {
+                    next++;
                 }
-
-                String className = jsonTokenToClassName(jsonToken);
-                if (!className.isEmpty()) {
-                    Match m = new Match(className, start, end);
-                    matches.add(m);
+                style = next < length && code.charAt(next) == ':'
+                        ? JsonTokenBuffer.STYLE_PROPERTY : JsonTokenBuffer.STYLE_STRING;
+            } else if (isDigit(c) || (c == '-' && i + 1 < length && isDigit(code.charAt(i + 1)))) {
+                i++;
+                while (i < length && isNumberChar(code.charAt(i))) {
+                    i++;
+                }
+                style = JsonTokenBuffer.STYLE_NUMBER;
+            } else if (Character.isLetter(c)) {
+                // 跳过 true/false/null 等单词，避免把单词中的数字识别为数值
+                i++;
+                while (i < length && Character.isLetterOrDigit(code.charAt(i))) {
+                    i++;
                 }
+                continue;
+            } else {
+                i++;
+                continue;
             }
-        } catch (IOException e) {
-            // System.err.printf("JSON Error: %s%n", e.getMessage());
+            buffer.add(start, i - start, style);
         }
+    }
 
-        StyleSpansBuilder<Collection<String>> spansBuilder = new StyleSpansBuilder<>();
-        int lastPos = 0;
-        for (Match match : matches) {
-            // Fill the gaps, since Style Spans need to be contiguous.
-            if (match.start > lastPos) {
-                int length = match.start - lastPos;
-                spansBuilder.add(Collections.emptyList(), length);
+    private static int skipString(CharSequence code, int i) {
+        int length = code.length();
+        while (i < length) {
+            char c = code.charAt(i);
+            if (c == '\n') {
+                // 未闭合的字符串止于行尾
+                return i;
+            }
+            i++;
+            if (c == '\\') {
+                if (i < length && code.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '"') {
+                return i;
             }
-
-            int length = match.end - match.start;
-            spansBuilder.add(Collections.singleton(match.kind), length);
-            lastPos = match.end;
-        }
-
-        if(lastPos == 0) {
-            spansBuilder.add(Collections.emptyList(), code.length());
         }
+        return length;
+    }
 
-        return spansBuilder.create();
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
-    public static String jsonTokenToClassName(JsonToken jsonToken) {
-        if (jsonToken == null) {
-            return "";
-        }
-        switch (jsonToken) {
-            case FIELD_NAME:
-                return "json-property";
-            case VALUE_STRING:
-                return "json-string";
-            case VALUE_NUMBER_FLOAT:
-            case VALUE_NUMBER_INT:
-                return "json-number";
-            default:
-                return "";
-        }
+    private static boolean isNumberChar(char c) {
+        return isDigit(c) || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-';
     }
 
-}
\ No newline at end of file
+}
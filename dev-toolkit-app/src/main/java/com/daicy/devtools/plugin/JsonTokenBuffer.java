@@ -0,0 +1,200 @@
+package com.daicy.devtools.plugin;
+
+import org.fxmisc.richtext.model.StyleSpan;
+import org.fxmisc.richtext.model.StyleSpans;
+import org.fxmisc.richtext.model.TwoDimensional;
+import org.fxmisc.richtext.model.TwoLevelNavigator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 高亮结果的紧凑存储
+ * 以并行的 int[] 起始位置、int[] 长度和 byte 样式ID 记录连续的样式区间（包括无样式的间隙），
+ * 数组按需扩容，reset 后可重复使用，高亮大文档时不再为每个token创建对象
+ */
+public class JsonTokenBuffer {
+    public static final byte STYLE_NONE = 0;
+    public static final byte STYLE_PROPERTY = 1;
+    public static final byte STYLE_STRING = 2;
+    public static final byte STYLE_NUMBER = 3;
+
+    /** 样式ID对应的CSS类，所有区间共享同一个集合实例 */
+    private static final List<Collection<String>> STYLE_CLASSES = List.of(
+        Collections.emptyList(),
+        Collections.singleton("json-property"),
+        Collections.singleton("json-string"),
+        Collections.singleton("json-number")
+    );
+
+    private static final int INITIAL_CAPACITY = 64;
+    /** 超过该容量的数组在 reset 时释放，避免偶尔处理的大文档长期占用内存 */
+    private static final int RETAINED_CAPACITY = 1 << 16;
+
+    private int[] starts;
+    private int[] lengths;
+    private byte[] styles;
+    private int size;
+    private int end;
+
+    public JsonTokenBuffer() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * 清空内容以便下次复用
+     */
+    public void reset() {
+        if (starts.length > RETAINED_CAPACITY) {
+            allocate(INITIAL_CAPACITY);
+        }
+        size = 0;
+        end = 0;
+    }
+
+    /**
+     * 追加一个token，与上一个区间之间的空隙自动补为无样式区间
+     *
+     * @param start  起始位置，不能小于上一个区间的结束位置
+     * @param length 长度
+     * @param style  样式ID
+     */
+    public void add(int start, int length, byte style) {
+        if (start < end) {
+            throw new IllegalArgumentException("Token start " + start + " overlaps previous span ending at " + end);
+        }
+        if (start > end) {
+            append(end, start - end, STYLE_NONE);
+        }
+        append(start, length, style);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getStart(int index) {
+        return starts[index];
+    }
+
+    public int getLength(int index) {
+        return lengths[index];
+    }
+
+    public byte getStyle(int index) {
+        return styles[index];
+    }
+
+    /**
+     * 生成覆盖指定长度文本的样式区间
+     * 结果只复制长度和样式两个数组，与缓冲区互不影响，缓冲区随后可以 reset 复用
+     *
+     * @param totalLength 文本总长度，末尾未覆盖的部分补为无样式区间
+     * @return 不可变的样式区间
+     */
+    public StyleSpans<Collection<String>> toStyleSpans(int totalLength) {
+        if (totalLength > end || size == 0) {
+            append(end, totalLength - end, STYLE_NONE);
+        }
+        return new PackedStyleSpans(Arrays.copyOf(lengths, size), Arrays.copyOf(styles, size));
+    }
+
+    private void append(int start, int length, byte style) {
+        if (size == starts.length) {
+            int capacity = size << 1;
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            styles = Arrays.copyOf(styles, capacity);
+        }
+        starts[size] = start;
+        lengths[size] = length;
+        styles[size] = style;
+        size++;
+        end = start + length;
+    }
+
+    private void allocate(int capacity) {
+        starts = new int[capacity];
+        lengths = new int[capacity];
+        styles = new byte[capacity];
+    }
+
+    /**
+     * 直接基于数组的 StyleSpans 实现，StyleSpan 只在被访问时创建
+     */
+    private static final class PackedStyleSpans implements StyleSpans<Collection<String>> {
+        private final int[] lengths;
+        private final byte[] styles;
+        private final int length;
+        private final TwoLevelNavigator navigator;
+
+        PackedStyleSpans(int[] lengths, byte[] styles) {
+            this.lengths = lengths;
+            this.styles = styles;
+            int total = 0;
+            for (int spanLength : lengths) {
+                total += spanLength;
+            }
+            this.length = total;
+            this.navigator = new TwoLevelNavigator(() -> lengths.length, i -> lengths[i]);
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public int getSpanCount() {
+            return lengths.length;
+        }
+
+        @Override
+        public StyleSpan<Collection<String>> getStyleSpan(int index) {
+            return new StyleSpan<>(STYLE_CLASSES.get(styles[index]), lengths[index]);
+        }
+
+        @Override
+        public Position position(int major, int minor) {
+            return navigator.position(major, minor);
+        }
+
+        @Override
+        public Position offsetToPosition(int offset, TwoDimensional.Bias bias) {
+            return navigator.offsetToPosition(offset, bias);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof StyleSpans)) {
+                return false;
+            }
+            StyleSpans<?> that = (StyleSpans<?>) other;
+            if (getSpanCount() != that.getSpanCount()) {
+                return false;
+            }
+            for (int i = 0; i < getSpanCount(); i++) {
+                if (!getStyleSpan(i).equals(that.getStyleSpan(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 1;
+            for (int i = 0; i < getSpanCount(); i++) {
+                result = 31 * result + getStyleSpan(i).hashCode();
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "PackedStyleSpans(length=" + length + " spanCount=" + lengths.length + ")";
+        }
+    }
+}
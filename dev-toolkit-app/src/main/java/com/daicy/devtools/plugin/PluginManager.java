@@ -4,34 +4,58 @@ import com.daicy.devtools.plugin.config.PluginConfig;
 import com.daicy.devtools.plugin.config.PluginConfigManager;
 import com.daicy.devtools.plugin.market.PluginMarketService;
 import com.daicy.devtools.plugin.spi.JarPluginLoader;
+import com.daicy.devtools.plugin.spi.LazyPlugin;
+import com.daicy.devtools.plugin.spi.PluginLoadTiming;
 import com.daicy.devtools.plugin.spi.PluginLoader;
 import com.daicy.devtools.plugin.spi.ServiceLoaderPluginLoader;
 import com.daicy.devtools.plugin.utils.PluginException;
 import com.daicy.devtools.plugin.analytics.PluginUsageAnalyzer;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 插件管理器
  * 负责管理所有插件的生命周期
+ * 插件注册时只登记元数据，initialize() 推迟到首次打开插件时通过 {@link #activatePlugin(Plugin)} 执行
  */
 public class PluginManager {
+    /** 插件发现线程池的最大线程数 */
+    private static final int MAX_DISCOVERY_THREADS = 8;
+
     private final List<Plugin> plugins;
+    private final Set<Plugin> activatedPlugins;
     private final List<PluginLoader> pluginLoaders;
     private final PluginMarketService marketService;
     private final PluginUsageAnalyzer usageAnalyzer;
+    private volatile List<PluginLoadTiming> loadTimings = Collections.emptyList();
     private static boolean isInitialized = false;
 
     protected PluginManager() {
+        // 默认的插件加载器和Jar包插件加载器
+        this(List.of(new ServiceLoaderPluginLoader(), JarPluginLoader.getInstance()));
+    }
+
+    /**
+     * 使用指定的加载器创建并立即加载插件（用于测试）
+     * @param pluginLoaders 插件加载器，同名插件按此顺序先发现的为准
+     */
+    PluginManager(List<PluginLoader> pluginLoaders) {
         this.plugins = new ArrayList<>();
-        this.pluginLoaders = new ArrayList<>();
+        this.activatedPlugins = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.pluginLoaders = new ArrayList<>(pluginLoaders);
         this.marketService = new PluginMarketService();
         this.usageAnalyzer = PluginUsageAnalyzer.getInstance();
-        // 添加默认的插件加载器
-        this.pluginLoaders.add(new ServiceLoaderPluginLoader());
-        // 添加Jar包插件加载器
-        this.pluginLoaders.add(JarPluginLoader.getInstance());
         loadPlugins();
     }
 
@@ -70,6 +94,7 @@ public class PluginManager {
 
     /**
      * 注册插件
+     * 只登记插件，不调用 initialize()，插件在首次使用时才被激活
      * @param plugin 插件实例
      */
     public void registerPlugin(Plugin plugin) {
@@ -78,16 +103,39 @@ public class PluginManager {
         }
         if (plugins.stream().noneMatch(p -> p.getName().equals(plugin.getName()))) {            plugins.add(plugin);
             System.out.println("Registered plugin: " + plugin.getName());
-            usageAnalyzer.recordPluginStart(plugin);
-            try {
-                plugin.initialize();
-            } catch (Exception e) {
-                plugins.remove(plugin);
-                throw new PluginException("Failed to initialize plugin: " + plugin.getName(), e);
-            }
         }
     }
 
+    /**
+     * 激活插件，首次调用时执行 initialize()，之后的调用直接返回
+     * @param plugin 插件实例
+     * @throws PluginException 初始化失败时抛出，插件保持未激活状态，下次打开时会重试
+     */
+    public synchronized void activatePlugin(Plugin plugin) {
+        if (plugin == null) {
+            throw new PluginException("Cannot activate null plugin");
+        }
+        if (activatedPlugins.contains(plugin)) {
+            return;
+        }
+        try {
+            plugin.initialize();
+            activatedPlugins.add(plugin);
+            System.out.println("Activated plugin: " + plugin.getName());
+        } catch (Exception e) {
+            throw new PluginException("Failed to initialize plugin: " + plugin.getName(), e);
+        }
+    }
+
+    /**
+     * 检查插件是否已经激活
+     * @param plugin 插件实例
+     * @return 如果已执行过 initialize() 返回true
+     */
+    public synchronized boolean isPluginActivated(Plugin plugin) {
+        return activatedPlugins.contains(plugin);
+    }
+
     /**
      * 注销插件
      * @param plugin 插件实例
@@ -96,7 +144,12 @@ public class PluginManager {
         if (plugin != null) {
             try {
                 usageAnalyzer.recordPluginStop(plugin);
-                plugin.destroy();
+                // 从未激活的插件没有需要释放的资源
+                synchronized (this) {
+                    if (activatedPlugins.remove(plugin)) {
+                        plugin.destroy();
+                    }
+                }
                 plugins.remove(plugin);
                 System.out.println("成功卸载插件: " + plugin.getName());
                 
@@ -111,24 +164,100 @@ public class PluginManager {
 
     /**
      * 加载所有可用的插件
+     * 各加载器及其jar包在有界线程池中并行扫描和实例化，全部完成后在调用线程中按加载器顺序注册，
+     * 同名插件以加载器顺序、jar文件名、类名排序后先发现的为准，结果与扫描快慢无关
      */
     private void loadPlugins() {
+        long start = System.nanoTime();
+        List<PluginLoadTiming> timings = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = createDiscoveryExecutor();
         try {
+            List<CompletableFuture<List<Plugin>>> discoveries = new ArrayList<>(pluginLoaders.size());
             for (PluginLoader loader : pluginLoaders) {
-                List<Plugin> discoveredPlugins = loader.loadPlugins();
+                discoveries.add(loader.loadPluginsAsync(executor, timings::add));
+            }
+
+            for (int i = 0; i < pluginLoaders.size(); i++) {
+                List<Plugin> discoveredPlugins;
+                try {
+                    discoveredPlugins = discoveries.get(i).join();
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("加载插件时发生错误: " + pluginLoaders.get(i).getName() + ", " + cause.getMessage());
+                    continue;
+                }
                 for (Plugin plugin : discoveredPlugins) {
-                    if (!isPluginLoaded(plugin.getName())) {
-                        registerPlugin(plugin);
-                        System.out.println("成功加载插件: " + plugin.getName());
-                    }
+                    registerDiscoveredPlugin(plugin);
                 }
             }
         } catch (Exception e) {
             System.err.println("加载插件时发生错误: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<PluginLoadTiming> sortedTimings = new ArrayList<>(timings);
+        sortedTimings.sort(Comparator.comparingLong(PluginLoadTiming::durationNanos).reversed());
+        loadTimings = Collections.unmodifiableList(sortedTimings);
+        logLoadTimings(System.nanoTime() - start);
+    }
+
+    private void registerDiscoveredPlugin(Plugin plugin) {
+        Plugin existing = findPlugin(plugin.getName());
+        if (existing != null) {
+            // 重新加载时会再次发现已注册的插件，只有不同实现同名时才是冲突
+            if (!implementationClassName(existing).equals(implementationClassName(plugin))) {
+                System.out.println("插件名称冲突，已忽略: " + plugin.getName() + " (" + implementationClassName(plugin)
+                        + ")，保留: " + implementationClassName(existing));
+            }
+            return;
+        }
+        try {
+            registerPlugin(plugin);
+            System.out.println("成功加载插件: " + plugin.getName());
+        } catch (Exception e) {
+            System.err.println("注册插件失败: " + plugin.getName() + ", " + e.getMessage());
+        }
+    }
+
+    /**
+     * 获取插件的实现类名，延迟插件返回被代理的类名而不触发实例化
+     */
+    private static String implementationClassName(Plugin plugin) {
+        return plugin instanceof LazyPlugin lazyPlugin ? lazyPlugin.getPluginClassName() : plugin.getClass().getName();
+    }
+
+    private static ExecutorService createDiscoveryExecutor() {
+        // 发现线程沿用调用线程的上下文类加载器，ServiceLoader和jar包类加载器都依赖它
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(2, Math.min(Runtime.getRuntime().availableProcessors(), MAX_DISCOVERY_THREADS));
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "plugin-discovery-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        });
+    }
+
+    private void logLoadTimings(long totalNanos) {
+        System.out.println("插件加载完成，总耗时: " + TimeUnit.NANOSECONDS.toMillis(totalNanos) + "ms");
+        for (PluginLoadTiming timing : loadTimings) {
+            System.out.println(String.format("  [%s] %s: %dms, %d个插件%s",
+                    timing.loader(), timing.source(), timing.durationMillis(), timing.pluginCount(),
+                    timing.failed() ? "（失败）" : ""));
         }
     }
 
+    /**
+     * 获取最近一次插件加载的耗时明细，按耗时从高到低排序
+     * @return 每个加载器及每个jar包的耗时
+     */
+    public List<PluginLoadTiming> getLoadTimings() {
+        return loadTimings;
+    }
+
     /**
      * 获取所有已注册的插件
      * @return 插件列表
@@ -149,15 +278,6 @@ public class PluginManager {
                 .orElse(null);
     }
 
-    /**
-     * 检查插件是否已经加载
-     * @param pluginName 插件名称
-     * @return 如果插件已加载返回true，否则返回false
-     */
-    private boolean isPluginLoaded(String pluginName) {
-        return plugins.stream().anyMatch(p -> p.getName().equals(pluginName));
-    }
-
     /**
      * 从插件市场安装插件
      * @param metadata 插件元数据
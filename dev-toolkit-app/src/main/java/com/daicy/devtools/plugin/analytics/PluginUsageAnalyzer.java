@@ -4,97 +4,261 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import com.daicy.devtools.plugin.Plugin;
 import com.daicy.devtools.plugin.config.JacksonConfig;
 import com.daicy.devtools.plugin.utils.LogManager;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.CollectionType;
 
+/**
+ * 插件使用统计
+ * 每次启动和停止记录为一条带序号的事件，由后台线程定时、累计变更达到阈值或关闭时批量追加到事件日志；
+ * 日志达到一定长度后合并进快照文件 plugin-usage.json 并清空。
+ * 加载时读取快照，再重放日志中序号大于快照的事件；按小时的统计支持按时间窗口查询。
+ * 记录操作不加锁，可以同时在JavaFX线程和插件市场的安装线程中调用
+ */
 public class PluginUsageAnalyzer {
     private static final Path USAGE_DATA_PATH = Paths.get(System.getProperty("user.dir"), "config", "plugin-usage.json");
+    private static final Path USAGE_EVENTS_PATH = Paths.get(System.getProperty("user.dir"), "config", "plugin-usage-events.jsonl");
+    /** 定时写回的间隔 */
+    private static final long FLUSH_INTERVAL_SECONDS = 5;
+    /** 未写回的变更达到该数量时立即安排写回 */
+    private static final int FLUSH_THRESHOLD = 50;
+    /** 日志中的事件达到该数量时合并进快照 */
+    private static final int COMPACT_THRESHOLD = 1000;
+    /** 按小时统计保留的天数 */
+    private static final int HOURLY_RETENTION_DAYS = 90;
+    private static final long MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
+
     private final ObjectMapper objectMapper = JacksonConfig.getObjectMapper();
+    private final Path usageDataPath;
+    private final PluginUsageEventLog eventLog;
     private final Map<String, PluginUsageData> usageDataMap;
-    private final Map<String, LocalDateTime> activePlugins;
+    // 正在使用的插件及其启动时刻（System.nanoTime）
+    private final Map<String, Long> activePlugins;
     private final Logger logger;
+    // 已分配的最大事件序号
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final ConcurrentLinkedQueue<PluginUsageEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    // 分配序号、更新统计和入队作为一次写操作，合并时据此取得与 lastSequence 一致的快照
+    private final SeqLock seqLock = new SeqLock();
+    // 上次写回后的变更数，为0时无需写入
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+    private final ScheduledExecutorService writer;
 
     private static class SingletonHolder {
-        private static final PluginUsageAnalyzer instance = new PluginUsageAnalyzer();
+        private static final PluginUsageAnalyzer instance = createInstance();
+
+        private static PluginUsageAnalyzer createInstance() {
+            PluginUsageAnalyzer analyzer = new PluginUsageAnalyzer(USAGE_DATA_PATH, USAGE_EVENTS_PATH);
+            // 未经 MainApp.stop 退出时（如命令行模式）也尽量写回
+            Runtime.getRuntime().addShutdownHook(new Thread(analyzer::flush, "plugin-usage-flush"));
+            return analyzer;
+        }
     }
 
     public static PluginUsageAnalyzer getInstance() {
         return SingletonHolder.instance;
     }
 
-    private PluginUsageAnalyzer() {
+    PluginUsageAnalyzer(Path usageDataPath, Path eventLogPath) {
+        this.usageDataPath = usageDataPath;
+        this.eventLog = new PluginUsageEventLog(eventLogPath);
         this.usageDataMap = new ConcurrentHashMap<>();
         this.activePlugins = new ConcurrentHashMap<>();
         this.logger = LogManager.getLogger(PluginUsageAnalyzer.class);
         loadUsageData();
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "plugin-usage-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 
     private void loadUsageData() {
-        if (Files.exists(USAGE_DATA_PATH)) {
+        if (Files.exists(usageDataPath)) {
             try {
-                CollectionType type = objectMapper.getTypeFactory()
-                        .constructCollectionType(List.class, PluginUsageData.class);
-                List<PluginUsageData> dataList = objectMapper.readValue(USAGE_DATA_PATH.toFile(), type);
+                JsonNode root = objectMapper.readTree(usageDataPath.toFile());
+                List<PluginUsageData> dataList;
+                if (root.isArray()) {
+                    // 旧版本直接保存统计数组，没有对应的事件序号
+                    CollectionType type = objectMapper.getTypeFactory()
+                            .constructCollectionType(List.class, PluginUsageData.class);
+                    dataList = objectMapper.convertValue(root, type);
+                } else {
+                    PluginUsageSnapshot snapshot = objectMapper.treeToValue(root, PluginUsageSnapshot.class);
+                    dataList = snapshot.getPlugins();
+                    lastSequence.set(snapshot.getLastSequence());
+                }
                 dataList.forEach(data -> usageDataMap.put(data.getPluginName(), data));
                 logger.info("成功加载插件使用数据");
-            } catch (IOException e) {
+            } catch (IOException | IllegalArgumentException e) {
                 logger.severe("加载插件使用数据失败: " + e.getMessage());
             }
         }
+
+        List<PluginUsageEvent> tail = eventLog.readAfter(lastSequence.get());
+        for (PluginUsageEvent event : tail) {
+            apply(event);
+            lastSequence.accumulateAndGet(event.getSequence(), Math::max);
+        }
+        if (!tail.isEmpty()) {
+            logger.info("重放插件使用事件: " + tail.size() + " 条");
+        }
+    }
+
+    private void markDirty() {
+        if (pendingChanges.incrementAndGet() == FLUSH_THRESHOLD) {
+            writer.execute(this::flush);
+        }
+    }
+
+    /**
+     * 立即把未写回的事件追加到事件日志，日志过长时合并进快照
+     * 没有变更时不做任何I/O
+     */
+    public synchronized void flush() {
+        int changes = pendingChanges.getAndSet(0);
+        if (changes == 0) {
+            return;
+        }
+        List<PluginUsageEvent> events = drainPendingEvents();
+        try {
+            eventLog.append(events);
+        } catch (IOException e) {
+            // 放回队列并保留变更计数，下次写回时重试
+            requeue(events);
+            pendingChanges.addAndGet(changes);
+            logger.severe("保存插件使用事件失败: " + e.getMessage());
+            return;
+        }
+        if (eventLog.getEventCount() >= COMPACT_THRESHOLD) {
+            compact();
+        }
     }
 
-    private void saveUsageData() {
+    /**
+     * 把当前统计写成快照并清空事件日志
+     * 快照先写临时文件再原子替换；快照写入成功后才清空日志，中途失败时重放不会重复计数
+     */
+    public synchronized void compact() {
+        long oldestHour = epochHour(System.currentTimeMillis()) - TimeUnit.DAYS.toHours(HOURLY_RETENTION_DAYS);
+        usageDataMap.values().forEach(data -> data.pruneHourlyBefore(oldestHour));
+        PluginUsageSnapshot snapshot = seqLock.read(() -> new PluginUsageSnapshot(lastSequence.get(),
+                usageDataMap.values().stream().map(PluginUsageData::snapshot).collect(Collectors.toList())));
+        // 已包含在快照中的事件不必再写入日志
+        List<PluginUsageEvent> unlogged = new ArrayList<>();
+        pendingEvents.removeIf(event -> event.getSequence() <= snapshot.getLastSequence() && unlogged.add(event));
         try {
-            Files.createDirectories(USAGE_DATA_PATH.getParent());
-            objectMapper.writeValue(USAGE_DATA_PATH.toFile(), new ArrayList<>(usageDataMap.values()));
-            logger.info("成功保存插件使用数据");
+            Files.createDirectories(usageDataPath.getParent());
+            Path tempFile = usageDataPath.resolveSibling(usageDataPath.getFileName() + ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), snapshot);
+            Files.move(tempFile, usageDataPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (IOException e) {
+            pendingEvents.addAll(unlogged);
+            pendingChanges.addAndGet(Math.max(1, unlogged.size()));
             logger.severe("保存插件使用数据失败: " + e.getMessage());
+            return;
         }
+        try {
+            eventLog.clear();
+            logger.fine("插件使用事件已合并进快照");
+        } catch (IOException e) {
+            // 日志中的事件序号都不大于快照序号，重放时会被跳过
+            logger.warning("清空插件使用事件日志失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 停止后台写回线程，保存剩余事件并合并快照，应用退出时调用
+     */
+    public void shutdown() {
+        writer.shutdown();
+        flush();
+        compact();
     }
 
     public void recordPluginStart(Plugin plugin) {
         String pluginName = plugin.getName();
-        activePlugins.put(pluginName, LocalDateTime.now());
-        PluginUsageData data = usageDataMap.computeIfAbsent(pluginName, 
-            k -> new PluginUsageData(pluginName));
-        data.incrementUsageCount();
-        saveUsageData();
+        activePlugins.put(pluginName, System.nanoTime());
+        record(PluginUsageEvent.Type.START, pluginName, 0);
         logger.info("记录插件启动: " + pluginName);
     }
 
     public void recordPluginStop(Plugin plugin) {
         String pluginName = plugin.getName();
-        LocalDateTime startTime = activePlugins.remove(pluginName);
-        if (startTime != null) {
-            Duration duration = Duration.between(startTime, LocalDateTime.now());
-            PluginUsageData data = usageDataMap.get(pluginName);
-            if (data != null) {
-                data.addUsageDuration(duration);
-                data.setLastUsed(LocalDateTime.now());
-                saveUsageData();
-                logger.info(String.format("记录插件停止: %s, 使用时长: %d分钟", 
-                    pluginName, duration.toMinutes()));
-            }
+        Long startTime = activePlugins.remove(pluginName);
+        if (startTime != null && usageDataMap.containsKey(pluginName)) {
+            Duration duration = Duration.ofNanos(System.nanoTime() - startTime);
+            record(PluginUsageEvent.Type.STOP, pluginName, duration.toNanos());
+            logger.info(String.format("记录插件停止: %s, 使用时长: %d分钟",
+                pluginName, duration.toMinutes()));
         }
     }
 
+    private void record(PluginUsageEvent.Type type, String pluginName, long durationNanos) {
+        seqLock.write(() -> {
+            PluginUsageEvent event = new PluginUsageEvent(lastSequence.incrementAndGet(), type, pluginName,
+                    System.currentTimeMillis(), durationNanos);
+            apply(event);
+            pendingEvents.add(event);
+        });
+        markDirty();
+    }
+
+    /**
+     * 把事件合并进内存中的统计，记录和重放共用
+     */
+    private void apply(PluginUsageEvent event) {
+        String pluginName = event.getPluginName();
+        PluginUsageData data = usageDataMap.computeIfAbsent(pluginName,
+            k -> new PluginUsageData(pluginName));
+        long hour = epochHour(event.getTimestamp());
+        if (event.getType() == PluginUsageEvent.Type.START) {
+            data.recordStart(hour);
+        } else {
+            data.recordStop(hour, event.getDurationNanos(), event.getTimestamp());
+        }
+    }
+
+    private List<PluginUsageEvent> drainPendingEvents() {
+        List<PluginUsageEvent> events = new ArrayList<>();
+        PluginUsageEvent event;
+        while ((event = pendingEvents.poll()) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    private void requeue(List<PluginUsageEvent> events) {
+        pendingEvents.addAll(events);
+    }
+
     public List<PluginUsageReport> generateUsageReport() {
-        return usageDataMap.values().stream()
+        return snapshots().stream()
                 .map(data -> new PluginUsageReport(
                     data.getPluginName(),
                     data.getUsageCount(),
@@ -105,6 +269,45 @@ public class PluginUsageAnalyzer {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 生成最近一段时间内的使用报告，按小时统计，时间窗口从整点开始计算
+     * @param window 时间窗口，如最近7天
+     * @return 窗口内有使用记录的插件，按使用次数降序
+     */
+    public List<PluginUsageReport> generateUsageReport(Duration window) {
+        long fromHour = windowStartHour(window);
+        return snapshots().stream()
+                .map(data -> new PluginUsageReport(
+                    data.getPluginName(),
+                    sum(data.getHourlyUsageCounts().tailMap(fromHour).values()),
+                    TimeUnit.NANOSECONDS.toMinutes(sum(data.getHourlyUsageNanos().tailMap(fromHour).values())),
+                    data.getLastUsed()
+                ))
+                .filter(report -> report.usageCount() > 0 || report.totalUsageMinutes() > 0)
+                .sorted(Comparator.comparing(PluginUsageReport::usageCount).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 查询插件最近一段时间内每小时的启动次数
+     * @param pluginName 插件名称
+     * @param window 时间窗口
+     * @return 按时间排序的整点时间到启动次数的映射，没有使用记录的小时不包含在内
+     */
+    public Map<LocalDateTime, Long> getHourlyUsage(String pluginName, Duration window) {
+        Map<LocalDateTime, Long> hourly = new LinkedHashMap<>();
+        PluginUsageData data = usageDataMap.get(pluginName);
+        if (data != null) {
+            data.getHourlyUsageCounts().tailMap(windowStartHour(window)).forEach((hour, count) ->
+                hourly.put(LocalDateTime.ofInstant(Instant.ofEpochMilli(hour * MILLIS_PER_HOUR), ZoneId.systemDefault()), count));
+        }
+        return hourly;
+    }
+
+    private List<PluginUsageData> snapshots() {
+        return usageDataMap.values().stream().map(PluginUsageData::snapshot).collect(Collectors.toList());
+    }
+
     public Map<String, Long> getPluginUsageFrequency() {
         return usageDataMap.values().stream()
                 .collect(Collectors.toMap(
@@ -118,9 +321,29 @@ public class PluginUsageAnalyzer {
     }
 
     public void clearUsageData() {
-        usageDataMap.clear();
-        activePlugins.clear();
-        saveUsageData();
+        seqLock.write(() -> {
+            usageDataMap.clear();
+            activePlugins.clear();
+            pendingEvents.clear();
+        });
+        // 空快照覆盖旧数据，同时清空日志
+        compact();
         logger.info("清除所有插件使用数据");
     }
-}
\ No newline at end of file
+
+    private static long epochHour(long epochMillis) {
+        return epochMillis / MILLIS_PER_HOUR;
+    }
+
+    private static long windowStartHour(Duration window) {
+        return epochHour(System.currentTimeMillis() - window.toMillis());
+    }
+
+    private static long sum(Iterable<Long> values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
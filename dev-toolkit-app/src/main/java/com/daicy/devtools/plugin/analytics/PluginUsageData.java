@@ -1,23 +1,39 @@
 package com.daicy.devtools.plugin.analytics;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * 单个插件的使用统计
+ * 计数和时长（纳秒）使用 LongAdder 累加，多个线程同时记录时互不阻塞且不会丢失更新；
+ * 报告和持久化通过 snapshot() 取得各字段相互一致的副本
+ */
 public class PluginUsageData {
     private String pluginName;
-    private long usageCount;
-    private Duration totalUsageDuration;
-    private LocalDateTime lastUsed;
+    private final LongAdder usageCount = new LongAdder();
+    private final LongAdder totalUsageNanos = new LongAdder();
+    // 最后使用时间（毫秒时间戳），0表示未记录
+    private final AtomicLong lastUsedMillis = new AtomicLong();
+    // 按小时统计的启动次数和使用时长（纳秒），键为自1970年起的小时数
+    private final ConcurrentSkipListMap<Long, LongAdder> hourlyUsageCounts = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, LongAdder> hourlyUsageNanos = new ConcurrentSkipListMap<>();
+    private final SeqLock seqLock = new SeqLock();
 
     public PluginUsageData() {
-        this.totalUsageDuration = Duration.ZERO;
     }
 
     public PluginUsageData(String pluginName) {
         this();
         this.pluginName = pluginName;
-        this.usageCount = 0;
-        this.lastUsed = LocalDateTime.now();
+        setLastUsed(LocalDateTime.now());
     }
 
     public String getPluginName() {
@@ -29,34 +45,127 @@ public class PluginUsageData {
     }
 
     public long getUsageCount() {
-        return usageCount;
+        return usageCount.sum();
     }
 
     public void setUsageCount(long usageCount) {
-        this.usageCount = usageCount;
+        seqLock.write(() -> {
+            this.usageCount.reset();
+            this.usageCount.add(usageCount);
+        });
     }
 
     public void incrementUsageCount() {
-        this.usageCount++;
+        seqLock.write(usageCount::increment);
     }
 
     public Duration getTotalUsageDuration() {
-        return totalUsageDuration;
+        return Duration.ofNanos(totalUsageNanos.sum());
     }
 
     public void setTotalUsageDuration(Duration totalUsageDuration) {
-        this.totalUsageDuration = totalUsageDuration;
+        seqLock.write(() -> {
+            totalUsageNanos.reset();
+            totalUsageNanos.add(totalUsageDuration.toNanos());
+        });
     }
 
     public void addUsageDuration(Duration duration) {
-        this.totalUsageDuration = this.totalUsageDuration.plus(duration);
+        seqLock.write(() -> totalUsageNanos.add(duration.toNanos()));
     }
 
     public LocalDateTime getLastUsed() {
-        return lastUsed;
+        long millis = lastUsedMillis.get();
+        return millis == 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
     }
 
     public void setLastUsed(LocalDateTime lastUsed) {
-        this.lastUsed = lastUsed;
+        lastUsedMillis.set(lastUsed == null ? 0 : lastUsed.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
     }
-}
\ No newline at end of file
+
+    public NavigableMap<Long, Long> getHourlyUsageCounts() {
+        return copyOf(hourlyUsageCounts);
+    }
+
+    public void setHourlyUsageCounts(Map<Long, Long> hourlyUsageCounts) {
+        seqLock.write(() -> replace(this.hourlyUsageCounts, hourlyUsageCounts));
+    }
+
+    public NavigableMap<Long, Long> getHourlyUsageNanos() {
+        return copyOf(hourlyUsageNanos);
+    }
+
+    public void setHourlyUsageNanos(Map<Long, Long> hourlyUsageNanos) {
+        seqLock.write(() -> replace(this.hourlyUsageNanos, hourlyUsageNanos));
+    }
+
+    /**
+     * 记录一次启动
+     * @param epochHour 启动时间所在的小时（自1970年起的小时数）
+     */
+    public void recordStart(long epochHour) {
+        seqLock.write(() -> {
+            usageCount.increment();
+            bucket(hourlyUsageCounts, epochHour).increment();
+        });
+    }
+
+    /**
+     * 记录一次停止
+     * @param epochHour 停止时间所在的小时
+     * @param durationNanos 本次使用时长（纳秒）
+     * @param stoppedAtMillis 停止时间（毫秒时间戳），只会让最后使用时间向后推进
+     */
+    public void recordStop(long epochHour, long durationNanos, long stoppedAtMillis) {
+        seqLock.write(() -> {
+            totalUsageNanos.add(durationNanos);
+            bucket(hourlyUsageNanos, epochHour).add(durationNanos);
+            lastUsedMillis.accumulateAndGet(stoppedAtMillis, Math::max);
+        });
+    }
+
+    /**
+     * 丢弃早于指定小时的按小时统计
+     * @param epochHour 保留的最早小时
+     */
+    public void pruneHourlyBefore(long epochHour) {
+        seqLock.write(() -> {
+            hourlyUsageCounts.headMap(epochHour).clear();
+            hourlyUsageNanos.headMap(epochHour).clear();
+        });
+    }
+
+    /**
+     * 取得所有字段相互一致的独立副本，用于生成报告和持久化
+     * @return 不再随记录变化的副本
+     */
+    public PluginUsageData snapshot() {
+        return seqLock.read(() -> {
+            PluginUsageData copy = new PluginUsageData();
+            copy.pluginName = pluginName;
+            copy.usageCount.add(usageCount.sum());
+            copy.totalUsageNanos.add(totalUsageNanos.sum());
+            copy.lastUsedMillis.set(lastUsedMillis.get());
+            hourlyUsageCounts.forEach((hour, count) -> bucket(copy.hourlyUsageCounts, hour).add(count.sum()));
+            hourlyUsageNanos.forEach((hour, nanos) -> bucket(copy.hourlyUsageNanos, hour).add(nanos.sum()));
+            return copy;
+        });
+    }
+
+    private static LongAdder bucket(ConcurrentSkipListMap<Long, LongAdder> buckets, long epochHour) {
+        return buckets.computeIfAbsent(epochHour, hour -> new LongAdder());
+    }
+
+    private static NavigableMap<Long, Long> copyOf(ConcurrentSkipListMap<Long, LongAdder> buckets) {
+        NavigableMap<Long, Long> copy = new TreeMap<>();
+        buckets.forEach((hour, value) -> copy.put(hour, value.sum()));
+        return copy;
+    }
+
+    private static void replace(ConcurrentSkipListMap<Long, LongAdder> buckets, Map<Long, Long> values) {
+        buckets.clear();
+        if (values != null) {
+            values.forEach((hour, value) -> bucket(buckets, hour).add(value));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.daicy.devtools.plugin.analytics;
+
+/**
+ * 插件使用事件
+ * 事件日志中的一行，序号单调递增，用于判断事件是否已经合并进快照
+ */
+public class PluginUsageEvent {
+    public enum Type {
+        START,
+        STOP
+    }
+
+    private long sequence;
+    private Type type;
+    private String pluginName;
+    private long timestamp;
+    private long durationNanos;
+
+    public PluginUsageEvent() {
+    }
+
+    public PluginUsageEvent(long sequence, Type type, String pluginName, long timestamp, long durationNanos) {
+        this.sequence = sequence;
+        this.type = type;
+        this.pluginName = pluginName;
+        this.timestamp = timestamp;
+        this.durationNanos = durationNanos;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    public void setPluginName(String pluginName) {
+        this.pluginName = pluginName;
+    }
+
+    /**
+     * @return 事件发生时间（毫秒时间戳）
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return 本次使用时长（纳秒），仅 STOP 事件有值
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public void setDurationNanos(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+}
@@ -0,0 +1,112 @@
+package com.daicy.devtools.plugin.analytics;
+
+import com.daicy.devtools.plugin.config.JacksonConfig;
+import com.daicy.devtools.plugin.utils.LogManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * 只追加的插件使用事件日志
+ * 每行一个JSON事件（JSON Lines），追加写入不需要读取或重写已有内容；
+ * 快照合并完成后清空日志
+ */
+public class PluginUsageEventLog {
+    private final Logger logger = LogManager.getLogger(PluginUsageEventLog.class);
+    private final ObjectMapper objectMapper = JacksonConfig.getObjectMapper();
+    private final Path logPath;
+    // 日志中的事件行数，用于决定何时合并
+    private int eventCount;
+
+    public PluginUsageEventLog(Path logPath) {
+        this.logPath = logPath;
+    }
+
+    public Path getLogPath() {
+        return logPath;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * 读取日志中序号大于 afterSequence 的事件
+     * 进程异常退出时最后一行可能不完整，遇到无法解析的行即停止读取
+     * @param afterSequence 快照中已包含的最大序号
+     * @return 按写入顺序排列的事件
+     */
+    public List<PluginUsageEvent> readAfter(long afterSequence) {
+        List<PluginUsageEvent> events = new ArrayList<>();
+        eventCount = 0;
+        if (!Files.exists(logPath)) {
+            return events;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                PluginUsageEvent event;
+                try {
+                    event = objectMapper.readValue(line, PluginUsageEvent.class);
+                } catch (IOException e) {
+                    logger.warning("插件使用事件日志在第 " + (eventCount + 1) + " 条记录处损坏，忽略之后的内容");
+                    break;
+                }
+                eventCount++;
+                if (event.getSequence() > afterSequence) {
+                    events.add(event);
+                }
+            }
+        } catch (IOException e) {
+            logger.severe("读取插件使用事件日志失败: " + e.getMessage());
+        }
+        return events;
+    }
+
+    /**
+     * 把事件追加到日志末尾并同步到磁盘
+     * @param events 待写入的事件
+     * @throws IOException 写入失败
+     */
+    public void append(List<PluginUsageEvent> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder(events.size() * 96);
+        for (PluginUsageEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(logPath.getParent());
+        try (FileChannel channel = FileChannel.open(logPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        eventCount += events.size();
+    }
+
+    /**
+     * 清空日志，在快照写入成功后调用
+     * @throws IOException 删除失败
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(logPath);
+        eventCount = 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.daicy.devtools.plugin.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 插件使用数据快照
+ * 包含截至 lastSequence 的所有事件合并后的统计，序号更大的事件仍在事件日志中
+ */
+public class PluginUsageSnapshot {
+    private long lastSequence;
+    private List<PluginUsageData> plugins;
+
+    public PluginUsageSnapshot() {
+        this.plugins = new ArrayList<>();
+    }
+
+    public PluginUsageSnapshot(long lastSequence, List<PluginUsageData> plugins) {
+        this.lastSequence = lastSequence;
+        this.plugins = plugins;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    public List<PluginUsageData> getPlugins() {
+        return plugins;
+    }
+
+    public void setPlugins(List<PluginUsageData> plugins) {
+        this.plugins = plugins;
+    }
+}
@@ -0,0 +1,52 @@
+package com.daicy.devtools.plugin.analytics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 多写者的顺序锁
+ * 写操作前后分别递增“开始”和“完成”计数，写者之间互不等待；
+ * 读操作先读完成计数、再读数据、最后读开始计数，两者相等说明读取期间没有写操作，否则重试
+ */
+final class SeqLock {
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    void beginWrite() {
+        started.increment();
+    }
+
+    void endWrite() {
+        completed.increment();
+    }
+
+    /**
+     * 执行写操作
+     * @param write 写操作，只修改线程安全的计数器和集合
+     */
+    void write(Runnable write) {
+        beginWrite();
+        try {
+            write.run();
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * 读取与所有写操作都不交叠的一致视图
+     * 写操作都很短，读者只会在写入密集时自旋几次
+     * @param read 读取数据的操作，可能被执行多次
+     * @return 读取结果
+     */
+    <T> T read(Supplier<T> read) {
+        while (true) {
+            long before = completed.sum();
+            T value = read.get();
+            if (started.sum() == before) {
+                return value;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -1,26 +1,57 @@
 package com.daicy.devtools.plugin.impl;
 
+import com.daicy.devtools.core.base64.Base64Service;
+import com.daicy.devtools.core.base64.DecodedContent;
+import com.daicy.devtools.core.base64.Base64Variant;
 import com.daicy.devtools.plugin.IconGenerator;
 import com.daicy.devtools.plugin.Plugin;
+import com.daicy.devtools.plugin.impl.base64.Base64FileTask;
+import com.daicy.devtools.plugin.metrics.OperationMetrics;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.Tooltip;
 import javafx.scene.image.Image;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 
-import java.util.Base64;
+import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Base64转换插件
+ * 文本在界面中直接转换；文件在后台线程中流式转换，支持任意大小的二进制文件。
+ * 高速模式下解码使用池化直接缓冲区和并行查表解码，并自动识别字符集和二进制内容
  */
 public class Base64Plugin implements Plugin {
     private TextArea inputArea;
     private TextArea outputArea;
-
+    private ComboBox<Base64Variant> variantBox;
+    private CheckBox fastModeBox;
+    private HBox progressBox;
+    private ProgressBar progressBar;
+    private Label statusLabel;
+    private Base64FileTask currentTask;
+    private final Base64Service base64Service = new Base64Service();
+    private final ExecutorService fileExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "base64-file");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final OperationMetrics encodeMetrics = operationMetrics("编码");
+    private final OperationMetrics decodeMetrics = operationMetrics("解码");
+    private final OperationMetrics encodeFileMetrics = operationMetrics("文件编码");
+    private final OperationMetrics decodeFileMetrics = operationMetrics("文件解码");
 
     @Override
     public void initialize() {
@@ -63,12 +94,32 @@ public class Base64Plugin implements Plugin {
         Button encodeBtn = new Button("编码");
         Button decodeBtn = new Button("解码");
         Button clearBtn = new Button("清空");
+        Button encodeFileBtn = new Button("编码文件...");
+        Button decodeFileBtn = new Button("解码文件...");
+        variantBox = new ComboBox<>();
+        variantBox.getItems().addAll(Base64Variant.values());
+        variantBox.setValue(Base64Variant.BASIC);
+        fastModeBox = new CheckBox("高速模式");
+        fastModeBox.setTooltip(new Tooltip("解码大段Base64时使用并行解码，忽略换行，自动识别字符集和二进制内容"));
 
         encodeBtn.setOnAction(e -> encode());
         decodeBtn.setOnAction(e -> decode());
         clearBtn.setOnAction(e -> clear());
+        encodeFileBtn.setOnAction(e -> chooseFiles(Base64FileTask.Mode.ENCODE));
+        decodeFileBtn.setOnAction(e -> chooseFiles(Base64FileTask.Mode.DECODE));
+
+        buttonBox.setAlignment(Pos.CENTER_LEFT);
+        buttonBox.getChildren().addAll(variantBox, fastModeBox, encodeBtn, decodeBtn, clearBtn, encodeFileBtn, decodeFileBtn);
 
-        buttonBox.getChildren().addAll(encodeBtn, decodeBtn, clearBtn);
+        // 文件转换进度，仅在后台任务运行时显示
+        progressBar = new ProgressBar();
+        statusLabel = new Label();
+        Button cancelBtn = new Button("取消");
+        cancelBtn.setOnAction(e -> cancelCurrentTask());
+        progressBox = new HBox(10, progressBar, statusLabel, cancelBtn);
+        progressBox.setAlignment(Pos.CENTER_LEFT);
+        progressBox.setVisible(false);
+        progressBox.managedProperty().bind(progressBox.visibleProperty());
 
         // 输出区域
         outputArea = new TextArea();
@@ -77,7 +128,7 @@ public class Base64Plugin implements Plugin {
         outputArea.setEditable(false);
         VBox.setVgrow(outputArea, Priority.ALWAYS);
 
-        container.getChildren().addAll(inputArea, buttonBox, outputArea);
+        container.getChildren().addAll(inputArea, buttonBox, progressBox, outputArea);
         return container;
     }
 
@@ -85,7 +136,7 @@ public class Base64Plugin implements Plugin {
         String input = inputArea.getText();
         if (input != null && !input.isEmpty()) {
             try {
-                outputArea.setText(encodeBase64(input));
+                outputArea.setText(encodeBase64(input, variantBox.getValue()));
             } catch (Exception e) {
                 outputArea.setText("编码失败：" + e.getMessage());
             }
@@ -96,7 +147,11 @@ public class Base64Plugin implements Plugin {
         String input = inputArea.getText();
         if (input != null && !input.isEmpty()) {
             try {
-                outputArea.setText(decodeBase64(input));
+                if (fastModeBox.isSelected()) {
+                    outputArea.setText(decodeBase64Fast(input, variantBox.getValue()));
+                } else {
+                    outputArea.setText(decodeBase64(input, variantBox.getValue()));
+                }
             } catch (Exception e) {
                 outputArea.setText("解码失败：" + e.getMessage());
             }
@@ -109,17 +164,132 @@ public class Base64Plugin implements Plugin {
     }
 
     public String encodeBase64(String input) {
-        return Base64.getEncoder().encodeToString(input.getBytes(StandardCharsets.UTF_8));
+        return encodeBase64(input, Base64Variant.BASIC);
+    }
+
+    public String encodeBase64(String input, Base64Variant variant) {
+        long start = encodeMetrics.start();
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        String encoded = base64Service.encode(bytes, variant);
+        encodeMetrics.stop(start, bytes.length);
+        return encoded;
     }
 
     public String decodeBase64(String input) {
+        return decodeBase64(input, Base64Variant.BASIC);
+    }
+
+    public String decodeBase64(String input, Base64Variant variant) {
+        long start = decodeMetrics.start();
+        try {
+            byte[] decodedBytes = base64Service.decodeBytes(input, variant);
+            String decoded = new String(decodedBytes, StandardCharsets.UTF_8);
+            decodeMetrics.stop(start, decodedBytes.length);
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            decodeMetrics.fail(start);
+            throw new RuntimeException("Invalid Base64 string", e);
+        }
+    }
+
+    /**
+     * 高速解码，输入可以按行折断
+     *
+     * @return 解码后的文本；二进制内容返回大小和十六进制预览
+     */
+    public String decodeBase64Fast(String input, Base64Variant variant) {
+        long start = decodeMetrics.start();
         try {
-            byte[] decodedBytes = Base64.getDecoder().decode(input);
-            return new String(decodedBytes, StandardCharsets.UTF_8);
+            DecodedContent content = base64Service.decodeFast(input, variant);
+            decodeMetrics.stop(start, content.size());
+            if (content.isBinary()) {
+                return "[二进制数据，" + content.size() + " 字节]\n" + content.text();
+            }
+            return content.text();
         } catch (IllegalArgumentException e) {
+            decodeMetrics.fail(start);
             throw new RuntimeException("Invalid Base64 string", e);
         }
     }
+
+    private void chooseFiles(Base64FileTask.Mode mode) {
+        FileChooser openChooser = new FileChooser();
+        openChooser.setTitle(mode == Base64FileTask.Mode.ENCODE ? "选择要编码的文件" : "选择要解码的文件");
+        File source = openChooser.showOpenDialog(outputArea.getScene().getWindow());
+        if (source == null) {
+            return;
+        }
+
+        FileChooser saveChooser = new FileChooser();
+        saveChooser.setTitle("保存结果");
+        saveChooser.setInitialDirectory(source.getParentFile());
+        String name = source.getName();
+        if (mode == Base64FileTask.Mode.ENCODE) {
+            saveChooser.setInitialFileName(name + ".b64");
+        } else {
+            saveChooser.setInitialFileName(name.endsWith(".b64") ? name.substring(0, name.length() - 4) : name + ".bin");
+        }
+        File target = saveChooser.showSaveDialog(outputArea.getScene().getWindow());
+        if (target == null) {
+            return;
+        }
+
+        OperationMetrics metrics = mode == Base64FileTask.Mode.ENCODE ? encodeFileMetrics : decodeFileMetrics;
+        submitTask(new Base64FileTask(base64Service, mode, source.toPath(), target.toPath(),
+            variantBox.getValue(), metrics));
+    }
+
+    /**
+     * 提交文件转换任务，同一时间只运行一个任务
+     */
+    private void submitTask(Base64FileTask task) {
+        cancelCurrentTask();
+        currentTask = task;
+
+        progressBar.progressProperty().bind(task.progressProperty());
+        statusLabel.textProperty().bind(task.messageProperty());
+        progressBox.setVisible(true);
+
+        task.setOnSucceeded(e -> {
+            if (task == currentTask) {
+                finishTask();
+                outputArea.setText("已写入 " + task.getTarget() + "（" + task.getValue() + " 字节）");
+            }
+        });
+        task.setOnFailed(e -> {
+            if (task == currentTask) {
+                finishTask();
+                outputArea.setText("文件转换失败：" + task.getException().getMessage());
+            }
+        });
+        task.setOnCancelled(e -> {
+            if (task == currentTask) {
+                finishTask();
+                outputArea.setText("已取消");
+            }
+        });
+        fileExecutor.execute(task);
+    }
+
+    private void cancelCurrentTask() {
+        if (currentTask != null) {
+            currentTask.cancel();
+        }
+    }
+
+    private void finishTask() {
+        currentTask = null;
+        progressBar.progressProperty().unbind();
+        statusLabel.textProperty().unbind();
+        progressBox.setVisible(false);
+    }
+
+    @Override
+    public void destroy() {
+        cancelCurrentTask();
+        fileExecutor.shutdownNow();
+    }
+
     @Override
     public Image getIcon() {
         return IconGenerator.generateIcon(getName());
@@ -31,11 +31,13 @@ public class HostEditorPlugin implements Plugin {
     public String getAuthor() {
         return "DevTools Team";
     }
-    private final BorderPane rootPane;
-    private final CodeArea codeArea;
+    private BorderPane rootPane;
+    private CodeArea codeArea;
     private File currentFile;
 
-    public HostEditorPlugin() {
+    @Override
+    public void initialize() {
+        // 界面和hosts文件在插件首次打开时才创建和读取
         rootPane = new BorderPane();
         codeArea = new CodeArea();
         codeArea.setParagraphGraphicFactory(LineNumberFactory.get(codeArea));
@@ -182,11 +184,6 @@ public class HostEditorPlugin implements Plugin {
         return rootPane;
     }
 
-    @Override
-    public void initialize() {
-        // 初始化逻辑
-    }
-
     @Override
     public void destroy() {
         // 清理逻辑
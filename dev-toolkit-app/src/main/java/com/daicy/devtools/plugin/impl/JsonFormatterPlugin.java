@@ -1,14 +1,19 @@
 package com.daicy.devtools.plugin.impl;
 
+import com.daicy.devtools.core.json.JsonFormatResult;
+import com.daicy.devtools.core.json.JsonService;
 import com.daicy.devtools.plugin.IconGenerator;
-import com.daicy.devtools.plugin.JsonHighlighting;
+import com.daicy.devtools.plugin.IncrementalJsonHighlighter;
 import com.daicy.devtools.plugin.Plugin;
-import com.daicy.devtools.plugin.impl.json.JsonAutoFixer;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.daicy.devtools.plugin.impl.json.JsonFormatTask;
+import com.daicy.devtools.plugin.impl.json.LatestTaskTracker;
+import com.daicy.devtools.plugin.metrics.OperationMetrics;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.image.Image;
 import javafx.scene.layout.HBox;
@@ -16,32 +21,40 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import org.fxmisc.richtext.CodeArea;
 import org.fxmisc.richtext.LineNumberFactory;
-import org.fxmisc.richtext.model.StyleSpans;
 
-import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 /**
  * JSON格式化插件
  */
 public class JsonFormatterPlugin implements Plugin {
-    private final ObjectMapper prettyMapper;
-    private final ObjectMapper compactMapper;
+    private final JsonService jsonService;
     private CodeArea inputArea;
     private CodeArea outputArea;
+    private IncrementalJsonHighlighter outputHighlighter;
     private ScrollPane outputScrollPane;
+    private HBox progressBox;
+    private ProgressBar progressBar;
+    private Label statusLabel;
+    private final LatestTaskTracker<JsonFormatTask> formatTasks = new LatestTaskTracker<>();
+    private final ExecutorService formatExecutor;
+    private final OperationMetrics formatMetrics = operationMetrics("格式化");
+    private final OperationMetrics compactMetrics = operationMetrics("压缩");
     
     private static final Pattern JSON_PATTERN = Pattern.compile(
             "\\{|\\}|\\[|\\]|,|\\b(true|false|null)\\b|\"([^\"]*)\"|:\s*(-?\\d+(\\.\\d+)?)"
     );
 
-    private final JsonAutoFixer jsonAutoFixer;
-
     public JsonFormatterPlugin() {
-        this.prettyMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-        this.compactMapper = new ObjectMapper();
-        this.jsonAutoFixer = new JsonAutoFixer();
+        this.jsonService = new JsonService();
+        this.formatExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "json-formatter");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
@@ -49,34 +62,20 @@ public class JsonFormatterPlugin implements Plugin {
         return "JSON格式化";
     }
 
+    /**
+     * 自动修复并格式化JSON，不依赖界面控件，可在任意线程调用
+     * @param json JSON字符串
+     * @return 格式化结果，发生修复时附带修复说明；无法格式化时原样返回输入
+     */
     public String formatJson(String json) {
-        try {
-            // 使用JsonAutoFixer进行自动修复
-            String fixedInput = jsonAutoFixer.fix(json);
-            // 解析修复后的JSON并格式化
-            Object jsonObj = prettyMapper.readValue(fixedInput, Object.class);
-            String formatted = prettyMapper.writeValueAsString(jsonObj);
-            // 如果进行了修复，在格式化结果前添加提示信息
-            if (jsonAutoFixer.hasFixed()) {
-                StringBuilder message = new StringBuilder("[自动修复] JSON格式已修复\n");
-                for (String log : jsonAutoFixer.getFixLogs()) {
-                    message.append("- ").append(log).append("\n");
-                }
-                message.append("\n").append(formatted);
-                return message.toString();
-            }
-            return formatted;
-        } catch (com.fasterxml.jackson.core.JsonParseException e) {
-                int lineNumber = e.getLocation().getLineNr();
-                int columnNumber = e.getLocation().getColumnNr();
-                String input = inputArea.getText();
-                showError(e.getMessage(), input, lineNumber, columnNumber);
-        } catch (Exception e) {
-            String input = inputArea.getText();
-            int errorPosition = findErrorPosition(e.getMessage(), input);
-            showError(e.getMessage(), input, errorPosition);
+        long start = formatMetrics.start();
+        JsonFormatResult result = jsonService.fixAndFormat(json);
+        if (result.isError()) {
+            formatMetrics.fail(start);
+            return json;
         }
-        return json;
+        formatMetrics.stop(start, OperationMetrics.utf8Length(json));
+        return result.text();
     }
 
     @Override
@@ -106,6 +105,8 @@ public class JsonFormatterPlugin implements Plugin {
 
         // 创建输入区域
         inputArea = new CodeArea();
+        inputArea.getStylesheets().add(getClass().getResource("/styles/json-keywords.css").toExternalForm());
+        IncrementalJsonHighlighter.attach(inputArea);
         VBox.setVgrow(inputArea, Priority.ALWAYS);
 
         // 创建输出区域
@@ -116,6 +117,7 @@ public class JsonFormatterPlugin implements Plugin {
         outputScrollPane.setFitToWidth(true);
         outputScrollPane.setFitToHeight(true);
         outputArea.getStylesheets().add(getClass().getResource("/styles/json-keywords.css").toExternalForm());
+        outputHighlighter = IncrementalJsonHighlighter.attach(outputArea);
         VBox.setVgrow(outputScrollPane, Priority.ALWAYS);
 
         // 设置CodeArea的最小高度和首选高度
@@ -132,49 +134,112 @@ public class JsonFormatterPlugin implements Plugin {
         compactBtn.setOnAction(e -> compactJson());
         clearBtn.setOnAction(e -> clearAll());
 
+        // 进度区域，仅在后台任务运行时显示
+        progressBar = new ProgressBar();
+        statusLabel = new Label();
+        Button cancelBtn = new Button("取消");
+        cancelBtn.setOnAction(e -> cancelCurrentTask());
+        progressBox = new HBox(10, progressBar, statusLabel, cancelBtn);
+        progressBox.setAlignment(Pos.CENTER_LEFT);
+        progressBox.setVisible(false);
+        progressBox.managedProperty().bind(progressBox.visibleProperty());
+
         buttonBox.getChildren().addAll(formatBtn, compactBtn, clearBtn);
 
-        container.getChildren().addAll(inputArea, buttonBox, outputScrollPane);
+        // 输入变化后正在运行的任务结果已过期，直接取消
+        inputArea.plainTextChanges().subscribe(change -> cancelCurrentTask());
+
+        container.getChildren().addAll(inputArea, buttonBox, progressBox, outputScrollPane);
         return container;
     }
 
     private void formatJson() {
         String input = inputArea.getText();
         if (input == null || input.trim().isEmpty()) {
+            cancelCurrentTask();
             outputArea.clear();
             outputArea.appendText("请输入要格式化的JSON字符串");
             return;
         }
-        String formatted = formatJson(input);
-        displayFormattedJson(formatted);
+        submitTask(new JsonFormatTask(input, JsonFormatTask.Mode.FORMAT, jsonService, formatMetrics));
     }
 
     private void compactJson() {
-        try {
-            String input = inputArea.getText();
-            if (input == null || input.trim().isEmpty()) {
-                outputArea.clear();
-                outputArea.appendText("请输入要压缩的JSON字符串");
+        String input = inputArea.getText();
+        if (input == null || input.trim().isEmpty()) {
+            cancelCurrentTask();
+            outputArea.clear();
+            outputArea.appendText("请输入要压缩的JSON字符串");
+            return;
+        }
+        submitTask(new JsonFormatTask(input, JsonFormatTask.Mode.COMPACT, jsonService, compactMetrics));
+    }
+
+    /**
+     * 提交新的格式化任务，并取消仍在运行的旧任务
+     * 只有最新任务的结果会被应用到输出区域
+     */
+    private void submitTask(JsonFormatTask task) {
+        cancelCurrentTask();
+        formatTasks.submit(task);
+
+        progressBar.progressProperty().bind(task.progressProperty());
+        statusLabel.textProperty().bind(task.messageProperty());
+        progressBox.setVisible(true);
+
+        task.setOnSucceeded(e -> {
+            if (!formatTasks.complete(task)) {
                 return;
             }
+            finishTask();
+            JsonFormatResult result = task.getValue();
+            if (result.isError()) {
+                showFormatError(result);
+            } else {
+                outputHighlighter.setEnabled(true);
+                outputArea.replaceText(result.text());
+            }
+        });
+        task.setOnFailed(e -> {
+            if (!formatTasks.complete(task)) {
+                return;
+            }
+            finishTask();
+            Throwable error = task.getException();
+            showError(error.getMessage(), task.getInput(), -1);
+        });
+        task.setOnCancelled(e -> {
+            if (formatTasks.complete(task)) {
+                finishTask();
+            }
+        });
+        formatExecutor.execute(task);
+    }
 
-            // 先解析确保是有效的JSON，然后压缩
-            Object json = prettyMapper.readValue(input, Object.class);
-            String compacted = compactMapper.writeValueAsString(json);
-            displayFormattedJson(compacted);
-        } catch (com.fasterxml.jackson.core.JsonParseException e) {
-            int lineNumber = e.getLocation().getLineNr();
-            int columnNumber = e.getLocation().getColumnNr();
-            String input = inputArea.getText();
-            showError(e.getMessage(), input, lineNumber, columnNumber);
-        } catch (Exception e) {
-            String input = inputArea.getText();
-            int errorPosition = findErrorPosition(e.getMessage(), input);
-            showError(e.getMessage(), input, errorPosition);
+    private void cancelCurrentTask() {
+        if (formatTasks.cancel()) {
+            finishTask();
+        }
+    }
+
+    private void finishTask() {
+        progressBar.progressProperty().unbind();
+        statusLabel.textProperty().unbind();
+        progressBox.setVisible(false);
+    }
+
+    private void showFormatError(JsonFormatResult result) {
+        if (result.errorLine() > 0) {
+            showError(result.errorMessage(), result.errorSource(), result.errorLine(), result.errorColumn());
+        } else {
+            int errorPosition = findErrorPosition(result.errorMessage(), result.errorSource());
+            showError(result.errorMessage(), result.errorSource(), errorPosition);
         }
     }
 
     private void showError(String errorMessage, String input, int lineNumber, int columnNumber) {
+        // 错误信息不是JSON，停用高亮以保留错误位置的标记样式
+        outputHighlighter.setEnabled(false);
         outputArea.clear();
         String simplifiedError = simplifyErrorMessage(errorMessage);
         outputArea.appendText(simplifiedError + "\n行号: " + lineNumber + ", 列号: " + columnNumber + "\n\n");
@@ -245,6 +310,7 @@ public class JsonFormatterPlugin implements Plugin {
     }
 
     private void showError(String errorMessage, String input, int errorPosition) {
+        outputHighlighter.setEnabled(false);
         outputArea.clear();
         String simplifiedError = simplifyErrorMessage(errorMessage);
         outputArea.appendText(simplifiedError + "\n\n");
@@ -269,19 +335,18 @@ public class JsonFormatterPlugin implements Plugin {
         }
     }
 
-    private void displayFormattedJson(String json) {
-        outputArea.clear();
-        outputArea.appendText(json);
-        // 设置样式高亮
-        StyleSpans<Collection<String>> styleSpans = JsonHighlighting.highlight(json);
-        outputArea.setStyleSpans(0, styleSpans);
-    }
-
     private void clearAll() {
+        cancelCurrentTask();
         inputArea.clear();
         outputArea.clear();
     }
 
+    @Override
+    public void destroy() {
+        formatTasks.cancel();
+        formatExecutor.shutdownNow();
+    }
+
     @Override
     public String getContent() {
         return inputArea.getText();
@@ -1,26 +1,25 @@
 package com.daicy.devtools.plugin.impl;
 
+import com.daicy.devtools.core.bean.JavaBeanGenerator;
+import com.daicy.devtools.core.json.JsonService;
 import com.daicy.devtools.plugin.Plugin;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 
-import java.util.*;
-
 public class JsonToBeanPlugin implements Plugin {
     private TextArea jsonInput;
     private TextArea beanOutput;
     private TextField packageNameField;
     private TextField classNameField;
-    private final ObjectMapper objectMapper;
+    private final JsonService jsonService;
+    private final JavaBeanGenerator beanGenerator;
     
     public JsonToBeanPlugin() {
-        this.objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        this.jsonService = new JsonService();
+        this.beanGenerator = new JavaBeanGenerator();
     }
     
     @Override
@@ -129,10 +128,7 @@ public class JsonToBeanPlugin implements Plugin {
                 return;
             }
             
-            // 使用Jackson格式化JSON
-            JsonNode jsonNode = objectMapper.readTree(json);
-            String formattedJson = objectMapper.writeValueAsString(jsonNode);
-            jsonInput.setText(formattedJson);
+            jsonInput.setText(jsonService.format(json));
             
         } catch (Exception e) {
             showError("错误", "JSON格式化失败: " + e.getMessage());
@@ -155,165 +151,13 @@ public class JsonToBeanPlugin implements Plugin {
                 return;
             }
             
-            // 解析JSON并生成Java类代码
-            JsonNode rootNode = objectMapper.readTree(json);
-            StringBuilder code = new StringBuilder();
-            
-            // 生成包声明
-            if (packageName != null && !packageName.trim().isEmpty()) {
-                code.append("package ").append(packageName).append(";\n\n");
-            }
-            
-            // 添加导入语句
-            code.append("import java.util.List;\n");
-            code.append("import java.util.Map;\n\n");
-            
-            // 生成类定义
-            code.append("public class ").append(className).append(" {\n");
-            
-            // 生成字段
-            generateFields(rootNode, code, 1);
-            
-            // 生成getter和setter方法
-            generateGettersAndSetters(rootNode, code, className);
-            
-            code.append("}\n");
-            
-            beanOutput.setText(code.toString());
+            beanOutput.setText(beanGenerator.generate(json, packageName, className));
             
         } catch (Exception e) {
             showError("错误", "生成Java类失败: " + e.getMessage());
         }
     }
     
-    private void generateFields(JsonNode node, StringBuilder code, int indentLevel) {
-        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
-        String indent = "    ".repeat(indentLevel);
-        
-        while (fields.hasNext()) {
-            Map.Entry<String, JsonNode> field = fields.next();
-            String fieldName = field.getKey();
-            JsonNode fieldValue = field.getValue();
-            
-            // 生成字段
-            code.append(indent).append("private ");
-            
-            if (fieldValue.isObject()) {
-                code.append(toClassName(fieldName));
-            } else if (fieldValue.isArray()) {
-                code.append("List<");
-                if (fieldValue.size() > 0 && fieldValue.get(0).isObject()) {
-                    code.append(toClassName(fieldName));
-                } else {
-                    code.append(getJavaType(fieldValue.get(0)));
-                }
-                code.append(">");
-            } else {
-                code.append(getJavaType(fieldValue));
-            }
-            
-            code.append(" ").append(toCamelCase(fieldName)).append(";\n");
-        }
-        code.append("\n");
-    }
-    
-    private void generateGettersAndSetters(JsonNode node, StringBuilder code, String className) {
-        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
-        
-        while (fields.hasNext()) {
-            Map.Entry<String, JsonNode> field = fields.next();
-            String fieldName = field.getKey();
-            JsonNode fieldValue = field.getValue();
-            String camelCaseFieldName = toCamelCase(fieldName);
-            String capitalizedFieldName = capitalize(camelCaseFieldName);
-            
-            // Getter
-            code.append("    public ");
-            if (fieldValue.isObject()) {
-                code.append(toClassName(fieldName));
-            } else if (fieldValue.isArray()) {
-                code.append("List<");
-                if (fieldValue.size() > 0 && fieldValue.get(0).isObject()) {
-                    code.append(toClassName(fieldName));
-                } else {
-                    code.append(getJavaType(fieldValue.get(0)));
-                }
-                code.append(">");
-            } else {
-                code.append(getJavaType(fieldValue));
-            }
-            code.append(" get").append(capitalizedFieldName).append("() {\n");
-            code.append("        return ").append(camelCaseFieldName).append(";\n");
-            code.append("    }\n\n");
-            
-            // Setter
-            code.append("    public void set").append(capitalizedFieldName).append("(");
-            if (fieldValue.isObject()) {
-                code.append(toClassName(fieldName));
-            } else if (fieldValue.isArray()) {
-                code.append("List<");
-                if (fieldValue.size() > 0 && fieldValue.get(0).isObject()) {
-                    code.append(toClassName(fieldName));
-                } else {
-                    code.append(getJavaType(fieldValue.get(0)));
-                }
-                code.append(">");
-            } else {
-                code.append(getJavaType(fieldValue));
-            }
-            code.append(" ").append(camelCaseFieldName).append(") {\n");
-            code.append("        this.").append(camelCaseFieldName).append(" = ").append(camelCaseFieldName).append(";\n");
-            code.append("    }\n\n");
-        }
-    }
-    
-    private String getJavaType(JsonNode node) {
-        if (node == null || node.isNull()) return "Object";
-        if (node.isTextual()) return "String";
-        if (node.isInt()) return "Integer";
-        if (node.isLong()) return "Long";
-        if (node.isDouble() || node.isFloat()) return "Double";
-        if (node.isBoolean()) return "Boolean";
-        if (node.isObject()) return "Object";
-        if (node.isArray()) return "List<Object>";
-        return "Object";
-    }
-    
-    private String toClassName(String name) {
-        return capitalize(toCamelCase(name));
-    }
-    
-    private String toCamelCase(String name) {
-        StringBuilder result = new StringBuilder();
-        boolean nextUpper = false;
-        
-        for (int i = 0; i < name.length(); i++) {
-            char c = name.charAt(i);
-            
-            if (c == '_' || c == '-') {
-                nextUpper = true;
-            } else {
-                if (i == 0) {
-                    result.append(Character.toLowerCase(c));
-                } else if (nextUpper) {
-                    result.append(Character.toUpperCase(c));
-                    nextUpper = false;
-                } else {
-                    result.append(c);
-                }
-            }
-        }
-        
-        return result.toString();
-    }
-    
-    private String capitalize(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
-        }
-        return Character.toUpperCase(str.charAt(0)) + str.substring(1);
-    }
-    
     private void copyToClipboard() {
         String content = beanOutput.getText();
         if (content != null && !content.trim().isEmpty()) {
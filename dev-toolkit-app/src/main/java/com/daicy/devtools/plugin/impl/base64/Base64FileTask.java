@@ -0,0 +1,83 @@
+package com.daicy.devtools.plugin.impl.base64;
+
+import com.daicy.devtools.core.base64.Base64Service;
+import com.daicy.devtools.core.base64.Base64Variant;
+import com.daicy.devtools.plugin.metrics.OperationMetrics;
+import javafx.concurrent.Task;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 在后台线程执行的Base64文件编解码任务
+ * 按固定大小的缓冲区流式读写，进度按已读取的输入字节数上报，每读取一块检查一次取消
+ */
+public class Base64FileTask extends Task<Long> {
+    /**
+     * 处理方向
+     */
+    public enum Mode {
+        ENCODE,
+        DECODE
+    }
+
+    private final Base64Service base64Service;
+    private final Mode mode;
+    private final Path source;
+    private final Path target;
+    private final Base64Variant variant;
+    private final OperationMetrics metrics;
+
+    /**
+     * @param base64Service Base64服务
+     * @param mode 处理方向
+     * @param source 输入文件
+     * @param target 输出文件，任务失败或取消时删除
+     * @param variant 编码变体
+     * @param metrics 记录耗时和处理字节数的指标，被取消的任务不记录
+     */
+    public Base64FileTask(Base64Service base64Service, Mode mode, Path source, Path target,
+                          Base64Variant variant, OperationMetrics metrics) {
+        this.base64Service = base64Service;
+        this.mode = mode;
+        this.source = source;
+        this.target = target;
+        this.variant = variant;
+        this.metrics = metrics;
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    @Override
+    protected Long call() throws Exception {
+        long start = metrics.start();
+        updateMessage(mode == Mode.ENCODE ? "正在编码..." : "正在解码...");
+        Base64Service.ProgressListener listener = (processed, total) -> {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            updateProgress(processed, Math.max(total, 1));
+        };
+        long written;
+        try {
+            if (mode == Mode.ENCODE) {
+                written = base64Service.encodeFile(source, target, variant, listener);
+            } else {
+                written = base64Service.decodeFile(source, target, variant, listener);
+            }
+        } catch (Exception e) {
+            // cancel(true) 会中断工作线程，文件通道此时抛出 ClosedByInterruptException 而不是 CancellationException
+            if (!isCancelled()) {
+                metrics.fail(start);
+            }
+            throw e;
+        }
+        metrics.stop(start, mode == Mode.ENCODE ? Files.size(source) : written);
+        updateProgress(1, 1);
+        updateMessage("完成");
+        return written;
+    }
+}
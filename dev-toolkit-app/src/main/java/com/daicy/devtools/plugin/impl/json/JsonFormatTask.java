@@ -0,0 +1,139 @@
+package com.daicy.devtools.plugin.impl.json;
+
+import com.daicy.devtools.core.json.JsonFixResult;
+import com.daicy.devtools.core.json.JsonFormatResult;
+import com.daicy.devtools.core.json.JsonService;
+import com.daicy.devtools.plugin.metrics.OperationMetrics;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import javafx.concurrent.Task;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 在后台线程执行的JSON格式化任务
+ * 依次完成自动修复和流式格式化，进度和结果由Task通过Platform.runLater回传到JavaFX线程
+ * 语法高亮由输出区域的增量高亮器负责，不在任务中整篇计算
+ */
+public class JsonFormatTask extends Task<JsonFormatResult> {
+    /**
+     * 格式化模式
+     */
+    public enum Mode {
+        /** 自动修复后美化输出 */
+        FORMAT,
+        /** 直接压缩输出 */
+        COMPACT
+    }
+
+    private final String input;
+    private final Mode mode;
+    private final JsonService jsonService;
+    private final OperationMetrics metrics;
+
+    /**
+     * @param input 待处理的文本
+     * @param mode 格式化模式
+     * @param jsonService JSON服务
+     * @param metrics 记录耗时和处理字节数的指标，被取消的任务不记录
+     */
+    public JsonFormatTask(String input, Mode mode, JsonService jsonService, OperationMetrics metrics) {
+        this.input = input;
+        this.mode = mode;
+        this.jsonService = jsonService;
+        this.metrics = metrics;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    @Override
+    protected JsonFormatResult call() throws Exception {
+        long start = metrics.start();
+        String source = input;
+        List<String> fixLogs = Collections.emptyList();
+
+        if (mode == Mode.FORMAT) {
+            updateMessage("正在修复...");
+            JsonFixResult fixed = jsonService.fix(input);
+            source = fixed.text();
+            fixLogs = fixed.fixLogs();
+        }
+        checkCancelled();
+
+        updateMessage(mode == Mode.FORMAT ? "正在格式化..." : "正在压缩...");
+        StringWriter writer = new StringWriter(source.length() + (source.length() >> 1));
+        try (Reader reader = new ProgressReader(new StringReader(source), source.length())) {
+            if (mode == Mode.FORMAT) {
+                jsonService.format(reader, writer);
+            } else {
+                jsonService.compact(reader, writer);
+            }
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            int line = location != null ? location.getLineNr() : -1;
+            int column = location != null ? location.getColumnNr() : -1;
+            metrics.fail(start);
+            return JsonFormatResult.error(e.getMessage(), source, line, column);
+        }
+        String json = writer.toString();
+        checkCancelled();
+        metrics.stop(start, OperationMetrics.utf8Length(input));
+
+        // 如果进行了修复，在格式化结果前添加提示信息
+        json = JsonService.withFixNotice(fixLogs, json);
+        checkCancelled();
+
+        updateProgress(1, 1);
+        updateMessage("完成");
+        return JsonFormatResult.success(json);
+    }
+
+    private void checkCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * 统计已读取的字符数并上报进度，同时在每次读取时响应取消
+     */
+    private class ProgressReader extends FilterReader {
+        private final long total;
+        private long consumed;
+
+        ProgressReader(Reader in, long total) {
+            super(in);
+            this.total = Math.max(total, 1);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            checkCancelled();
+            int n = super.read(cbuf, off, len);
+            if (n > 0) {
+                consumed += n;
+                updateProgress(consumed, total);
+            }
+            return n;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkCancelled();
+            int c = super.read();
+            if (c >= 0) {
+                consumed++;
+            }
+            return c;
+        }
+    }
+}
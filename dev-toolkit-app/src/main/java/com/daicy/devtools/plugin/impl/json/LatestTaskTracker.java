@@ -0,0 +1,58 @@
+package com.daicy.devtools.plugin.impl.json;
+
+import java.util.concurrent.Future;
+
+/**
+ * 跟踪最新提交的后台任务
+ * 提交新任务或输入变化时取消旧任务；任务结束时只有仍是最新的任务才能把结果应用到界面，
+ * 已被取消或被新任务替代的任务即使已经算出结果也会被丢弃。
+ * 只在JavaFX线程中使用
+ *
+ * @param <T> 任务类型
+ */
+public class LatestTaskTracker<T extends Future<?>> {
+    private T current;
+
+    /**
+     * 登记新任务，并取消仍在运行的旧任务
+     */
+    public void submit(T task) {
+        cancel();
+        current = task;
+    }
+
+    /**
+     * 取消当前任务
+     *
+     * @return 存在当前任务时返回true
+     */
+    public boolean cancel() {
+        T task = current;
+        if (task == null) {
+            return false;
+        }
+        current = null;
+        task.cancel(true);
+        return true;
+    }
+
+    /**
+     * 任务结束时调用
+     *
+     * @return 任务仍是最新任务时返回true，调用方可以应用其结果；之后不再有当前任务
+     */
+    public boolean complete(T task) {
+        if (task == null || task != current) {
+            return false;
+        }
+        current = null;
+        return true;
+    }
+
+    /**
+     * @return 是否有任务正在运行
+     */
+    public boolean isRunning() {
+        return current != null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.daicy.devtools.plugin.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 发现缓存中单个jar包的记录
+ * 以文件大小和修改时间判断jar包是否变化
+ */
+public class CachedJarEntry {
+    private String jarName;
+    private long size;
+    private long lastModified;
+    private List<CachedPluginInfo> plugins;
+
+    public CachedJarEntry() {
+        this.plugins = new ArrayList<>();
+    }
+
+    public String getJarName() {
+        return jarName;
+    }
+
+    public void setJarName(String jarName) {
+        this.jarName = jarName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public List<CachedPluginInfo> getPlugins() {
+        return plugins;
+    }
+
+    public void setPlugins(List<CachedPluginInfo> plugins) {
+        this.plugins = plugins;
+    }
+}
@@ -0,0 +1,63 @@
+package com.daicy.devtools.plugin.spi;
+
+/**
+ * 发现缓存中记录的插件元数据
+ */
+public class CachedPluginInfo {
+    private String className;
+    private String name;
+    private String version;
+    private String author;
+    private String description;
+
+    public CachedPluginInfo() {
+    }
+
+    public CachedPluginInfo(String className, String name, String version, String author, String description) {
+        this.className = className;
+        this.name = name;
+        this.version = version;
+        this.author = author;
+        this.description = description;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -4,19 +4,54 @@ import com.daicy.devtools.plugin.Plugin;
 import com.daicy.devtools.plugin.config.PluginConfigManager;
 import com.daicy.devtools.plugin.utils.PluginException;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 public class JarPluginLoader implements PluginLoader {
+    /** jar中声明插件实现类的服务文件 */
+    static final String SERVICE_FILE = "META-INF/services/com.daicy.devtools.plugin.Plugin";
+    /** 清单中声明插件实现类的属性，多个类名以逗号或空白分隔 */
+    static final String MANIFEST_ATTRIBUTE = "Plugin-Classes";
+
     private final String pluginDirectory;
+    private final PluginDiscoveryCache discoveryCache;
+    /**
+     * 按jar包绝对路径保存的类加载器，jar包未变化时重新加载插件复用同一个类加载器；
+     * jar包变化或被删除时关闭原来的类加载器
+     */
+    private final Map<String, URLClassLoader> classLoaders = new ConcurrentHashMap<>();
 
     public JarPluginLoader() {
-        this.pluginDirectory = PluginConfigManager.pluginsDir.toString();
+        this(PluginConfigManager.pluginsDir, new PluginDiscoveryCache(
+                PluginConfigManager.pluginsDir.resolve(PluginDiscoveryCache.CACHE_FILE_NAME)));
+    }
+
+    JarPluginLoader(Path pluginDirectory, PluginDiscoveryCache discoveryCache) {
+        this.pluginDirectory = pluginDirectory.toString();
+        this.discoveryCache = discoveryCache;
     }
 
 
@@ -32,22 +67,147 @@ public class JarPluginLoader implements PluginLoader {
     @Override
     public List<Plugin> loadPlugins() {
         List<Plugin> plugins = new ArrayList<>();
-        File directory = new File(pluginDirectory);
+        List<File> jarFiles = listJarFiles();
+        for (File jarFile : jarFiles) {
+            System.out.println("正在加载插件: " + jarFile.getName());
+            plugins.addAll(discoverJar(jarFile));
+        }
+        updateCache(jarFiles);
+        return plugins;
+    }
+
+    /**
+     * 每个jar包作为独立任务并行扫描，结果按jar文件名顺序合并
+     * 单个jar加载失败只跳过该jar，不影响其他jar
+     */
+    @Override
+    public CompletableFuture<List<Plugin>> loadPluginsAsync(Executor executor, Consumer<PluginLoadTiming> timingListener) {
+        long start = System.nanoTime();
+        List<File> jarFiles;
+        try {
+            jarFiles = listJarFiles();
+        } catch (PluginException e) {
+            timingListener.accept(new PluginLoadTiming(getName(), getName(), System.nanoTime() - start, 0, true));
+            return CompletableFuture.failedFuture(e);
+        }
+
+        List<CompletableFuture<List<Plugin>>> futures = new ArrayList<>(jarFiles.size());
+        for (File jarFile : jarFiles) {
+            futures.add(CompletableFuture.supplyAsync(() -> loadJar(jarFile, timingListener), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<Plugin> plugins = new ArrayList<>();
+            for (CompletableFuture<List<Plugin>> future : futures) {
+                plugins.addAll(future.join());
+            }
+            updateCache(jarFiles);
+            timingListener.accept(new PluginLoadTiming(getName(), getName(), System.nanoTime() - start, plugins.size(), false));
+            return plugins;
+        });
+    }
+
+    private List<Plugin> loadJar(File jarFile, Consumer<PluginLoadTiming> timingListener) {
+        long start = System.nanoTime();
+        System.out.println("正在加载插件: " + jarFile.getName());
+        try {
+            List<Plugin> plugins = discoverJar(jarFile);
+            timingListener.accept(new PluginLoadTiming(getName(), jarFile.getName(), System.nanoTime() - start, plugins.size(), false));
+            return plugins;
+        } catch (PluginException e) {
+            System.err.println("跳过无法加载的插件jar: " + jarFile.getName() + ", 原因: " + e.getMessage());
+            timingListener.accept(new PluginLoadTiming(getName(), jarFile.getName(), System.nanoTime() - start, 0, true));
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 发现jar包中的插件
+     * jar包自上次扫描后未变化时，直接根据缓存的元数据创建延迟插件，不打开jar包也不加载插件类
+     */
+    private List<Plugin> discoverJar(File jarFile) {
+        CachedJarEntry cached = discoveryCache.lookup(jarFile);
+        if (cached != null) {
+            return createLazyPlugins(jarFile, cached);
+        }
+        String jarPath = jarFile.getAbsolutePath();
+        URLClassLoader classLoader = createClassLoader(jarFile);
+        List<Plugin> plugins;
+        try {
+            plugins = loadPluginsFromJar(jarPath, classLoader);
+        } catch (PluginException e) {
+            replaceClassLoader(jarPath, null);
+            throw e;
+        }
+        // jar中没有插件时新的类加载器已经关闭
+        replaceClassLoader(jarPath, plugins.isEmpty() ? null : classLoader);
+        discoveryCache.update(jarFile, plugins);
+        return plugins;
+    }
 
+    /**
+     * jar包变化后重新扫描时登记新的类加载器，并关闭被替换的类加载器
+     * @param classLoader 新的类加载器，为null时只移除原来的
+     */
+    private void replaceClassLoader(String jarPath, URLClassLoader classLoader) {
+        URLClassLoader previous = classLoader == null
+                ? classLoaders.remove(jarPath)
+                : classLoaders.put(jarPath, classLoader);
+        if (previous != null) {
+            closeQuietly(previous);
+        }
+    }
+
+    private List<Plugin> createLazyPlugins(File jarFile, CachedJarEntry cached) {
+        if (cached.getPlugins().isEmpty()) {
+            return Collections.emptyList();
+        }
+        // jar包未变化，复用上次加载时的类加载器；URLClassLoader在第一次加载类时才打开jar包
+        URLClassLoader classLoader = classLoaders.computeIfAbsent(jarFile.getAbsolutePath(),
+                path -> createClassLoader(jarFile));
+        List<Plugin> plugins = new ArrayList<>(cached.getPlugins().size());
+        for (CachedPluginInfo info : cached.getPlugins()) {
+            plugins.add(new LazyPlugin(info, classLoader));
+        }
+        System.out.println("使用发现缓存: " + jarFile.getName() + ", " + plugins.size() + " 个插件");
+        return plugins;
+    }
+
+    private void updateCache(List<File> jarFiles) {
+        List<String> jarNames = new ArrayList<>(jarFiles.size());
+        Set<String> jarPaths = new HashSet<>();
+        for (File jarFile : jarFiles) {
+            jarNames.add(jarFile.getName());
+            jarPaths.add(jarFile.getAbsolutePath());
+        }
+        discoveryCache.retainJars(jarNames);
+        discoveryCache.save();
+
+        // 已删除的jar包不会再被加载，关闭其类加载器
+        classLoaders.entrySet().removeIf(entry -> {
+            if (jarPaths.contains(entry.getKey())) {
+                return false;
+            }
+            closeQuietly(entry.getValue());
+            return true;
+        });
+    }
+
+    /**
+     * 列出插件目录下的jar包，按文件名排序以保证加载顺序确定
+     */
+    private List<File> listJarFiles() {
+        File directory = new File(pluginDirectory);
         if (!directory.exists() || !directory.isDirectory()) {
             System.out.println("插件目录不存在或不是一个目录: " + pluginDirectory);
             throw new PluginException("插件目录不存在或不是一个目录: " + pluginDirectory);
         }
 
         File[] jarFiles = directory.listFiles((dir, name) -> name.endsWith(".jar"));
-        if (jarFiles != null) {
-            for (File jarFile : jarFiles) {
-                System.out.println("正在加载插件: " + jarFile.getName());
-                plugins.addAll(loadPluginsFromJar(jarFile.getAbsolutePath()));
-            }
+        if (jarFiles == null) {
+            return Collections.emptyList();
         }
-
-        return plugins;
+        Arrays.sort(jarFiles, Comparator.comparing(File::getName));
+        return Arrays.asList(jarFiles);
     }
 
     @Override
@@ -60,39 +220,160 @@ public class JarPluginLoader implements PluginLoader {
         return "从外部jar包加载插件";
     }
 
+    /**
+     * 从jar包加载插件
+     * 优先读取jar中的插件索引（{@value #SERVICE_FILE} 或清单属性 {@value #MANIFEST_ATTRIBUTE}），只加载索引中列出的类；
+     * 没有索引时回退为扫描全部类，单个类加载失败不影响其他类
+     * @param jarPath jar包路径
+     * @return jar中的插件实例
+     */
     public List<Plugin> loadPluginsFromJar(String jarPath) {
-        List<Plugin> plugins = new ArrayList<>();
-        try {
-            URLClassLoader classLoader = new URLClassLoader(
-                    new URL[]{new File(jarPath).toURI().toURL()},
-                    Thread.currentThread().getContextClassLoader()
-            );
+        return loadPluginsFromJar(jarPath, createClassLoader(new File(jarPath)));
+    }
 
-            try (JarFile jarFile = new JarFile(jarPath)) {
-                jarFile.stream()
-                        .filter(entry -> entry.getName().endsWith(".class"))
-                        .filter(entry -> !entry.getName().equals("module-info.class"))
-                        .filter(entry -> !entry.getName().startsWith("META-INF/versions/"))
-                        .forEach(entry -> {
-                            String className = entry.getName().replace("/", ".").replace(".class", "");
-                            try {
-                                Class<?> clazz = classLoader.loadClass(className);
-                                if (Plugin.class.isAssignableFrom(clazz) && !Modifier.isAbstract(clazz.getModifiers())) {
-                                    Plugin plugin = (Plugin) clazz.getDeclaredConstructor().newInstance();
-                                    System.out.println("加载插件: " + className);
-                                    plugins.add(plugin);
-                                }
-                            } catch (Exception e) {
-                                // Skip classes that can't be loaded
-                                System.out.println("无法加载类: " + className + ", 原因: " + e.getMessage());
-                                throw new PluginException("无法加载类: " + className, e);
-                            }
-                        });
+    /**
+     * 使用指定的类加载器从jar包加载插件，jar中没有插件或读取失败时关闭该类加载器
+     */
+    private List<Plugin> loadPluginsFromJar(String jarPath, URLClassLoader classLoader) {
+        List<Plugin> plugins;
+        try (JarFile jarFile = new JarFile(jarPath)) {
+            List<String> indexedClasses = readPluginIndex(jarFile);
+            if (!indexedClasses.isEmpty()) {
+                plugins = loadIndexedPlugins(indexedClasses, classLoader);
+            } else {
+                System.out.println("插件jar未提供插件索引，扫描全部类: " + jarPath);
+                plugins = scanPlugins(jarFile, classLoader);
             }
-        } catch (Exception e) {
+        } catch (IOException e) {
+            closeQuietly(classLoader);
             System.err.println("加载插件jar文件时发生错误: " + e.getMessage());
             throw new PluginException("加载插件jar文件时发生错误", e);
         }
+
+        if (plugins.isEmpty()) {
+            // 没有插件引用该类加载器，可以立即释放jar文件句柄
+            closeQuietly(classLoader);
+        }
+        return plugins;
+    }
+
+    /**
+     * 读取jar中声明的插件类名，服务文件和清单属性中的类名合并去重
+     */
+    private List<String> readPluginIndex(JarFile jarFile) throws IOException {
+        Set<String> classNames = new LinkedHashSet<>();
+        JarEntry serviceEntry = jarFile.getJarEntry(SERVICE_FILE);
+        if (serviceEntry != null) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(jarFile.getInputStream(serviceEntry), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    if (comment >= 0) {
+                        line = line.substring(0, comment);
+                    }
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        classNames.add(line);
+                    }
+                }
+            }
+        }
+
+        Manifest manifest = jarFile.getManifest();
+        if (manifest != null) {
+            String pluginClasses = manifest.getMainAttributes().getValue(MANIFEST_ATTRIBUTE);
+            if (pluginClasses != null) {
+                for (String className : pluginClasses.split("[,\\s]+")) {
+                    if (!className.isEmpty()) {
+                        classNames.add(className);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(classNames);
+    }
+
+    private List<Plugin> loadIndexedPlugins(List<String> classNames, ClassLoader classLoader) {
+        List<Plugin> plugins = new ArrayList<>();
+        for (String className : classNames) {
+            try {
+                Plugin plugin = instantiatePlugin(className, classLoader);
+                if (plugin != null) {
+                    System.out.println("加载插件: " + className);
+                    plugins.add(plugin);
+                } else {
+                    System.err.println("插件索引中的类不是有效的插件实现: " + className);
+                }
+            } catch (Exception | LinkageError e) {
+                System.err.println("无法加载插件类: " + className + ", 原因: " + e);
+            }
+        }
+        return plugins;
+    }
+
+    /**
+     * 扫描jar中的全部类，按类名排序以保证结果确定
+     * 类只加载不初始化，只有插件实现类才会被实例化
+     */
+    private List<Plugin> scanPlugins(JarFile jarFile, ClassLoader classLoader) {
+        List<String> classNames = jarFile.stream()
+                .map(JarEntry::getName)
+                .filter(name -> name.endsWith(".class"))
+                .filter(name -> !name.endsWith("module-info.class"))
+                .filter(name -> !name.startsWith("META-INF/"))
+                .map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.'))
+                .sorted()
+                .toList();
+
+        List<Plugin> plugins = new ArrayList<>();
+        int skipped = 0;
+        for (String className : classNames) {
+            try {
+                Plugin plugin = instantiatePlugin(className, classLoader);
+                if (plugin != null) {
+                    System.out.println("加载插件: " + className);
+                    plugins.add(plugin);
+                }
+            } catch (Exception | LinkageError e) {
+                // 胖jar中常有依赖缺失的类，跳过即可
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            System.out.println("扫描 " + jarFile.getName() + " 时跳过了 " + skipped + " 个无法加载的类");
+        }
         return plugins;
     }
-}
\ No newline at end of file
+
+    /**
+     * 加载类但不执行静态初始化，确认是可实例化的插件实现后再创建实例
+     * @return 插件实例，类不是插件实现时返回null
+     */
+    private Plugin instantiatePlugin(String className, ClassLoader classLoader) throws ReflectiveOperationException {
+        Class<?> clazz = Class.forName(className, false, classLoader);
+        if (!Plugin.class.isAssignableFrom(clazz) || clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+            return null;
+        }
+        return (Plugin) clazz.getDeclaredConstructor().newInstance();
+    }
+
+    private static URLClassLoader createClassLoader(File jarFile) {
+        try {
+            return new URLClassLoader(
+                    new URL[]{jarFile.toURI().toURL()},
+                    Thread.currentThread().getContextClassLoader()
+            );
+        } catch (IOException e) {
+            throw new PluginException("加载插件jar文件时发生错误", e);
+        }
+    }
+
+    private static void closeQuietly(URLClassLoader classLoader) {
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            System.err.println("关闭插件类加载器失败: " + e.getMessage());
+        }
+    }
+}
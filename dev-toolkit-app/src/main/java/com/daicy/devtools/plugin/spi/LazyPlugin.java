@@ -0,0 +1,122 @@
+package com.daicy.devtools.plugin.spi;
+
+import com.daicy.devtools.plugin.Plugin;
+import com.daicy.devtools.plugin.utils.PluginException;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+
+/**
+ * 基于发现缓存的延迟插件代理
+ * 名称、版本等元数据直接来自缓存，只有在初始化或获取界面等真正使用插件时才加载并实例化插件类
+ */
+public class LazyPlugin implements Plugin {
+    private final CachedPluginInfo info;
+    private final ClassLoader classLoader;
+    private volatile Plugin delegate;
+
+    public LazyPlugin(CachedPluginInfo info, ClassLoader classLoader) {
+        this.info = info;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 获取被代理的插件实例，首次调用时加载插件类并创建实例
+     * @return 插件实例
+     * @throws PluginException 插件类无法加载或实例化时抛出
+     */
+    public Plugin getDelegate() {
+        Plugin plugin = delegate;
+        if (plugin == null) {
+            synchronized (this) {
+                plugin = delegate;
+                if (plugin == null) {
+                    plugin = instantiate();
+                    delegate = plugin;
+                }
+            }
+        }
+        return plugin;
+    }
+
+    private Plugin instantiate() {
+        try {
+            Class<?> clazz = Class.forName(info.getClassName(), true, classLoader);
+            if (!Plugin.class.isAssignableFrom(clazz)) {
+                throw new PluginException("类不是插件实现: " + info.getClassName());
+            }
+            System.out.println("实例化插件: " + info.getClassName());
+            return (Plugin) clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new PluginException("无法实例化插件: " + info.getClassName(), e);
+        }
+    }
+
+    public boolean isInstantiated() {
+        return delegate != null;
+    }
+
+    ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    public String getPluginClassName() {
+        return info.getClassName();
+    }
+
+    /**
+     * 插件尚未实例化时按名称生成默认图标，避免为了显示按钮而加载插件类
+     */
+    @Override
+    public Image getIcon() {
+        Plugin plugin = delegate;
+        return plugin != null ? plugin.getIcon() : Plugin.super.getIcon();
+    }
+
+    @Override
+    public String getName() {
+        return info.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return info.getDescription();
+    }
+
+    @Override
+    public String getVersion() {
+        return info.getVersion();
+    }
+
+    @Override
+    public String getAuthor() {
+        return info.getAuthor();
+    }
+
+    @Override
+    public void initialize() {
+        getDelegate().initialize();
+    }
+
+    @Override
+    public Node getPluginNode() {
+        return getDelegate().getPluginNode();
+    }
+
+    @Override
+    public void setContent(String content) {
+        getDelegate().setContent(content);
+    }
+
+    @Override
+    public String getContent() {
+        return getDelegate().getContent();
+    }
+
+    @Override
+    public void destroy() {
+        Plugin plugin = delegate;
+        if (plugin != null) {
+            plugin.destroy();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.daicy.devtools.plugin.spi;
+
+import com.daicy.devtools.plugin.Plugin;
+import com.daicy.devtools.plugin.config.JacksonConfig;
+import com.daicy.devtools.plugin.utils.LogManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * 插件发现缓存
+ * 保存在 plugin-config.json 旁边，记录每个jar包的大小、修改时间以及其中插件的类名和元数据。
+ * jar包未变化时直接使用缓存，不再打开和扫描jar包
+ */
+public class PluginDiscoveryCache {
+    public static final String CACHE_FILE_NAME = "plugin-discovery-cache.json";
+
+    private final Logger logger = LogManager.getLogger(PluginDiscoveryCache.class);
+    private final Path cachePath;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CachedJarEntry> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    public PluginDiscoveryCache(Path cachePath) {
+        this.cachePath = cachePath;
+        this.objectMapper = JacksonConfig.getObjectMapper();
+        load();
+    }
+
+    private void load() {
+        if (!Files.exists(cachePath)) {
+            return;
+        }
+        try {
+            CollectionType type = objectMapper.getTypeFactory()
+                    .constructCollectionType(List.class, CachedJarEntry.class);
+            List<CachedJarEntry> cached = objectMapper.readValue(cachePath.toFile(), type);
+            for (CachedJarEntry entry : cached) {
+                entries.put(entry.getJarName(), entry);
+            }
+        } catch (IOException e) {
+            // 缓存损坏时丢弃，下次扫描后重建
+            logger.warning("读取插件发现缓存失败，将重新扫描插件: " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    /**
+     * 查找jar包的缓存记录
+     * @param jarFile jar包
+     * @return jar包大小和修改时间都与记录一致时返回记录，否则返回null
+     */
+    public CachedJarEntry lookup(File jarFile) {
+        CachedJarEntry entry = entries.get(jarFile.getName());
+        if (entry != null && entry.getSize() == jarFile.length() && entry.getLastModified() == jarFile.lastModified()) {
+            return entry;
+        }
+        return null;
+    }
+
+    /**
+     * 记录jar包扫描得到的插件
+     * @param jarFile jar包
+     * @param plugins 扫描得到的插件实例
+     */
+    public void update(File jarFile, List<Plugin> plugins) {
+        CachedJarEntry entry = new CachedJarEntry();
+        entry.setJarName(jarFile.getName());
+        entry.setSize(jarFile.length());
+        entry.setLastModified(jarFile.lastModified());
+        List<CachedPluginInfo> infos = new ArrayList<>(plugins.size());
+        for (Plugin plugin : plugins) {
+            infos.add(new CachedPluginInfo(plugin.getClass().getName(), plugin.getName(),
+                    plugin.getVersion(), plugin.getAuthor(), plugin.getDescription()));
+        }
+        entry.setPlugins(infos);
+        entries.put(entry.getJarName(), entry);
+        dirty = true;
+    }
+
+    /**
+     * 移除已不存在的jar包的记录
+     * @param jarNames 当前插件目录中的jar文件名
+     */
+    public void retainJars(Collection<String> jarNames) {
+        if (entries.keySet().retainAll(jarNames)) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * 有变化时写回磁盘，先写临时文件再替换，避免中断时留下不完整的缓存
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            List<CachedJarEntry> sorted = new ArrayList<>(entries.values());
+            sorted.sort(Comparator.comparing(CachedJarEntry::getJarName));
+            Path tempFile = cachePath.resolveSibling(cachePath.getFileName() + ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), sorted);
+            Files.move(tempFile, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            logger.warning("保存插件发现缓存失败: " + e.getMessage());
+        }
+    }
+}
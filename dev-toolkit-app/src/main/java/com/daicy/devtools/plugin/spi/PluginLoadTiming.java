@@ -0,0 +1,24 @@
+package com.daicy.devtools.plugin.spi;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 插件发现阶段的耗时记录
+ *
+ * @param loader        加载器名称
+ * @param source        加载来源，jar包为文件名，加载器整体耗时与加载器名称相同
+ * @param durationNanos 耗时（纳秒）
+ * @param pluginCount   发现的插件数量
+ * @param failed        是否加载失败
+ */
+public record PluginLoadTiming(
+    String loader,
+    String source,
+    long durationNanos,
+    int pluginCount,
+    boolean failed
+) {
+    public long durationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+}
@@ -3,6 +3,9 @@ package com.daicy.devtools.plugin.spi;
 import com.daicy.devtools.plugin.Plugin;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * 插件加载器接口
@@ -14,6 +17,28 @@ public interface PluginLoader {
      * @return 插件列表
      */
     List<Plugin> loadPlugins();
+
+    /**
+     * 在给定线程池中异步加载插件
+     * 默认实现在线程池中调用 {@link #loadPlugins()}，加载器可覆盖该方法进一步拆分任务。
+     * 实现不能在线程池线程中阻塞等待同一线程池中的其他任务
+     * @param executor 有界的发现线程池
+     * @param timingListener 接收耗时记录，可能在多个线程中被调用
+     * @return 插件列表，列表顺序必须是确定的
+     */
+    default CompletableFuture<List<Plugin>> loadPluginsAsync(Executor executor, Consumer<PluginLoadTiming> timingListener) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                List<Plugin> plugins = loadPlugins();
+                timingListener.accept(new PluginLoadTiming(getName(), getName(), System.nanoTime() - start, plugins.size(), false));
+                return plugins;
+            } catch (RuntimeException e) {
+                timingListener.accept(new PluginLoadTiming(getName(), getName(), System.nanoTime() - start, 0, true));
+                throw e;
+            }
+        }, executor);
+    }
     
     /**
      * 获取加载器名称
@@ -0,0 +1,100 @@
+package com.daicy.devtools.plugin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HighlightFillTest {
+
+    @Test
+    void testSplitsLinesIntoChunks() {
+        // 2500个段落，最后一个是末尾换行符之后的空段落
+        String text = "{\"a\": 1}\n".repeat(2499);
+        HighlightFill fill = new HighlightFill(text, 2500, 1000);
+        List<int[]> chunks = new ArrayList<>();
+
+        assertTrue(fill.run((first, chunk, last) -> {
+            chunks.add(new int[]{first, chunk.size(), last ? 1 : 0});
+            assertEquals(8, chunk.get(0).length());
+        }));
+
+        assertEquals(3, chunks.size());
+        assertArrayEquals(new int[]{0, 1000, 0}, chunks.get(0));
+        assertArrayEquals(new int[]{1000, 1000, 0}, chunks.get(1));
+        assertArrayEquals(new int[]{2000, 500, 1}, chunks.get(2));
+    }
+
+    @Test
+    void testExactMultipleEndsWithFullLastChunk() {
+        HighlightFill fill = new HighlightFill("1\n2\n3\n4", 4, 2);
+        List<Boolean> lastFlags = new ArrayList<>();
+
+        fill.run((first, chunk, last) -> lastFlags.add(last));
+
+        assertEquals(List.of(false, true), lastFlags);
+    }
+
+    @Test
+    void testCancelStopsRunAndRestartDeliversEverything() {
+        String text = "1\n".repeat(5000);
+        HighlightFill cancelled = new HighlightFill(text, 5001, 1000);
+        List<Integer> delivered = new ArrayList<>();
+
+        boolean completed = cancelled.run((first, chunk, last) -> {
+            delivered.add(first);
+            cancelled.cancel();
+        });
+
+        assertFalse(completed);
+        assertTrue(cancelled.isCancelled());
+        assertEquals(List.of(0), delivered);
+
+        // 重新开始的回填与被取消的回填互不影响
+        HighlightFill restarted = new HighlightFill(text, 5001, 1000);
+        List<Integer> paragraphs = new ArrayList<>();
+        assertTrue(restarted.run((first, chunk, last) -> paragraphs.add(chunk.size())));
+        assertEquals(5001, paragraphs.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void testEditsMapSnapshotParagraphs() {
+        HighlightFill fill = new HighlightFill("", 20, 1000);
+        // 在第5段插入两个换行：原第5段变为第5~7段
+        fill.edited(5, 5, 7);
+        // 删除第10~12段之间的换行：原第8~10段（当前10~12）合并为一段
+        fill.edited(10, 12, 10);
+
+        assertEquals(4, fill.toCurrent(4));
+        assertEquals(-1, fill.toCurrent(5));
+        assertEquals(8, fill.toCurrent(6));
+        assertEquals(9, fill.toCurrent(7));
+        assertEquals(-1, fill.toCurrent(8));
+        assertEquals(-1, fill.toCurrent(10));
+        assertEquals(11, fill.toCurrent(11));
+    }
+
+    @Test
+    void testEditsShiftStyledParagraphs() {
+        HighlightFill fill = new HighlightFill("", 20, 1000);
+        assertTrue(fill.markStyled(2));
+        assertTrue(fill.markStyled(8));
+        assertFalse(fill.markStyled(8));
+
+        // 第4段之后插入一个换行，第8段下移到第9段；被编辑的第4、5段视为已高亮
+        fill.edited(4, 4, 5);
+
+        assertFalse(fill.markStyled(2));
+        assertFalse(fill.markStyled(4));
+        assertFalse(fill.markStyled(5));
+        assertTrue(fill.markStyled(8));
+        assertFalse(fill.markStyled(9));
+
+        // 不增删换行的编辑只标记被编辑的段落
+        fill.edited(12, 12, 12);
+        assertFalse(fill.markStyled(12));
+        assertTrue(fill.markStyled(13));
+    }
+}
@@ -0,0 +1,70 @@
+package com.daicy.devtools.plugin;
+
+import org.fxmisc.richtext.model.StyleSpans;
+import org.fxmisc.richtext.model.StyleSpansBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonHighlightingTest {
+
+    @Test
+    void testHighlightMatchesBuilderOutput() {
+        String json = "{\n  \"name\" : \"a\\\"b\",\n  \"n\": -1.5e3, \"ok\": true\n}";
+        StyleSpans<Collection<String>> expected = new StyleSpansBuilder<Collection<String>>()
+            .add(Collections.emptyList(), 4)
+            .add(Collections.singleton("json-property"), 6)
+            .add(Collections.emptyList(), 3)
+            .add(Collections.singleton("json-string"), 6)
+            .add(Collections.emptyList(), 4)
+            .add(Collections.singleton("json-property"), 3)
+            .add(Collections.emptyList(), 2)
+            .add(Collections.singleton("json-number"), 6)
+            .add(Collections.emptyList(), 2)
+            .add(Collections.singleton("json-property"), 4)
+            .add(Collections.emptyList(), 8)
+            .create();
+
+        StyleSpans<Collection<String>> actual = JsonHighlighting.highlight(json);
+        assertEquals(json.length(), actual.length());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testEmptyAndPlainText() {
+        StyleSpans<Collection<String>> empty = JsonHighlighting.highlightLine("");
+        assertEquals(0, empty.length());
+        assertEquals(1, empty.getSpanCount());
+
+        StyleSpans<Collection<String>> plain = JsonHighlighting.highlightLine("  {}, true");
+        assertEquals(1, plain.getSpanCount());
+        assertTrue(plain.getStyleSpan(0).getStyle().isEmpty());
+    }
+
+    @Test
+    void testTokenBufferGrowsAndResets() {
+        JsonTokenBuffer buffer = new JsonTokenBuffer();
+        for (int i = 0; i < 10_000; i++) {
+            buffer.add(i * 3 + 1, 2, JsonTokenBuffer.STYLE_NUMBER);
+        }
+        assertEquals(20_000, buffer.size());
+        assertEquals(JsonTokenBuffer.STYLE_NONE, buffer.getStyle(0));
+        assertEquals(1, buffer.getStart(1));
+        assertEquals(JsonTokenBuffer.STYLE_NUMBER, buffer.getStyle(1));
+
+        StyleSpans<Collection<String>> spans = buffer.toStyleSpans(30_005);
+        assertEquals(30_005, spans.length());
+        assertEquals(20_001, spans.getSpanCount());
+        assertEquals(20_000, spans.offsetToPosition(30_000, StyleSpans.Bias.Forward).getMajor());
+
+        buffer.reset();
+        assertEquals(0, buffer.size());
+        assertThrows(IllegalArgumentException.class, () -> {
+            buffer.add(5, 1, JsonTokenBuffer.STYLE_STRING);
+            buffer.add(4, 1, JsonTokenBuffer.STYLE_STRING);
+        });
+    }
+}
@@ -0,0 +1,205 @@
+package com.daicy.devtools.plugin;
+
+import com.daicy.devtools.plugin.spi.PluginLoadTiming;
+import com.daicy.devtools.plugin.spi.PluginLoader;
+import com.daicy.devtools.plugin.utils.PluginException;
+import javafx.scene.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PluginManagerTest {
+
+    @Test
+    void testNameConflictResolvedByLoaderOrder() {
+        for (int run = 0; run < 3; run++) {
+            // 第一个加载器完成得更晚，同名插件仍以它为准
+            PluginLoader slow = new FixedLoader("slow", 200, List.of(new TestPlugin("Same")));
+            PluginLoader fast = new FixedLoader("fast", 0, List.of(new AlternativePlugin("Same"), new TestPlugin("Other")));
+
+            PluginManager manager = new PluginManager(List.of(slow, fast));
+
+            assertEquals(List.of("Same", "Other"), manager.getPlugins().stream().map(Plugin::getName).toList());
+            assertEquals(TestPlugin.class, manager.findPlugin("Same").getClass(), "run " + run);
+            List<PluginLoadTiming> timings = manager.getLoadTimings();
+            assertEquals(2, timings.size());
+            // 按耗时从高到低排序
+            assertEquals("slow", timings.get(0).loader());
+            assertEquals(1, timings.get(0).pluginCount());
+            assertEquals(2, timings.get(1).pluginCount());
+        }
+    }
+
+    @Test
+    void testFailedLoaderDoesNotBlockOthers() {
+        PluginLoader broken = new FixedLoader("broken", 0, List.of()) {
+            @Override
+            public List<Plugin> loadPlugins() {
+                throw new IllegalStateException("broken loader");
+            }
+        };
+        PluginLoader working = new FixedLoader("working", 0, List.of(new TestPlugin("Working")));
+
+        PluginManager manager = new PluginManager(List.of(broken, working));
+
+        assertNotNull(manager.findPlugin("Working"));
+        assertTrue(manager.getLoadTimings().stream().anyMatch(PluginLoadTiming::failed));
+    }
+
+    @Test
+    void testInitializeRunsOncePerPluginInstance() throws Exception {
+        TestPlugin plugin = new TestPlugin("Lazy");
+        PluginManager manager = new PluginManager(List.of(new FixedLoader("loader", 0, List.of(plugin))));
+
+        // 注册时不初始化
+        assertEquals(0, plugin.initializeCount);
+        assertFalse(manager.isPluginActivated(plugin));
+
+        // 每次打开插件（包括关闭标签页后重新打开）都会调用 activatePlugin
+        for (int i = 0; i < 5; i++) {
+            manager.activatePlugin(plugin);
+        }
+        assertEquals(1, plugin.initializeCount);
+        assertTrue(manager.isPluginActivated(plugin));
+
+        // 并发打开同一个插件也只初始化一次
+        TestPlugin concurrent = new TestPlugin("Concurrent");
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> manager.activatePlugin(concurrent));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, concurrent.initializeCount);
+
+        // 按实例而不是名称区分，同名的另一个实例单独初始化
+        TestPlugin sameName = new TestPlugin("Lazy");
+        manager.activatePlugin(sameName);
+        assertEquals(1, sameName.initializeCount);
+        assertEquals(1, plugin.initializeCount);
+    }
+
+    @Test
+    void testFailedInitializeIsRetriedOnNextActivation() {
+        TestPlugin flaky = new TestPlugin("Flaky") {
+            @Override
+            public void initialize() {
+                super.initialize();
+                if (initializeCount == 1) {
+                    throw new IllegalStateException("first attempt fails");
+                }
+            }
+        };
+        PluginManager manager = new PluginManager(List.of());
+
+        assertThrows(PluginException.class, () -> manager.activatePlugin(flaky));
+        assertFalse(manager.isPluginActivated(flaky));
+
+        manager.activatePlugin(flaky);
+        manager.activatePlugin(flaky);
+        assertEquals(2, flaky.initializeCount);
+        assertTrue(manager.isPluginActivated(flaky));
+    }
+
+    /**
+     * 返回固定插件列表的加载器，可以延迟完成
+     */
+    private static class FixedLoader implements PluginLoader {
+        private final String name;
+        private final long delayMillis;
+        private final List<Plugin> plugins;
+
+        FixedLoader(String name, long delayMillis, List<Plugin> plugins) {
+            this.name = name;
+            this.delayMillis = delayMillis;
+            this.plugins = plugins;
+        }
+
+        @Override
+        public List<Plugin> loadPlugins() {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return plugins;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return "测试用加载器";
+        }
+    }
+
+    static class TestPlugin implements Plugin {
+        private final String name;
+        int initializeCount;
+
+        TestPlugin(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Test Plugin";
+        }
+
+        @Override
+        public String getAuthor() {
+            return "Test Author";
+        }
+
+        @Override
+        public String getContent() {
+            return "";
+        }
+
+        @Override
+        public void initialize() {
+            initializeCount++;
+        }
+
+        @Override
+        public void setContent(String content) {
+            // 测试用，无需实现
+        }
+
+        @Override
+        public void destroy() {
+            // 测试用，无需实现
+        }
+
+        @Override
+        public Node getPluginNode() {
+            return null;
+        }
+    }
+
+    /**
+     * 与 {@link TestPlugin} 同名的另一个实现
+     */
+    static class AlternativePlugin extends TestPlugin {
+        AlternativePlugin(String name) {
+            super(name);
+        }
+    }
+}
@@ -8,9 +8,16 @@ import org.junit.jupiter.api.Test;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,12 +25,14 @@ class PluginUsageAnalyzerTest {
     private PluginUsageAnalyzer analyzer;
     private TestPlugin testPlugin;
     private static final Path USAGE_DATA_PATH = Paths.get(System.getProperty("user.dir"), "config", "plugin-usage.json");
+    private static final Path USAGE_EVENTS_PATH = Paths.get(System.getProperty("user.dir"), "config", "plugin-usage-events.jsonl");
 
     @BeforeEach
     void setUp() {
         // 确保测试前删除已存在的使用数据文件
         try {
             Files.deleteIfExists(USAGE_DATA_PATH);
+            Files.deleteIfExists(USAGE_EVENTS_PATH);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -94,15 +103,116 @@ class PluginUsageAnalyzerTest {
         // 测试数据持久化
         analyzer.recordPluginStart(testPlugin);
         analyzer.recordPluginStop(testPlugin);
+        analyzer.flush();
 
-        // 验证数据文件是否被创建
-        assertTrue(Files.exists(USAGE_DATA_PATH));
+        // 验证事件已追加到日志
+        assertTrue(Files.exists(USAGE_EVENTS_PATH));
 
-        // 创建新的分析器实例，验证数据是否被正确加载
-        PluginUsageAnalyzer newAnalyzer = PluginUsageAnalyzer.getInstance();
+        // 创建新的分析器实例，验证快照加日志中的事件是否被正确加载
+        PluginUsageAnalyzer newAnalyzer = new PluginUsageAnalyzer(USAGE_DATA_PATH, USAGE_EVENTS_PATH);
         Optional<PluginUsageData> usageData = newAnalyzer.getPluginUsageData(testPlugin.getName());
         assertTrue(usageData.isPresent());
         assertEquals(1, usageData.get().getUsageCount());
+
+        // 合并后快照包含全部数据，日志被清空
+        analyzer.compact();
+        assertTrue(Files.exists(USAGE_DATA_PATH));
+        assertFalse(Files.exists(USAGE_EVENTS_PATH));
+        newAnalyzer = new PluginUsageAnalyzer(USAGE_DATA_PATH, USAGE_EVENTS_PATH);
+        assertEquals(1, newAnalyzer.getPluginUsageData(testPlugin.getName()).get().getUsageCount());
+    }
+
+    @Test
+    void testReplaySkipsEventsAlreadyInSnapshot() {
+        // 快照之后的事件只从日志重放一次
+        analyzer.recordPluginStart(testPlugin);
+        analyzer.compact();
+        analyzer.recordPluginStart(testPlugin);
+        analyzer.flush();
+
+        PluginUsageAnalyzer newAnalyzer = new PluginUsageAnalyzer(USAGE_DATA_PATH, USAGE_EVENTS_PATH);
+        assertEquals(2, newAnalyzer.getPluginUsageData(testPlugin.getName()).get().getUsageCount());
+    }
+
+    @Test
+    void testLegacySnapshotIsLoaded() throws Exception {
+        // 兼容旧版本直接保存的统计数组
+        Files.createDirectories(USAGE_DATA_PATH.getParent());
+        Files.deleteIfExists(USAGE_EVENTS_PATH);
+        Files.writeString(USAGE_DATA_PATH,
+            "[{\"pluginName\":\"Legacy\",\"usageCount\":3,\"totalUsageDuration\":60.0}]");
+
+        PluginUsageAnalyzer newAnalyzer = new PluginUsageAnalyzer(USAGE_DATA_PATH, USAGE_EVENTS_PATH);
+        assertEquals(3, newAnalyzer.getPluginUsageData("Legacy").get().getUsageCount());
+    }
+
+    @Test
+    void testTimeWindowedUsage() throws InterruptedException {
+        // 按时间窗口查询使用情况
+        analyzer.recordPluginStart(testPlugin);
+        Thread.sleep(10);
+        analyzer.recordPluginStop(testPlugin);
+        analyzer.recordPluginStart(testPlugin);
+
+        List<PluginUsageReport> weekly = analyzer.generateUsageReport(Duration.ofDays(7));
+        assertEquals(1, weekly.size());
+        assertEquals(2, weekly.get(0).usageCount());
+
+        Map<LocalDateTime, Long> hourly = analyzer.getHourlyUsage(testPlugin.getName(), Duration.ofDays(7));
+        assertEquals(2L, hourly.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNoUpdates() throws Exception {
+        // 多个线程同时记录，计数不丢失，快照中的总数与按小时统计一致
+        int threads = 8;
+        int perThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < perThread; j++) {
+                    analyzer.recordPluginStart(testPlugin);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        while (futures.stream().anyMatch(future -> !future.isDone())) {
+            analyzer.getPluginUsageData(testPlugin.getName()).ifPresent(data -> {
+                PluginUsageData snapshot = data.snapshot();
+                long hourlyTotal = snapshot.getHourlyUsageCounts().values().stream().mapToLong(Long::longValue).sum();
+                assertEquals(snapshot.getUsageCount(), hourlyTotal);
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals((long) threads * perThread,
+            analyzer.getPluginUsageData(testPlugin.getName()).get().getUsageCount());
+    }
+
+    @Test
+    void testFlushWithoutChangesDoesNotWrite() throws Exception {
+        // 没有变更时写回不产生文件
+        analyzer.flush();
+        Files.deleteIfExists(USAGE_DATA_PATH);
+        Files.deleteIfExists(USAGE_EVENTS_PATH);
+        analyzer.flush();
+        assertFalse(Files.exists(USAGE_DATA_PATH));
+        assertFalse(Files.exists(USAGE_EVENTS_PATH));
+
+        // 合并完成后不残留临时文件
+        analyzer.recordPluginStart(testPlugin);
+        analyzer.flush();
+        assertTrue(Files.exists(USAGE_EVENTS_PATH));
+        analyzer.compact();
+        assertTrue(Files.exists(USAGE_DATA_PATH));
+        assertFalse(Files.exists(USAGE_DATA_PATH.resolveSibling("plugin-usage.json.tmp")));
     }
 
     // 测试用的插件实现类
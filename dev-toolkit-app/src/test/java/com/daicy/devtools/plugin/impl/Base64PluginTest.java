@@ -1,5 +1,6 @@
 package com.daicy.devtools.plugin.impl;
 
+import com.daicy.devtools.core.base64.Base64Variant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -41,6 +42,13 @@ public class Base64PluginTest {
         assertEquals(expected, decoded);
     }
 
+    @Test
+    void testDecodeBase64Fast() {
+        assertEquals("Hello, World!", plugin.decodeBase64Fast("SGVsbG8s\r\nIFdvcmxkIQ==", Base64Variant.BASIC));
+        assertTrue(plugin.decodeBase64Fast("AAECAw==", Base64Variant.BASIC).startsWith("[二进制数据，4 字节]"));
+        assertThrows(RuntimeException.class, () -> plugin.decodeBase64Fast("Invalid Base64!@#", Base64Variant.BASIC));
+    }
+
     @Test
     void testDecodeInvalidBase64() {
         String invalidInput = "Invalid Base64!@#";
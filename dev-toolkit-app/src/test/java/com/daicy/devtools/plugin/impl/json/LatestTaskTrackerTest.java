@@ -0,0 +1,89 @@
+package com.daicy.devtools.plugin.impl.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatestTaskTrackerTest {
+    private String output = "";
+
+    @Test
+    void testStaleResultDiscardedWhenInputChanges() throws Exception {
+        LatestTaskTracker<FutureTask<String>> tracker = new LatestTaskTracker<>();
+        FutureTask<String> task = new FutureTask<>(() -> "{\"old\":1}");
+        tracker.submit(task);
+
+        // 任务已经算出结果，但输入随后发生了变化
+        task.run();
+        tracker.cancel();
+        apply(tracker, task);
+
+        assertEquals("", output);
+        assertFalse(tracker.isRunning());
+    }
+
+    @Test
+    void testNewerTaskSupersedesRunningTask() throws Exception {
+        LatestTaskTracker<FutureTask<String>> tracker = new LatestTaskTracker<>();
+        CountDownLatch started = new CountDownLatch(1);
+        FutureTask<String> slow = new FutureTask<>(() -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return "slow";
+        });
+        FutureTask<String> fast = new FutureTask<>(() -> "fast");
+        Thread worker = new Thread(slow);
+        tracker.submit(slow);
+        worker.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        tracker.submit(fast);
+        fast.run();
+
+        // 旧任务被取消并中断，结束通知不会覆盖输出
+        worker.join(5_000);
+        assertFalse(worker.isAlive());
+        assertTrue(slow.isCancelled());
+        apply(tracker, slow);
+        assertEquals("", output);
+
+        apply(tracker, fast);
+        assertEquals("fast", output);
+        // 同一个任务的结束通知只处理一次
+        assertFalse(tracker.complete(fast));
+    }
+
+    @Test
+    void testCancelledTaskDoesNotOverwriteOutput() throws Exception {
+        LatestTaskTracker<FutureTask<String>> tracker = new LatestTaskTracker<>();
+        FutureTask<String> first = new FutureTask<>(() -> "first");
+        tracker.submit(first);
+        first.run();
+        apply(tracker, first);
+        assertEquals("first", output);
+
+        FutureTask<String> cancelled = new FutureTask<>(() -> "cancelled");
+        tracker.submit(cancelled);
+        assertTrue(tracker.isRunning());
+        assertTrue(tracker.cancel());
+        assertFalse(tracker.cancel());
+        cancelled.run();
+
+        assertTrue(cancelled.isCancelled());
+        assertFalse(tracker.complete(cancelled));
+        assertEquals("first", output);
+    }
+
+    /**
+     * 与插件中的 setOnSucceeded 相同：只有最新任务的结果写入输出
+     */
+    private void apply(LatestTaskTracker<FutureTask<String>> tracker, FutureTask<String> task) throws Exception {
+        if (tracker.complete(task)) {
+            output = task.get();
+        }
+    }
+}
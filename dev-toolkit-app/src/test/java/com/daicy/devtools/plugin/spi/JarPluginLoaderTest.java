@@ -0,0 +1,233 @@
+package com.daicy.devtools.plugin.spi;
+
+import com.daicy.devtools.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JarPluginLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoadFromServiceFileSkipsBrokenEntries() throws IOException {
+        Path jar = tempDir.resolve("indexed.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            writeEntry(out, JarPluginLoader.SERVICE_FILE,
+                "# 插件列表\n" + IndexedPlugin.class.getName() + "\ncom.example.MissingPlugin\n" + String.class.getName() + "\n");
+            // 索引存在时不会扫描这个损坏的类
+            writeEntry(out, "com/example/Broken.class", "not a class");
+        }
+
+        List<Plugin> plugins = JarPluginLoader.getInstance().loadPluginsFromJar(jar.toString());
+        assertEquals(1, plugins.size());
+        assertEquals("Indexed Plugin", plugins.get(0).getName());
+    }
+
+    @Test
+    void testLoadFromManifestAttribute() throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue(JarPluginLoader.MANIFEST_ATTRIBUTE, IndexedPlugin.class.getName());
+        Path jar = tempDir.resolve("manifest.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar), manifest)) {
+            writeEntry(out, "readme.txt", "no classes");
+        }
+
+        List<Plugin> plugins = JarPluginLoader.getInstance().loadPluginsFromJar(jar.toString());
+        assertEquals(1, plugins.size());
+    }
+
+    @Test
+    void testFallbackScanIsolatesBadClasses() throws IOException {
+        Path jar = tempDir.resolve("scan.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            writeEntry(out, "com/example/Broken.class", "not a class");
+            writeEntry(out, "com/example/Other.class", "also not a class");
+        }
+
+        List<Plugin> plugins = assertDoesNotThrow(() -> JarPluginLoader.getInstance().loadPluginsFromJar(jar.toString()));
+        assertTrue(plugins.isEmpty());
+    }
+
+    @Test
+    void testUnchangedJarUsesDiscoveryCache() throws IOException {
+        Path jar = tempDir.resolve("cached.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            writeEntry(out, JarPluginLoader.SERVICE_FILE, IndexedPlugin.class.getName());
+        }
+        Path cacheFile = tempDir.resolve(PluginDiscoveryCache.CACHE_FILE_NAME);
+
+        List<Plugin> scanned = new JarPluginLoader(tempDir, new PluginDiscoveryCache(cacheFile)).loadPlugins();
+        assertEquals(1, scanned.size());
+        assertInstanceOf(IndexedPlugin.class, scanned.get(0));
+        assertTrue(Files.exists(cacheFile));
+
+        // 新的加载器从磁盘读取缓存，只创建延迟插件
+        List<Plugin> cached = new JarPluginLoader(tempDir, new PluginDiscoveryCache(cacheFile)).loadPlugins();
+        assertEquals(1, cached.size());
+        LazyPlugin lazyPlugin = assertInstanceOf(LazyPlugin.class, cached.get(0));
+        assertEquals("Indexed Plugin", lazyPlugin.getName());
+        assertEquals("Test Author", lazyPlugin.getAuthor());
+        assertFalse(lazyPlugin.isInstantiated());
+        assertInstanceOf(IndexedPlugin.class, lazyPlugin.getDelegate());
+        assertTrue(lazyPlugin.isInstantiated());
+
+        // jar包变化后重新扫描
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 10_000));
+        List<Plugin> rescanned = new JarPluginLoader(tempDir, new PluginDiscoveryCache(cacheFile)).loadPlugins();
+        assertInstanceOf(IndexedPlugin.class, rescanned.get(0));
+    }
+
+    @Test
+    void testReloadReusesClassLoaderUntilJarChanges() throws IOException {
+        Path jar = tempDir.resolve("reload.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            writeEntry(out, JarPluginLoader.SERVICE_FILE, IndexedPlugin.class.getName());
+            writeEntry(out, "plugin.txt", "resource");
+        }
+        JarPluginLoader loader = new JarPluginLoader(tempDir,
+            new PluginDiscoveryCache(tempDir.resolve(PluginDiscoveryCache.CACHE_FILE_NAME)));
+        loader.loadPlugins();
+
+        // 从插件市场安装后会重新加载全部插件，未变化的jar包复用同一个类加载器
+        LazyPlugin first = assertInstanceOf(LazyPlugin.class, loader.loadPlugins().get(0));
+        LazyPlugin second = assertInstanceOf(LazyPlugin.class, loader.loadPlugins().get(0));
+        ClassLoader classLoader = first.getClassLoader();
+        assertSame(classLoader, second.getClassLoader());
+        assertNotNull(classLoader.getResource("plugin.txt"));
+
+        // jar包变化后重新扫描，原来的类加载器被关闭
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 10_000));
+        loader.loadPlugins();
+        assertNull(classLoader.getResource("plugin.txt"));
+        LazyPlugin rescanned = assertInstanceOf(LazyPlugin.class, loader.loadPlugins().get(0));
+        assertNotSame(classLoader, rescanned.getClassLoader());
+        assertNotNull(rescanned.getClassLoader().getResource("plugin.txt"));
+
+        // jar包被删除后关闭其类加载器
+        Files.delete(jar);
+        assertTrue(loader.loadPlugins().isEmpty());
+        assertNull(rescanned.getClassLoader().getResource("plugin.txt"));
+    }
+
+    @Test
+    void testParallelDiscoveryKeepsJarOrder() throws Exception {
+        // 两个jar提供同名插件，文件名靠前的jar排在前面，注册时以它为准
+        writeServiceJar("b-plugins.jar", IndexedPlugin.class);
+        writeServiceJar("a-plugins.jar", ConflictingPlugin.class);
+        Path cacheFile = tempDir.resolve(PluginDiscoveryCache.CACHE_FILE_NAME);
+
+        // 第一次扫描jar，之后使用发现缓存，两种路径的顺序都应稳定
+        for (int run = 0; run < 3; run++) {
+            List<Runnable> tasks = new ArrayList<>();
+            List<PluginLoadTiming> timings = Collections.synchronizedList(new ArrayList<>());
+            CompletableFuture<List<Plugin>> future = new JarPluginLoader(tempDir, new PluginDiscoveryCache(cacheFile))
+                .loadPluginsAsync(tasks::add, timings::add);
+            // 按提交的逆序执行，模拟后提交的jar先扫描完
+            assertEquals(2, tasks.size());
+            for (int i = tasks.size() - 1; i >= 0; i--) {
+                tasks.get(i).run();
+            }
+            List<Plugin> plugins = future.get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of(ConflictingPlugin.class.getName(), IndexedPlugin.class.getName()),
+                plugins.stream().map(JarPluginLoaderTest::implementationClassName).toList(), "run " + run);
+            assertEquals(List.of("Indexed Plugin", "Indexed Plugin"), plugins.stream().map(Plugin::getName).toList());
+            assertEquals(3, timings.size());
+            for (String source : List.of("a-plugins.jar", "b-plugins.jar")) {
+                PluginLoadTiming timing = timings.stream().filter(t -> t.source().equals(source)).findFirst().orElseThrow();
+                assertEquals(1, timing.pluginCount());
+                assertFalse(timing.failed());
+            }
+            PluginLoadTiming total = timings.stream()
+                .filter(t -> t.source().equals(t.loader())).findFirst().orElseThrow();
+            assertEquals(2, total.pluginCount());
+        }
+    }
+
+    private void writeServiceJar(String name, Class<? extends Plugin> pluginClass) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(tempDir.resolve(name)))) {
+            writeEntry(out, JarPluginLoader.SERVICE_FILE, pluginClass.getName());
+        }
+    }
+
+    private static String implementationClassName(Plugin plugin) {
+        return plugin instanceof LazyPlugin lazyPlugin ? lazyPlugin.getPluginClassName() : plugin.getClass().getName();
+    }
+
+    private static void writeEntry(JarOutputStream out, String name, String content) throws IOException {
+        out.putNextEntry(new JarEntry(name));
+        out.write(content.getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+    }
+
+    /**
+     * 与 {@link IndexedPlugin} 同名的另一个实现
+     */
+    public static class ConflictingPlugin extends IndexedPlugin {
+    }
+
+    public static class IndexedPlugin implements Plugin {
+        @Override
+        public String getName() {
+            return "Indexed Plugin";
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Test Plugin";
+        }
+
+        @Override
+        public String getAuthor() {
+            return "Test Author";
+        }
+
+        @Override
+        public String getContent() {
+            return "";
+        }
+
+        @Override
+        public void initialize() {
+            // 测试用，无需实现
+        }
+
+        @Override
+        public void setContent(String content) {
+            // 测试用，无需实现
+        }
+
+        @Override
+        public void destroy() {
+            // 测试用，无需实现
+        }
+
+        @Override
+        public javafx.scene.Node getPluginNode() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.daicy.devtools.benchmarks;
+
+import com.daicy.devtools.core.base64.Base64Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base64编码和解码
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base64Benchmark {
+    @Param
+    private InputSize size;
+
+    private String text;
+    private String encoded;
+    private Base64Service base64Service;
+
+    @Setup
+    public void setUp() {
+        base64Service = new Base64Service();
+        text = BenchmarkData.json(size);
+        encoded = base64Service.encode(text);
+    }
+
+    @Benchmark
+    public String encode() {
+        return base64Service.encode(text);
+    }
+
+    @Benchmark
+    public String decode() {
+        return base64Service.decode(encoded);
+    }
+}
@@ -0,0 +1,87 @@
+package com.daicy.devtools.benchmarks;
+
+import com.daicy.devtools.core.base64.Base64Codec;
+import com.daicy.devtools.core.base64.Base64Service;
+import com.daicy.devtools.core.base64.Base64Variant;
+import com.daicy.devtools.core.base64.DecodedContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按行折断的Base64解码：JDK MIME解码器与查表解码器对比
+ * jdk* 为插件原来的做法（解码为字节数组再构造字符串），codec* 只比较解码本身，
+ * service* 包含缓冲区池、字符集检测和构造字符串的完整路径
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base64CodecBenchmark {
+    @Param
+    private InputSize size;
+
+    private String encoded;
+    private byte[] encodedBytes;
+    private ByteBuffer source;
+    private ByteBuffer target;
+    private Base64Codec codec;
+    private Base64Service base64Service;
+
+    @Setup
+    public void setUp() {
+        byte[] data = BenchmarkData.json(size).getBytes(StandardCharsets.UTF_8);
+        encoded = Base64.getMimeEncoder().encodeToString(data);
+        encodedBytes = encoded.getBytes(StandardCharsets.US_ASCII);
+        source = ByteBuffer.allocateDirect(encodedBytes.length);
+        source.put(encodedBytes).flip();
+        target = ByteBuffer.allocateDirect(Base64Codec.maxDecodedLength(encodedBytes.length));
+        codec = Base64Codec.of(Base64Variant.MIME);
+        base64Service = new Base64Service();
+    }
+
+    @Benchmark
+    public byte[] jdkDecodeBytes() {
+        return Base64.getMimeDecoder().decode(encodedBytes);
+    }
+
+    @Benchmark
+    public String jdkDecodeString() {
+        return new String(Base64.getMimeDecoder().decode(encoded), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int codecDecode() {
+        source.rewind();
+        target.clear();
+        return codec.decode(source, target);
+    }
+
+    @Benchmark
+    public int codecDecodeParallel() {
+        source.rewind();
+        target.clear();
+        return codec.decodeParallel(source, target, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public DecodedContent serviceDecodeFast() {
+        return base64Service.decodeFast(encoded, Base64Variant.MIME);
+    }
+}
@@ -0,0 +1,120 @@
+package com.daicy.devtools.benchmarks;
+
+import java.util.Random;
+
+/**
+ * 生成基准测试输入
+ * 使用固定种子，每次运行生成完全相同的内容，结果可以跨版本比较
+ */
+public final class BenchmarkData {
+    private static final long SEED = 20240101L;
+    private static final String[] WORDS = {
+        "alpha", "beta", "gamma", "delta", "开发", "工具", "插件", "json", "value", "http", "markdown", "编码"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成由用户记录组成的JSON数组，包含字符串、数字、布尔值、嵌套对象和数组
+     */
+    public static String json(InputSize size) {
+        Random random = new Random(SEED);
+        StringBuilder json = new StringBuilder(size.bytes() + 256);
+        json.append('[');
+        for (int id = 0; json.length() < size.bytes(); id++) {
+            if (id > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id)
+                .append(",\"name\":\"").append(word(random)).append('-').append(id).append('"')
+                .append(",\"email\":\"user").append(id).append("@example.com\"")
+                .append(",\"active\":").append(random.nextBoolean())
+                .append(",\"score\":").append(random.nextInt(10000) / 100.0)
+                .append(",\"tags\":[\"").append(word(random)).append("\",\"").append(word(random)).append("\"]")
+                .append(",\"address\":{\"city\":\"").append(word(random)).append("\",\"zip\":\"")
+                .append(100000 + random.nextInt(900000)).append("\"},\"note\":null}");
+        }
+        json.append(']');
+        return json.toString();
+    }
+
+    /**
+     * 生成需要自动修复的JSON：单引号、缺少的结尾括号
+     */
+    public static String brokenJson(InputSize size) {
+        String json = json(size).replace('"', '\'');
+        return json.substring(0, json.length() - 1);
+    }
+
+    /**
+     * 生成字段数量随规模增长的单个JSON对象，用于生成Java Bean
+     */
+    public static String beanJson(InputSize size) {
+        Random random = new Random(SEED);
+        StringBuilder json = new StringBuilder(size.bytes() + 256);
+        json.append('{');
+        for (int i = 0; json.length() < size.bytes(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"field_").append(i).append("\":");
+            switch (i % 6) {
+                case 0 -> json.append('"').append(word(random)).append('"');
+                case 1 -> json.append(random.nextInt(1000));
+                case 2 -> json.append(random.nextDouble());
+                case 3 -> json.append(random.nextBoolean());
+                case 4 -> json.append("{\"inner_id\":").append(i).append(",\"inner_name\":\"").append(word(random)).append("\"}");
+                default -> json.append("[").append(i).append(',').append(i + 1).append(']');
+            }
+        }
+        json.append('}');
+        return json.toString();
+    }
+
+    public static String xml(InputSize size) {
+        Random random = new Random(SEED);
+        StringBuilder xml = new StringBuilder(size.bytes() + 256);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><items>");
+        for (int id = 0; xml.length() < size.bytes(); id++) {
+            xml.append("<item id=\"").append(id).append("\"><name>").append(word(random))
+                .append("</name><price>").append(random.nextInt(10000) / 100.0)
+                .append("</price><tags><tag>").append(word(random)).append("</tag><tag>")
+                .append(word(random)).append("</tag></tags></item>");
+        }
+        xml.append("</items>");
+        return xml.toString();
+    }
+
+    public static String html(InputSize size) {
+        Random random = new Random(SEED);
+        StringBuilder html = new StringBuilder(size.bytes() + 256);
+        html.append("<!DOCTYPE html><html><head><title>report</title></head><body><table>");
+        for (int row = 0; html.length() < size.bytes(); row++) {
+            html.append("<tr class=\"row-").append(row % 2).append("\"><td>").append(row)
+                .append("</td><td><a href=\"/items/").append(row).append("\">").append(word(random))
+                .append("</a></td><td>").append(random.nextInt(1000)).append("</td></tr>");
+        }
+        html.append("</table></body></html>");
+        return html.toString();
+    }
+
+    public static String markdown(InputSize size) {
+        Random random = new Random(SEED);
+        StringBuilder markdown = new StringBuilder(size.bytes() + 256);
+        for (int section = 0; markdown.length() < size.bytes(); section++) {
+            markdown.append("## 第").append(section).append("节 ").append(word(random)).append("\n\n")
+                .append("这是一段包含 **粗体**、*斜体*、`代码` 和 [链接](https://example.com/")
+                .append(section).append(") 的文字，").append(word(random)).append(' ').append(word(random)).append("。\n\n")
+                .append("- ").append(word(random)).append("\n- ").append(word(random))
+                .append("\n  1. ").append(word(random)).append("\n\n")
+                .append("> 引用 ").append(word(random)).append("\n\n")
+                .append("```java\nint value = ").append(random.nextInt(1000)).append(";\n```\n\n");
+        }
+        return markdown.toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
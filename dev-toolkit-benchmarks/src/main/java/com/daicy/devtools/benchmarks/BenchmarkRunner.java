@@ -0,0 +1,42 @@
+package com.daicy.devtools.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 基准测试入口
+ * 接受所有JMH命令行参数；未指定时运行本模块的全部基准，并把结果以JSON格式写入
+ * jmh-results/result-时间戳.json，便于跨版本比较。例如：
+ * <pre>
+ * java -jar target/benchmarks.jar                       # 全部
+ * java -jar target/benchmarks.jar JsonBenchmark -p size=SMALL,MEDIUM
+ * java -jar target/benchmarks.jar -rff baseline.json     # 指定结果文件
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + "\\..*Benchmark");
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Files.createDirectories(Paths.get("jmh-results"));
+            options.result("jmh-results/result-" + timestamp + ".json");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,24 @@
+package com.daicy.devtools.benchmarks;
+
+/**
+ * 基准测试输入规模
+ * 生成的文本长度不小于对应的字节数
+ */
+public enum InputSize {
+    /** 约1KB，典型的接口响应或配置片段 */
+    SMALL(1024),
+    /** 约100KB */
+    MEDIUM(100 * 1024),
+    /** 约10MB，接近日志导出等大文档 */
+    HUGE(10 * 1024 * 1024);
+
+    private final int bytes;
+
+    InputSize(int bytes) {
+        this.bytes = bytes;
+    }
+
+    public int bytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,61 @@
+package com.daicy.devtools.benchmarks;
+
+import com.daicy.devtools.core.json.JsonFixResult;
+import com.daicy.devtools.core.json.JsonFormatResult;
+import com.daicy.devtools.core.json.JsonService;
+import com.daicy.devtools.plugin.JsonHighlighting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.fxmisc.richtext.model.StyleSpans;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON格式化、自动修复和语法高亮
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+    @Param
+    private InputSize size;
+
+    private String json;
+    private String brokenJson;
+    private JsonService jsonService;
+
+    @Setup
+    public void setUp() {
+        json = BenchmarkData.json(size);
+        brokenJson = BenchmarkData.brokenJson(size);
+        jsonService = new JsonService();
+    }
+
+    @Benchmark
+    public JsonFormatResult formatJson() {
+        return jsonService.fixAndFormat(json);
+    }
+
+    @Benchmark
+    public JsonFixResult autoFix() {
+        return jsonService.fix(brokenJson);
+    }
+
+    @Benchmark
+    public StyleSpans<Collection<String>> highlight() {
+        return JsonHighlighting.highlight(json);
+    }
+}
@@ -0,0 +1,45 @@
+package com.daicy.devtools.benchmarks;
+
+import com.daicy.devtools.core.bean.JavaBeanGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 由JSON生成Java Bean源码
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonToBeanBenchmark {
+    @Param
+    private InputSize size;
+
+    private String json;
+    private JavaBeanGenerator generator;
+
+    @Setup
+    public void setUp() {
+        json = BenchmarkData.beanJson(size);
+        generator = new JavaBeanGenerator();
+    }
+
+    @Benchmark
+    public String generateBean() throws IOException {
+        return generator.generate(json, "com.example", "MyBean");
+    }
+}
@@ -0,0 +1,44 @@
+package com.daicy.devtools.benchmarks;
+
+import com.daicy.devtools.core.markdown.MarkdownRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Markdown解析和HTML渲染
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarkdownBenchmark {
+    @Param
+    private InputSize size;
+
+    private String markdown;
+    private MarkdownRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        markdown = BenchmarkData.markdown(size);
+        renderer = new MarkdownRenderer();
+    }
+
+    @Benchmark
+    public String render() {
+        return renderer.render(markdown);
+    }
+}
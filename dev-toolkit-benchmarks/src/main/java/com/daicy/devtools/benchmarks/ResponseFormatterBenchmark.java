@@ -0,0 +1,53 @@
+package com.daicy.devtools.benchmarks;
+
+import com.daicy.devtools.core.http.ResponseFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP响应体格式化（JSON/XML/HTML）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseFormatterBenchmark {
+    @Param
+    private InputSize size;
+
+    @Param({"application/json", "application/xml", "text/html"})
+    private String contentType;
+
+    private String content;
+    private ResponseFormatter formatter;
+
+    @Setup
+    public void setUp() {
+        formatter = new ResponseFormatter();
+        if (contentType.contains("json")) {
+            content = BenchmarkData.json(size);
+        } else if (contentType.contains("xml")) {
+            content = BenchmarkData.xml(size);
+        } else {
+            content = BenchmarkData.html(size);
+        }
+    }
+
+    @Benchmark
+    public String format() {
+        return formatter.format(content, contentType);
+    }
+}
@@ -0,0 +1,45 @@
+package com.daicy.devtools.cli;
+
+import com.daicy.devtools.core.base64.Base64Variant;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 批处理参数
+ *
+ * @param transform 转换
+ * @param inputs 输入的文件、目录或glob模式
+ * @param outputDir 输出目录，输出文件保持输入的相对路径
+ * @param parallelism 工作线程数
+ * @param maxInFlightBytes 同时处理中的文件总大小上限（字节）
+ * @param packageName JSON转JavaBean时使用的包名
+ * @param base64Variant Base64编解码使用的变体
+ */
+public record BatchOptions(
+    Transform transform,
+    List<String> inputs,
+    Path outputDir,
+    int parallelism,
+    long maxInFlightBytes,
+    String packageName,
+    Base64Variant base64Variant
+) {
+    public static final Path DEFAULT_OUTPUT_DIR = Path.of("batch-output");
+    public static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 256L * 1024 * 1024;
+
+    public BatchOptions {
+        inputs = List.copyOf(inputs);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("线程数必须大于0: " + parallelism);
+        }
+        if (maxInFlightBytes < 1) {
+            throw new IllegalArgumentException("内存上限必须大于0: " + maxInFlightBytes);
+        }
+    }
+
+    public static BatchOptions defaults(Transform transform, List<String> inputs) {
+        return new BatchOptions(transform, inputs, DEFAULT_OUTPUT_DIR,
+            Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_IN_FLIGHT_BYTES, "", Base64Variant.BASIC);
+    }
+}
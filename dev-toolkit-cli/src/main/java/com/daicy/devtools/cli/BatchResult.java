@@ -0,0 +1,46 @@
+package com.daicy.devtools.cli;
+
+import java.util.List;
+
+/**
+ * 批处理结果
+ *
+ * @param files 处理的文件数（含失败）
+ * @param failures 失败的文件及原因
+ * @param bytesIn 读取的字节数
+ * @param bytesOut 写出的字节数
+ * @param elapsedNanos 总耗时（纳秒）
+ */
+public record BatchResult(
+    int files,
+    List<String> failures,
+    long bytesIn,
+    long bytesOut,
+    long elapsedNanos
+) {
+    public BatchResult {
+        failures = List.copyOf(failures);
+    }
+
+    public int succeeded() {
+        return files - failures.size();
+    }
+
+    public double filesPerSecond() {
+        return elapsedNanos == 0 ? 0 : files * 1e9 / elapsedNanos;
+    }
+
+    public double megabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytesIn / (1024.0 * 1024.0) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * 生成一行吞吐量统计
+     */
+    public String summary() {
+        return String.format("处理 %d 个文件（成功 %d，失败 %d），读取 %.2f MB，写出 %.2f MB，耗时 %.2f 秒，%.1f 文件/秒，%.2f MB/秒",
+            files, succeeded(), failures.size(),
+            bytesIn / (1024.0 * 1024.0), bytesOut / (1024.0 * 1024.0),
+            elapsedNanos / 1e9, filesPerSecond(), megabytesPerSecond());
+    }
+}
@@ -0,0 +1,105 @@
+package com.daicy.devtools.cli;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并行批处理执行器
+ * 文件分发到工作窃取线程池中处理；提交前按文件大小从信号量申请额度（以KB计），
+ * 处理完成后归还，使同时处理中的文件总大小不超过上限，大文件多时提交线程会阻塞等待。
+ * 单个文件失败不影响其他文件，失败时删除不完整的输出文件。
+ */
+public class BatchRunner {
+    private static final int PERMIT_BYTES = 1024;
+
+    private final BatchOptions options;
+
+    public BatchRunner(BatchOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 展开输入参数并处理全部文件
+     *
+     * @return 处理结果
+     * @throws IOException 输入参数展开失败时抛出
+     * @throws InterruptedException 等待过程中被中断
+     */
+    public BatchResult run() throws IOException, InterruptedException {
+        return run(InputCollector.collect(options.inputs(), options.transform()));
+    }
+
+    /**
+     * 处理给定的文件
+     *
+     * @param files 输入文件
+     * @return 处理结果
+     * @throws InterruptedException 等待过程中被中断
+     */
+    public BatchResult run(List<InputFile> files) throws InterruptedException {
+        int budget = (int) Math.min(Integer.MAX_VALUE, Math.max(1, options.maxInFlightBytes() / PERMIT_BYTES));
+        Semaphore inFlight = new Semaphore(budget);
+        CountDownLatch done = new CountDownLatch(files.size());
+        LongAdder bytesIn = new LongAdder();
+        LongAdder bytesOut = new LongAdder();
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(options.parallelism());
+        try {
+            for (InputFile file : files) {
+                // 超过上限的单个文件独占全部额度，仍然可以处理
+                int permits = (int) Math.min(budget, Math.max(1, (file.size() + PERMIT_BYTES - 1) / PERMIT_BYTES));
+                inFlight.acquire(permits);
+                pool.execute(() -> {
+                    try {
+                        long written = process(file);
+                        bytesIn.add(file.size());
+                        bytesOut.add(written);
+                    } catch (Exception e) {
+                        failures.add(file.path() + ": " + e.getMessage());
+                    } finally {
+                        inFlight.release(permits);
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            pool.shutdownNow();
+        }
+        return new BatchResult(files.size(), new ArrayList<>(failures),
+            bytesIn.sum(), bytesOut.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * 转换单个文件
+     *
+     * @return 输出文件的大小
+     */
+    private long process(InputFile file) throws IOException {
+        Path target = options.outputDir().resolve(options.transform().outputPath(file.relative()));
+        if (target.toAbsolutePath().normalize().equals(file.path().toAbsolutePath().normalize())) {
+            throw new IOException("输出文件与输入文件相同，请指定其他输出目录");
+        }
+        Path parent = target.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try {
+            options.transform().apply(file.path(), target, options);
+            return Files.size(target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+}
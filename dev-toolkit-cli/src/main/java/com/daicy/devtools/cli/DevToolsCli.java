@@ -0,0 +1,150 @@
+package com.daicy.devtools.cli;
+
+import com.daicy.devtools.core.base64.Base64Variant;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 命令行入口，不启动JavaFX界面
+ * <pre>
+ * java -jar dev-toolkit-cli.jar batch json-format 'data/**&#47;*.json' -o out -j 8
+ * java -jar dev-toolkit-app.jar batch markdown-html docs --max-in-flight-mb 64
+ * </pre>
+ */
+public class DevToolsCli {
+    public static final String BATCH_COMMAND = "batch";
+
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_FAILURES = 1;
+    private static final int EXIT_USAGE = 2;
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * 执行命令
+     *
+     * @param args 命令行参数，第一个参数为命令名称
+     * @return 进程退出码：0成功，1有文件处理失败，2参数错误
+     */
+    public static int run(String[] args) {
+        if (args.length == 0 || !BATCH_COMMAND.equals(args[0])) {
+            printUsage();
+            return EXIT_USAGE;
+        }
+        BatchOptions options;
+        try {
+            options = parseBatchOptions(List.of(args).subList(1, args.length));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            return EXIT_USAGE;
+        }
+
+        try {
+            BatchResult result = new BatchRunner(options).run();
+            for (String failure : result.failures()) {
+                System.err.println("处理失败: " + failure);
+            }
+            System.out.println(result.summary());
+            return result.failures().isEmpty() ? EXIT_OK : EXIT_FAILURES;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("批处理被中断");
+            return EXIT_FAILURES;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return EXIT_USAGE;
+        } catch (Exception e) {
+            System.err.println("批处理失败: " + e.getMessage());
+            return EXIT_FAILURES;
+        }
+    }
+
+    static BatchOptions parseBatchOptions(List<String> args) {
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException("缺少转换名称");
+        }
+        Transform transform = Transform.fromCommandName(args.get(0));
+        BatchOptions defaults = BatchOptions.defaults(transform, List.of());
+        List<String> inputs = new ArrayList<>();
+        Path outputDir = defaults.outputDir();
+        int parallelism = defaults.parallelism();
+        long maxInFlightBytes = defaults.maxInFlightBytes();
+        String packageName = defaults.packageName();
+        Base64Variant base64Variant = defaults.base64Variant();
+
+        for (int i = 1; i < args.size(); i++) {
+            String arg = args.get(i);
+            switch (arg) {
+                case "-o":
+                case "--output":
+                    outputDir = Path.of(value(args, ++i, arg));
+                    break;
+                case "-j":
+                case "--threads":
+                    parallelism = parseNumber(value(args, ++i, arg), arg);
+                    break;
+                case "--max-in-flight-mb":
+                    maxInFlightBytes = parseNumber(value(args, ++i, arg), arg) * 1024L * 1024L;
+                    break;
+                case "--package":
+                    packageName = value(args, ++i, arg);
+                    break;
+                case "--base64-variant":
+                    base64Variant = parseVariant(value(args, ++i, arg));
+                    break;
+                default:
+                    if (arg.startsWith("-")) {
+                        throw new IllegalArgumentException("未知的选项: " + arg);
+                    }
+                    inputs.add(arg);
+                    break;
+            }
+        }
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("缺少输入文件、目录或glob模式");
+        }
+        return new BatchOptions(transform, inputs, outputDir, parallelism, maxInFlightBytes, packageName,
+            base64Variant);
+    }
+
+    private static String value(List<String> args, int index, String option) {
+        if (index >= args.size()) {
+            throw new IllegalArgumentException("选项缺少参数: " + option);
+        }
+        return args.get(index);
+    }
+
+    private static int parseNumber(String value, String option) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("选项 " + option + " 需要整数参数: " + value);
+        }
+    }
+
+    private static Base64Variant parseVariant(String value) {
+        try {
+            return Base64Variant.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("未知的Base64变体: " + value + "，可选值: basic, mime, url");
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("用法: batch <转换> <文件|目录|glob>... [选项]");
+        System.err.println("转换: " + Transform.commandNames());
+        System.err.println("选项:");
+        System.err.println("  -o, --output <目录>          输出目录，默认 " + BatchOptions.DEFAULT_OUTPUT_DIR);
+        System.err.println("  -j, --threads <数量>         工作线程数，默认为CPU核数");
+        System.err.println("  --max-in-flight-mb <MB>      同时处理中的文件总大小上限，默认 "
+            + BatchOptions.DEFAULT_MAX_IN_FLIGHT_BYTES / (1024 * 1024));
+        System.err.println("  --package <包名>             json-bean 生成代码的包名");
+        System.err.println("  --base64-variant <变体>      base64-encode/decode 使用的变体: basic（默认）, mime, url");
+    }
+}
@@ -0,0 +1,127 @@
+package com.daicy.devtools.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 把命令行中的文件、目录和glob模式展开为输入文件列表
+ * <ul>
+ *     <li>文件：直接处理，输出到输出目录的根</li>
+ *     <li>目录：递归处理其中扩展名符合转换要求的文件，保持相对路径</li>
+ *     <li>glob：从第一个含通配符的路径段之前的目录开始递归匹配，如 {@code data/**}{@code /*.json}</li>
+ * </ul>
+ * 同一个文件被多个参数匹配时只处理一次；
+ * 不同的文件对应同一个输出路径时（如两个目录下的同名文件都直接传入）拒绝处理，避免并行写入时互相覆盖
+ */
+public final class InputCollector {
+    private static final String GLOB_CHARS = "*?[{";
+
+    private InputCollector() {
+    }
+
+    /**
+     * 展开输入参数
+     *
+     * @param inputs 文件、目录或glob模式
+     * @param transform 转换，用于过滤目录中的文件
+     * @return 按参数顺序排列的输入文件，目录内按路径排序
+     * @throws IOException 目录遍历失败或文件不存在时抛出
+     * @throws IllegalArgumentException 多个输入文件对应同一个输出路径时抛出
+     */
+    public static List<InputFile> collect(List<String> inputs, Transform transform) throws IOException {
+        Map<Path, InputFile> files = new LinkedHashMap<>();
+        for (String input : inputs) {
+            for (InputFile file : expand(input, transform)) {
+                files.putIfAbsent(file.path().toAbsolutePath().normalize(), file);
+            }
+        }
+        Map<Path, InputFile> outputs = new HashMap<>();
+        for (InputFile file : files.values()) {
+            Path output = transform.outputPath(file.relative()).normalize();
+            InputFile previous = outputs.putIfAbsent(output, file);
+            if (previous != null) {
+                throw new IllegalArgumentException("输入文件 " + previous.path() + " 和 " + file.path()
+                    + " 会写入同一个输出文件 " + output + "，请分别处理或改为传入所在目录");
+            }
+        }
+        return new ArrayList<>(files.values());
+    }
+
+    private static List<InputFile> expand(String input, Transform transform) throws IOException {
+        int globIndex = indexOfGlob(input);
+        if (globIndex >= 0) {
+            int separator = Math.max(input.lastIndexOf('/', globIndex), input.lastIndexOf('\\', globIndex));
+            Path base = separator >= 0 ? Path.of(input.substring(0, separator + 1)) : Path.of("");
+            String pattern = input.substring(separator + 1);
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+            return walk(base, matcher::matches);
+        }
+
+        Path path = Path.of(input);
+        if (Files.isDirectory(path)) {
+            List<String> extensions = transform.getInputExtensions();
+            return walk(path, relative -> extensions.isEmpty() || hasExtension(relative, extensions));
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchFileException(input);
+        }
+        return List.of(new InputFile(path, path.getFileName(), Files.size(path)));
+    }
+
+    private static List<InputFile> walk(Path base, Predicate<Path> filter) throws IOException {
+        Path root = base.toString().isEmpty() ? Path.of(".") : base;
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> stream = Files.walk(root)) {
+            return stream
+                .filter(Files::isRegularFile)
+                .filter(path -> filter.test(root.relativize(path)))
+                .sorted()
+                .map(path -> new InputFile(path, root.relativize(path), sizeOf(path)))
+                .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int indexOfGlob(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (GLOB_CHARS.indexOf(input.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean hasExtension(Path path, List<String> extensions) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (String extension : extensions) {
+            if (name.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
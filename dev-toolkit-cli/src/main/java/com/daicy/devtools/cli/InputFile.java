@@ -0,0 +1,12 @@
+package com.daicy.devtools.cli;
+
+import java.nio.file.Path;
+
+/**
+ * 待处理的输入文件
+ *
+ * @param path 文件路径
+ * @param relative 相对于输入根目录的路径，决定输出文件的位置
+ * @param size 文件大小（字节）
+ */
+public record InputFile(Path path, Path relative, long size) {}
@@ -0,0 +1,179 @@
+package com.daicy.devtools.cli;
+
+import com.daicy.devtools.core.base64.Base64Service;
+import com.daicy.devtools.core.bean.JavaBeanGenerator;
+import com.daicy.devtools.core.json.JsonService;
+import com.daicy.devtools.core.markdown.MarkdownRenderer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 批处理支持的转换
+ * JSON美化/压缩和Base64编解码逐块读写，内存占用与文件大小无关；
+ * 其余转换需要完整的输入文本。所有转换共享同一组线程安全的核心服务。
+ */
+public enum Transform {
+    JSON_FORMAT("json-format", ".json", List.of(".json")) {
+        @Override
+        void apply(Path source, Path target, BatchOptions options) throws IOException {
+            try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+                 BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                Engines.JSON.format(reader, writer);
+            }
+        }
+    },
+    JSON_COMPACT("json-compact", ".json", List.of(".json")) {
+        @Override
+        void apply(Path source, Path target, BatchOptions options) throws IOException {
+            try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+                 BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                Engines.JSON.compact(reader, writer);
+            }
+        }
+    },
+    JSON_FIX("json-fix", ".json", List.of(".json")) {
+        @Override
+        void apply(Path source, Path target, BatchOptions options) throws IOException {
+            String json = Files.readString(source, StandardCharsets.UTF_8);
+            Files.writeString(target, Engines.JSON.fix(json).text(), StandardCharsets.UTF_8);
+        }
+    },
+    BASE64_ENCODE("base64-encode", ".b64", List.of()) {
+        @Override
+        void apply(Path source, Path target, BatchOptions options) throws IOException {
+            Engines.BASE64.encodeFile(source, target, options.base64Variant(), null);
+        }
+    },
+    BASE64_DECODE("base64-decode", "", List.of(".b64")) {
+        @Override
+        void apply(Path source, Path target, BatchOptions options) throws IOException {
+            Engines.BASE64.decodeFile(source, target, options.base64Variant(), null);
+        }
+    },
+    MARKDOWN_HTML("markdown-html", ".html", List.of(".md", ".markdown")) {
+        @Override
+        void apply(Path source, Path target, BatchOptions options) throws IOException {
+            String markdown = Files.readString(source, StandardCharsets.UTF_8);
+            Files.writeString(target, Engines.MARKDOWN.render(markdown), StandardCharsets.UTF_8);
+        }
+    },
+    JSON_BEAN("json-bean", ".java", List.of(".json")) {
+        @Override
+        void apply(Path source, Path target, BatchOptions options) throws IOException {
+            String json = Files.readString(source, StandardCharsets.UTF_8);
+            String className = target.getFileName().toString().replaceFirst("\\.java$", "");
+            Files.writeString(target, Engines.BEAN.generate(json, options.packageName(), className),
+                StandardCharsets.UTF_8);
+        }
+    };
+
+    private final String commandName;
+    private final String outputExtension;
+    private final List<String> inputExtensions;
+
+    Transform(String commandName, String outputExtension, List<String> inputExtensions) {
+        this.commandName = commandName;
+        this.outputExtension = outputExtension;
+        this.inputExtensions = inputExtensions;
+    }
+
+    /**
+     * 执行转换，输出文件由调用方负责在失败时清理
+     *
+     * @param source 输入文件
+     * @param target 输出文件，所在目录已存在
+     * @param options 批处理参数
+     * @throws IOException 读写失败或输入格式错误时抛出
+     */
+    abstract void apply(Path source, Path target, BatchOptions options) throws IOException;
+
+    public String getCommandName() {
+        return commandName;
+    }
+
+    /**
+     * 扫描目录时只处理这些扩展名的文件，为空表示处理全部文件
+     */
+    public List<String> getInputExtensions() {
+        return inputExtensions;
+    }
+
+    /**
+     * 根据输入文件的相对路径计算输出文件的相对路径
+     * JSON转JavaBean时文件名同时作为类名，转换为大驼峰形式
+     *
+     * @param relative 输入文件相对于输入根目录的路径
+     * @return 输出文件的相对路径
+     */
+    public Path outputPath(Path relative) {
+        String fileName = relative.getFileName().toString();
+        String baseName = this == BASE64_ENCODE ? fileName : stripExtension(fileName);
+        if (this == JSON_BEAN) {
+            baseName = toClassName(baseName);
+        }
+        return relative.resolveSibling(baseName + outputExtension);
+    }
+
+    /**
+     * 按命令名称查找转换
+     *
+     * @param commandName 命令名称，如 json-format
+     * @return 对应的转换
+     * @throws IllegalArgumentException 名称不存在时抛出
+     */
+    public static Transform fromCommandName(String commandName) {
+        for (Transform transform : values()) {
+            if (transform.commandName.equals(commandName.toLowerCase(Locale.ROOT))) {
+                return transform;
+            }
+        }
+        throw new IllegalArgumentException("未知的转换: " + commandName + "，可选值: " + commandNames());
+    }
+
+    public static String commandNames() {
+        return String.join(", ", Arrays.stream(values()).map(Transform::getCommandName).toList());
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static String toClassName(String name) {
+        StringBuilder result = new StringBuilder();
+        boolean nextUpper = true;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isJavaIdentifierPart(c)) {
+                nextUpper = true;
+            } else if (nextUpper) {
+                result.append(Character.toUpperCase(c));
+                nextUpper = false;
+            } else {
+                result.append(c);
+            }
+        }
+        if (result.length() == 0 || !Character.isJavaIdentifierStart(result.charAt(0))) {
+            result.insert(0, '_');
+        }
+        return result.toString();
+    }
+
+    /**
+     * 核心服务都是线程安全的，所有工作线程共享同一组实例
+     */
+    private static final class Engines {
+        static final JsonService JSON = new JsonService();
+        static final Base64Service BASE64 = new Base64Service();
+        static final MarkdownRenderer MARKDOWN = new MarkdownRenderer();
+        static final JavaBeanGenerator BEAN = new JavaBeanGenerator();
+    }
+}
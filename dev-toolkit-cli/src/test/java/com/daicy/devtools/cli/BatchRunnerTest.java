@@ -0,0 +1,138 @@
+package com.daicy.devtools.cli;
+
+import com.daicy.devtools.core.base64.Base64Variant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFormatDirectoryKeepsRelativePaths() throws Exception {
+        Path input = Files.createDirectories(tempDir.resolve("in/sub"));
+        Files.writeString(input.resolve("a.json"), "{\"a\":1}");
+        Files.writeString(input.resolve("b.txt"), "not json");
+        Path output = tempDir.resolve("out");
+
+        BatchResult result = new BatchRunner(options(Transform.JSON_FORMAT, tempDir.resolve("in").toString(), output)).run();
+
+        assertEquals(1, result.files());
+        assertTrue(result.failures().isEmpty());
+        assertEquals("{\n  \"a\" : 1\n}", Files.readString(output.resolve("sub/a.json")));
+        assertFalse(Files.exists(output.resolve("sub/b.txt")));
+    }
+
+    @Test
+    void testGlobAndFailuresAreReported() throws Exception {
+        Path input = Files.createDirectories(tempDir.resolve("in"));
+        for (int i = 0; i < 50; i++) {
+            Files.writeString(input.resolve("ok" + i + ".json"), "[" + i + "]");
+        }
+        Files.writeString(input.resolve("broken.json"), "{bad");
+        Path output = tempDir.resolve("out");
+
+        BatchResult result = new BatchRunner(options(Transform.JSON_COMPACT, input + "/*.json", output)).run();
+
+        assertEquals(51, result.files());
+        assertEquals(1, result.failures().size());
+        assertTrue(result.failures().get(0).contains("broken.json"));
+        assertFalse(Files.exists(output.resolve("broken.json")), "失败的输出文件应被删除");
+        assertEquals("[7]", Files.readString(output.resolve("ok7.json")));
+        assertEquals(50, result.succeeded());
+    }
+
+    @Test
+    void testFilesLargerThanBudgetStillComplete() throws Exception {
+        Path input = Files.createDirectories(tempDir.resolve("in"));
+        byte[] data = new byte[64 * 1024];
+        for (int i = 0; i < 8; i++) {
+            Files.write(input.resolve("f" + i + ".bin"), data);
+        }
+        Path output = tempDir.resolve("out");
+        BatchOptions options = new BatchOptions(Transform.BASE64_ENCODE, List.of(input.toString()), output, 4, 1024, "",
+            Base64Variant.BASIC);
+
+        BatchResult result = new BatchRunner(options).run();
+
+        assertEquals(8, result.files());
+        assertTrue(result.failures().isEmpty());
+        assertEquals(8L * data.length, result.bytesIn());
+        assertTrue(Files.exists(output.resolve("f0.bin.b64")));
+    }
+
+    @Test
+    void testBase64RoundTrip() throws Exception {
+        Path source = tempDir.resolve("note.txt");
+        Files.writeString(source, "你好，DevTools", StandardCharsets.UTF_8);
+
+        new BatchRunner(options(Transform.BASE64_ENCODE, source.toString(), tempDir.resolve("enc"))).run();
+        new BatchRunner(options(Transform.BASE64_DECODE, tempDir.resolve("enc/note.txt.b64").toString(), tempDir.resolve("dec"))).run();
+
+        assertEquals("你好，DevTools", Files.readString(tempDir.resolve("dec/note.txt"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testJsonBeanUsesFileNameAsClassName() throws Exception {
+        Path source = tempDir.resolve("user-profile.json");
+        Files.writeString(source, "{\"id\":1}");
+        Path output = tempDir.resolve("out");
+
+        new BatchRunner(new BatchOptions(Transform.JSON_BEAN, List.of(source.toString()), output, 1, 1024, "com.example",
+            Base64Variant.BASIC)).run();
+
+        String code = Files.readString(output.resolve("UserProfile.java"));
+        assertTrue(code.startsWith("package com.example;"));
+        assertTrue(code.contains("public class UserProfile {"));
+    }
+
+    @Test
+    void testDuplicateOutputPathsAreRejected() throws Exception {
+        Path a = Files.createDirectories(tempDir.resolve("a"));
+        Path b = Files.createDirectories(tempDir.resolve("b"));
+        Files.writeString(a.resolve("x.json"), "{\"from\":\"a\"}");
+        Files.writeString(b.resolve("x.json"), "{\"from\":\"b\"}");
+        Path output = tempDir.resolve("out");
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () ->
+            InputCollector.collect(List.of(a.resolve("x.json").toString(), b.resolve("x.json").toString()),
+                Transform.JSON_FORMAT));
+        assertTrue(error.getMessage().contains("x.json"));
+
+        int exitCode = DevToolsCli.run(new String[]{"batch", "json-format", a.resolve("x.json").toString(),
+            b.resolve("x.json").toString(), "-o", output.toString()});
+        assertEquals(2, exitCode);
+        assertFalse(Files.exists(output.resolve("x.json")));
+
+        // 同一个文件重复传入、或同名文件位于不同子目录时不冲突
+        assertEquals(1, InputCollector.collect(List.of(a.resolve("x.json").toString(), a.resolve("x.json").toString()),
+            Transform.JSON_FORMAT).size());
+        assertEquals(2, InputCollector.collect(List.of(tempDir.toString()), Transform.JSON_FORMAT).size());
+    }
+
+    @Test
+    void testParseBatchOptions() {
+        BatchOptions options = DevToolsCli.parseBatchOptions(
+            List.of("markdown-html", "docs", "-o", "site", "-j", "3", "--max-in-flight-mb", "8"));
+        assertEquals(Transform.MARKDOWN_HTML, options.transform());
+        assertEquals(List.of("docs"), options.inputs());
+        assertEquals(Path.of("site"), options.outputDir());
+        assertEquals(3, options.parallelism());
+        assertEquals(8L * 1024 * 1024, options.maxInFlightBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> DevToolsCli.parseBatchOptions(List.of("unknown", "docs")));
+        assertThrows(IllegalArgumentException.class, () -> DevToolsCli.parseBatchOptions(List.of("json-format")));
+    }
+
+    private BatchOptions options(Transform transform, String input, Path output) {
+        return new BatchOptions(transform, List.of(input), output, 4, BatchOptions.DEFAULT_MAX_IN_FLIGHT_BYTES, "",
+            Base64Variant.BASIC);
+    }
+}
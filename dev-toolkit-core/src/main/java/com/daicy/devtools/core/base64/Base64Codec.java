@@ -0,0 +1,361 @@
+package com.daicy.devtools.core.base64;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 查表实现的Base64编解码器，直接在ByteBuffer之间读写，支持堆内和直接缓冲区
+ * <p>
+ * 解码时每个输入字节只查一次256项的表，空白字符（换行、回车、制表符、空格）一律跳过，
+ * 因此可以直接处理日志中按行折断的Base64块；MIME变体还会跳过其他非字母表字符。
+ * 大块输入可按4个有效字符对齐切分后并行解码，各分块写入输出缓冲区中互不重叠的区域。
+ * <p>
+ * 实例不保存调用状态，可在多个线程中共享
+ */
+public final class Base64Codec {
+    private static final byte[] ENCODE_BASIC =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ENCODE_URL =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte INVALID = -1;
+    private static final byte SKIP = -2;
+    private static final byte PAD = -3;
+
+    /** 小于该长度的输入不值得拆分 */
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+
+    private static final Base64Codec BASIC = new Base64Codec(ENCODE_BASIC, false);
+    private static final Base64Codec URL = new Base64Codec(ENCODE_URL, false);
+    private static final Base64Codec MIME = new Base64Codec(ENCODE_BASIC, true);
+
+    private final byte[] encodeTable;
+    private final byte[] decodeTable = new byte[256];
+
+    private Base64Codec(byte[] encodeTable, boolean skipInvalid) {
+        this.encodeTable = encodeTable;
+        Arrays.fill(decodeTable, skipInvalid ? SKIP : INVALID);
+        for (int i = 0; i < encodeTable.length; i++) {
+            decodeTable[encodeTable[i]] = (byte) i;
+        }
+        decodeTable['\r'] = SKIP;
+        decodeTable['\n'] = SKIP;
+        decodeTable['\t'] = SKIP;
+        decodeTable[' '] = SKIP;
+        decodeTable['='] = PAD;
+    }
+
+    public static Base64Codec of(Base64Variant variant) {
+        switch (variant) {
+            case MIME:
+                return MIME;
+            case URL:
+                return URL;
+            default:
+                return BASIC;
+        }
+    }
+
+    /**
+     * 解码结果长度的上限，用于分配输出缓冲区
+     *
+     * @param encodedLength 输入字节数（含空白）
+     * @return 解码后最多的字节数
+     */
+    public static int maxDecodedLength(int encodedLength) {
+        return (int) ((encodedLength + 3L) / 4 * 3);
+    }
+
+    /**
+     * 编码结果的长度，不换行，末尾补齐填充字符
+     *
+     * @param length 原始数据字节数
+     * @return 编码后的字节数
+     */
+    public static int encodedLength(int length) {
+        return (int) ((length + 2L) / 3 * 4);
+    }
+
+    /**
+     * 编码 src 中剩余的全部字节，写入 dst 的当前位置
+     * 完成后 src 的位置移到末尾，dst 的位置前移写出的字节数
+     *
+     * @param src 原始数据
+     * @param dst 输出缓冲区，剩余空间至少为 {@link #encodedLength(int)}
+     * @return 写出的字节数
+     */
+    public int encode(ByteBuffer src, ByteBuffer dst) {
+        int length = src.remaining();
+        int required = encodedLength(length);
+        if (dst.remaining() < required) {
+            throw new IllegalArgumentException("输出缓冲区不足: 需要 " + required + " 字节");
+        }
+        int in = src.position();
+        int end = in + length / 3 * 3;
+        int out = dst.position();
+        byte[] table = encodeTable;
+        while (in < end) {
+            int bits = (src.get(in) & 0xff) << 16 | (src.get(in + 1) & 0xff) << 8 | (src.get(in + 2) & 0xff);
+            dst.put(out, table[bits >>> 18]);
+            dst.put(out + 1, table[(bits >>> 12) & 0x3f]);
+            dst.put(out + 2, table[(bits >>> 6) & 0x3f]);
+            dst.put(out + 3, table[bits & 0x3f]);
+            in += 3;
+            out += 4;
+        }
+        int tail = length % 3;
+        if (tail > 0) {
+            int bits = (src.get(in) & 0xff) << 16 | (tail == 2 ? (src.get(in + 1) & 0xff) << 8 : 0);
+            dst.put(out, table[bits >>> 18]);
+            dst.put(out + 1, table[(bits >>> 12) & 0x3f]);
+            dst.put(out + 2, tail == 2 ? table[(bits >>> 6) & 0x3f] : (byte) '=');
+            dst.put(out + 3, (byte) '=');
+            in += tail;
+            out += 4;
+        }
+        src.position(in);
+        dst.position(out);
+        return required;
+    }
+
+    /**
+     * 顺序解码 src 中剩余的全部字节，写入 dst 的当前位置
+     *
+     * @param src Base64数据，可以包含换行等空白
+     * @param dst 输出缓冲区，剩余空间至少为 {@link #maxDecodedLength(int)}
+     * @return 写出的字节数
+     * @throws IllegalArgumentException 输入包含非法字符或填充位置错误时抛出
+     */
+    public int decode(ByteBuffer src, ByteBuffer dst) {
+        checkCapacity(src, dst);
+        int written = decodeRange(src, src.position(), src.limit(), dst, dst.position(), true);
+        src.position(src.limit());
+        dst.position(dst.position() + written);
+        return written;
+    }
+
+    /**
+     * 并行解码，输入较小时退化为顺序解码
+     * 先并行统计每个分块中的有效字符数，再把分块边界后移到有效字符数是4的倍数的位置，
+     * 这样每个分块都从完整的4字符组开始，输出位置可以直接算出，各分块独立解码
+     *
+     * @param src Base64数据，可以包含换行等空白
+     * @param dst 输出缓冲区，剩余空间至少为 {@link #maxDecodedLength(int)}
+     * @param pool 执行分块解码的线程池
+     * @return 写出的字节数
+     * @throws IllegalArgumentException 输入包含非法字符或填充位置错误时抛出
+     */
+    public int decodeParallel(ByteBuffer src, ByteBuffer dst, ForkJoinPool pool) {
+        int length = src.remaining();
+        int chunkCount = Math.min(pool.getParallelism() * 4, length / MIN_CHUNK_SIZE);
+        if (length < PARALLEL_THRESHOLD || chunkCount < 2) {
+            return decode(src, dst);
+        }
+        checkCapacity(src, dst);
+
+        int base = src.position();
+        int chunkSize = (length + chunkCount - 1) / chunkCount;
+        int[] starts = new int[chunkCount + 1];
+        for (int i = 0; i < chunkCount; i++) {
+            starts[i] = base + Math.min(length, i * chunkSize);
+        }
+        starts[chunkCount] = src.limit();
+
+        // 第一遍：并行统计各分块的有效字符数
+        long[] counts = new long[chunkCount];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            int chunk = i;
+            tasks.add(pool.submit(() -> counts[chunk] = countSymbols(src, starts[chunk], starts[chunk + 1])));
+        }
+        tasks.forEach(ForkJoinTask::join);
+
+        long totalSymbols = 0;
+        for (long count : counts) {
+            totalSymbols += count;
+        }
+
+        // 把每个内部边界后移若干个有效字符，使边界之前的有效字符数是4的倍数。
+        // 对齐后落在上一个边界之前、或之后已没有有效字符的边界与上一个边界合并，对应的分块为空
+        int[] outputOffsets = new int[chunkCount];
+        long symbolsBefore = 0;
+        for (int i = 1; i < chunkCount; i++) {
+            symbolsBefore += counts[i - 1];
+            int shift = (int) ((4 - symbolsBefore % 4) % 4);
+            long alignedSymbols = symbolsBefore + shift;
+            int boundary = advanceSymbols(src, starts[i], starts[chunkCount], shift);
+            if (alignedSymbols < totalSymbols && boundary >= starts[i - 1]) {
+                starts[i] = boundary;
+                outputOffsets[i] = (int) (alignedSymbols / 4 * 3);
+            } else {
+                starts[i] = starts[i - 1];
+                outputOffsets[i] = outputOffsets[i - 1];
+            }
+        }
+
+        // 第二遍：各分块写入互不重叠的输出区域，只有最后一块允许出现填充和不完整的字符组
+        int dstBase = dst.position();
+        int[] written = new int[chunkCount];
+        tasks.clear();
+        for (int i = 0; i < chunkCount; i++) {
+            int chunk = i;
+            tasks.add(pool.submit(() -> written[chunk] = decodeRange(src, starts[chunk], starts[chunk + 1],
+                dst, dstBase + outputOffsets[chunk], chunk == chunkCount - 1)));
+        }
+        tasks.forEach(ForkJoinTask::join);
+
+        int total = 0;
+        for (int count : written) {
+            total += count;
+        }
+        src.position(src.limit());
+        dst.position(dstBase + total);
+        return total;
+    }
+
+    private void checkCapacity(ByteBuffer src, ByteBuffer dst) {
+        int required = maxDecodedLength(src.remaining());
+        if (dst.remaining() < required) {
+            throw new IllegalArgumentException("输出缓冲区不足: 需要 " + required + " 字节");
+        }
+    }
+
+    private long countSymbols(ByteBuffer src, int from, int to) {
+        byte[] table = decodeTable;
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            byte value = table[src.get(i) & 0xff];
+            if (value >= 0 || value == PAD) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 从 from 开始跳过 symbols 个有效字符，返回之后的位置
+     */
+    private int advanceSymbols(ByteBuffer src, int from, int to, int symbols) {
+        byte[] table = decodeTable;
+        int i = from;
+        while (symbols > 0 && i < to) {
+            byte value = table[src.get(i) & 0xff];
+            if (value >= 0 || value == PAD) {
+                symbols--;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 解码 [from, to) 范围内的输入，从 out 开始写入 dst（绝对位置，不改变缓冲区位置）
+     *
+     * @param last 是否为最后一段，只有最后一段允许出现填充字符和不完整的字符组
+     * @return 写出的字节数
+     */
+    private int decodeRange(ByteBuffer src, int from, int to, ByteBuffer dst, int out, boolean last) {
+        byte[] table = decodeTable;
+        int start = out;
+        int bits = 0;
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            // 快速路径：连续4个都是字母表字符时整组解码，遇到空白、填充或非法字符再逐字节处理
+            if (count == 0) {
+                int fastEnd = to - 3;
+                while (i < fastEnd) {
+                    int a = table[src.get(i) & 0xff];
+                    int b = table[src.get(i + 1) & 0xff];
+                    int c = table[src.get(i + 2) & 0xff];
+                    int d = table[src.get(i + 3) & 0xff];
+                    if ((a | b | c | d) < 0) {
+                        break;
+                    }
+                    int quad = a << 18 | b << 12 | c << 6 | d;
+                    dst.put(out, (byte) (quad >>> 16));
+                    dst.put(out + 1, (byte) (quad >>> 8));
+                    dst.put(out + 2, (byte) quad);
+                    out += 3;
+                    i += 4;
+                }
+                if (i >= to) {
+                    break;
+                }
+            }
+            int b = src.get(i) & 0xff;
+            byte value = table[b];
+            if (value >= 0) {
+                bits = bits << 6 | value;
+                if (++count == 4) {
+                    dst.put(out, (byte) (bits >>> 16));
+                    dst.put(out + 1, (byte) (bits >>> 8));
+                    dst.put(out + 2, (byte) bits);
+                    out += 3;
+                    bits = 0;
+                    count = 0;
+                }
+            } else if (value == PAD) {
+                if (!last) {
+                    throw new IllegalArgumentException("填充字符只能出现在末尾，位置: " + i);
+                }
+                return out - start + finishPadded(src, i, to, dst, out, bits, count);
+            } else if (value == INVALID) {
+                throw new IllegalArgumentException("非法的Base64字符 0x" + Integer.toHexString(b) + "，位置: " + i);
+            }
+            i++;
+        }
+        if (count > 0) {
+            if (!last) {
+                // 分块边界按4字符对齐，中间分块不会出现不完整的字符组
+                throw new IllegalStateException("分块未按4字符对齐");
+            }
+            out += writeTail(dst, out, bits, count, to);
+        }
+        return out - start;
+    }
+
+    /**
+     * 处理末尾的填充字符，填充之后只允许出现空白
+     */
+    private int finishPadded(ByteBuffer src, int padAt, int to, ByteBuffer dst, int out, int bits, int count) {
+        int expectedPads = count == 2 ? 2 : count == 3 ? 1 : 0;
+        if (expectedPads == 0) {
+            throw new IllegalArgumentException("填充字符位置错误，位置: " + padAt);
+        }
+        int pads = 0;
+        for (int i = padAt; i < to; i++) {
+            byte value = decodeTable[src.get(i) & 0xff];
+            if (value == PAD) {
+                if (++pads > expectedPads) {
+                    throw new IllegalArgumentException("填充字符过多，位置: " + i);
+                }
+            } else if (value != SKIP) {
+                throw new IllegalArgumentException("填充字符之后还有数据，位置: " + i);
+            }
+        }
+        if (pads != expectedPads) {
+            throw new IllegalArgumentException("填充字符不完整，位置: " + padAt);
+        }
+        return writeTail(dst, out, bits, count, padAt);
+    }
+
+    private static int writeTail(ByteBuffer dst, int out, int bits, int count, int position) {
+        if (count == 2) {
+            dst.put(out, (byte) (bits >>> 4));
+            return 1;
+        }
+        if (count == 3) {
+            dst.put(out, (byte) (bits >>> 10));
+            dst.put(out + 1, (byte) (bits >>> 2));
+            return 2;
+        }
+        throw new IllegalArgumentException("末尾的Base64字符组不完整，位置: " + position);
+    }
+}
@@ -0,0 +1,253 @@
+package com.daicy.devtools.core.base64;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Base64编码和解码服务
+ * 文本按UTF-8处理；文件按原始字节流式处理，内存占用固定为几个缓冲区，与文件大小无关。
+ * 除高速解码使用的缓冲区池外不保存状态，可在多个线程中共享
+ */
+public class Base64Service {
+    /** 文件读写缓冲区大小 */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 文件处理进度的回调，在处理线程中调用
+     * 回调抛出的非受检异常会中止处理，可用于响应取消
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param processed 已读取的输入字节数
+         * @param total 输入文件的总字节数
+         */
+        void onProgress(long processed, long total);
+    }
+
+    private static final ProgressListener NO_PROGRESS = (processed, total) -> { };
+
+    /** 高速解码时二进制数据预览的字节数 */
+    static final int HEX_PREVIEW_BYTES = 256;
+
+    /** 高速解码使用的直接缓冲区池，最多保留64MB */
+    private final DirectBufferPool bufferPool = new DirectBufferPool(64L * 1024 * 1024);
+
+    /**
+     * 编码文本
+     *
+     * @param text 原始文本
+     * @return Base64字符串
+     */
+    public String encode(String text) {
+        return encode(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 编码字节数组
+     *
+     * @param bytes 原始数据
+     * @return Base64字符串
+     */
+    public String encode(byte[] bytes) {
+        return encode(bytes, Base64Variant.BASIC);
+    }
+
+    /**
+     * 按指定变体编码字节数组
+     *
+     * @param bytes 原始数据
+     * @param variant 编码变体
+     * @return Base64字符串
+     */
+    public String encode(byte[] bytes, Base64Variant variant) {
+        return variant.encoder().encodeToString(bytes);
+    }
+
+    /**
+     * 解码为文本
+     *
+     * @param base64 Base64字符串
+     * @return 解码后的文本
+     * @throws IllegalArgumentException 输入不是合法的Base64时抛出
+     */
+    public String decode(String base64) {
+        return new String(decodeBytes(base64), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 解码为字节数组
+     *
+     * @param base64 Base64字符串
+     * @return 解码后的数据
+     * @throws IllegalArgumentException 输入不是合法的Base64时抛出
+     */
+    public byte[] decodeBytes(String base64) {
+        return decodeBytes(base64, Base64Variant.BASIC);
+    }
+
+    /**
+     * 按指定变体解码为字节数组
+     *
+     * @param base64 Base64字符串
+     * @param variant 编码变体
+     * @return 解码后的数据
+     * @throws IllegalArgumentException 输入不是合法的Base64时抛出
+     */
+    public byte[] decodeBytes(String base64, Base64Variant variant) {
+        return variant.decoder().decode(base64);
+    }
+
+    /**
+     * 流式编码文件，输入按二进制读取
+     *
+     * @param source 输入文件
+     * @param target 输出文件，已存在时覆盖，失败时删除
+     * @param variant 编码变体
+     * @param listener 进度回调，可为null
+     * @return 写出的字节数
+     * @throws IOException 读写失败时抛出
+     */
+    public long encodeFile(Path source, Path target, Base64Variant variant, ProgressListener listener)
+            throws IOException {
+        ProgressListener progress = listener != null ? listener : NO_PROGRESS;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel channel = openForWrite(target)) {
+            long total = in.size();
+            // 编码流关闭时写出末尾的填充字符
+            try (OutputStream out = variant.encoder().wrap(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                long processed = 0;
+                int n;
+                while ((n = in.read(buffer)) >= 0) {
+                    out.write(buffer.array(), 0, n);
+                    buffer.clear();
+                    processed += n;
+                    progress.onProgress(processed, total);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        return Files.size(target);
+    }
+
+    /**
+     * 流式解码文件，输出按二进制写入
+     * BASIC和URL变体不允许出现换行，按行折断的Base64文件请使用MIME变体
+     *
+     * @param source 输入文件
+     * @param target 输出文件，已存在时覆盖，失败时删除
+     * @param variant 编码变体
+     * @param listener 进度回调，可为null
+     * @return 写出的字节数
+     * @throws IOException 读写失败或输入不是合法的Base64时抛出
+     */
+    public long decodeFile(Path source, Path target, Base64Variant variant, ProgressListener listener)
+            throws IOException {
+        ProgressListener progress = listener != null ? listener : NO_PROGRESS;
+        long written = 0;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = openForWrite(target)) {
+            long total = in.size();
+            // 解码流逐字节读取底层流，必须加缓冲，否则每个字节都是一次通道读取
+            InputStream decoded = variant.decoder().wrap(
+                new BufferedInputStream(Channels.newInputStream(in), BUFFER_SIZE));
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            int n;
+            while ((n = decoded.read(buffer.array(), 0, BUFFER_SIZE)) >= 0) {
+                buffer.limit(n);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+                written += n;
+                // 通道位置即已读入缓冲区的输入字节数，最多领先一个缓冲区
+                progress.onProgress(in.position(), total);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        return written;
+    }
+
+    /**
+     * 高速解码，适合从日志中批量复制的大段Base64
+     * 输入按ASCII写入池化的直接缓冲区，由查表解码器按4字符对齐分块并行解码到另一个池化缓冲区，
+     * 再直接在缓冲区上检测字符集，只有最终的文本会被复制一次。
+     * 与 {@link #decodeBytes(String, Base64Variant)} 不同，所有变体都忽略换行和空格
+     *
+     * @param base64 Base64文本，可以按行折断
+     * @param variant 编码变体
+     * @return 解码结果，二进制数据只返回十六进制预览
+     * @throws IllegalArgumentException 输入不是合法的Base64时抛出
+     */
+    public DecodedContent decodeFast(CharSequence base64, Base64Variant variant) {
+        ByteBuffer src = bufferPool.acquire(base64.length());
+        ByteBuffer dst = null;
+        try {
+            // 非ASCII字符替换为'?'，由解码器按非法字符处理（MIME变体忽略）
+            CharsetEncoder encoder = StandardCharsets.US_ASCII.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            encoder.encode(CharBuffer.wrap(base64), src, true);
+            encoder.flush(src);
+            src.flip();
+
+            dst = bufferPool.acquire(Base64Codec.maxDecodedLength(src.remaining()));
+            int size = Base64Codec.of(variant).decodeParallel(src, dst, ForkJoinPool.commonPool());
+            dst.flip();
+
+            SniffResult sniff = ContentSniffer.sniff(dst);
+            if (!sniff.isText()) {
+                return new DecodedContent(hexPreview(dst), null, size);
+            }
+            dst.position(dst.position() + sniff.bomLength());
+            return new DecodedContent(sniff.charset().decode(dst).toString(), sniff.charset(), size);
+        } finally {
+            bufferPool.release(src);
+            bufferPool.release(dst);
+        }
+    }
+
+    /**
+     * 二进制数据开头部分的十六进制预览，每行16字节
+     */
+    static String hexPreview(ByteBuffer data) {
+        int end = data.position() + Math.min(data.remaining(), HEX_PREVIEW_BYTES);
+        StringBuilder hex = new StringBuilder(HEX_PREVIEW_BYTES * 3 + 32);
+        for (int i = data.position(); i < end; i++) {
+            if (i > data.position()) {
+                hex.append((i - data.position()) % 16 == 0 ? '\n' : ' ');
+            }
+            int b = data.get(i) & 0xff;
+            hex.append(Character.forDigit(b >> 4, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        if (data.remaining() > HEX_PREVIEW_BYTES) {
+            hex.append("\n...");
+        }
+        return hex.toString();
+    }
+
+    private static FileChannel openForWrite(Path target) throws IOException {
+        return FileChannel.open(target, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,52 @@
+package com.daicy.devtools.core.base64;
+
+import java.util.Base64;
+
+/**
+ * Base64编码变体
+ */
+public enum Base64Variant {
+    /** RFC 4648 标准字母表，不换行 */
+    BASIC("标准"),
+    /** RFC 2045 MIME格式，每76个字符换行（CRLF），解码时忽略字母表以外的字符 */
+    MIME("MIME"),
+    /** RFC 4648 URL和文件名安全字母表，使用 - 和 _ 代替 + 和 / */
+    URL("URL安全");
+
+    private final String displayName;
+
+    Base64Variant(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public Base64.Encoder encoder() {
+        switch (this) {
+            case MIME:
+                return Base64.getMimeEncoder();
+            case URL:
+                return Base64.getUrlEncoder();
+            default:
+                return Base64.getEncoder();
+        }
+    }
+
+    public Base64.Decoder decoder() {
+        switch (this) {
+            case MIME:
+                return Base64.getMimeDecoder();
+            case URL:
+                return Base64.getUrlDecoder();
+            default:
+                return Base64.getDecoder();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,151 @@
+package com.daicy.devtools.core.base64;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 判断解码后的数据是文本还是二进制，以及文本的字符集
+ * 只检查开头的一个窗口，直接读取缓冲区，不复制数据，也不改变缓冲区的位置
+ * <p>
+ * 判断顺序：BOM；出现NUL或较多控制字符视为二进制；合法的UTF-8；GB18030；其余视为二进制
+ */
+public final class ContentSniffer {
+    /** 检查窗口大小 */
+    static final int WINDOW = 8 * 1024;
+
+    private static final Charset GB18030 = Charset.forName("GB18030");
+
+    private ContentSniffer() {
+    }
+
+    public static SniffResult sniff(ByteBuffer data) {
+        int start = data.position();
+        int end = start + Math.min(data.remaining(), WINDOW);
+        boolean truncated = end < data.limit();
+
+        if (startsWith(data, start, end, 0xEF, 0xBB, 0xBF)) {
+            return new SniffResult(SniffResult.Kind.TEXT, StandardCharsets.UTF_8, 3);
+        }
+        if (startsWith(data, start, end, 0xFE, 0xFF)) {
+            return new SniffResult(SniffResult.Kind.TEXT, StandardCharsets.UTF_16BE, 2);
+        }
+        if (startsWith(data, start, end, 0xFF, 0xFE)) {
+            return new SniffResult(SniffResult.Kind.TEXT, StandardCharsets.UTF_16LE, 2);
+        }
+
+        int controls = 0;
+        boolean ascii = true;
+        for (int i = start; i < end; i++) {
+            int b = data.get(i) & 0xff;
+            if (b == 0) {
+                return SniffResult.BINARY;
+            }
+            if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f' && b != 0x1b) {
+                controls++;
+            }
+            ascii &= b < 0x80;
+        }
+        // 超过2%的控制字符基本不会是可读文本
+        if (controls * 50 > end - start) {
+            return SniffResult.BINARY;
+        }
+        if (ascii || isUtf8(data, start, end, truncated)) {
+            return new SniffResult(SniffResult.Kind.TEXT, StandardCharsets.UTF_8, 0);
+        }
+        if (decodes(GB18030, data, start, end, truncated)) {
+            return new SniffResult(SniffResult.Kind.TEXT, GB18030, 0);
+        }
+        return SniffResult.BINARY;
+    }
+
+    private static boolean startsWith(ByteBuffer data, int start, int end, int... prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data.get(start + i) & 0xff) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 校验UTF-8编码，窗口被截断时允许末尾出现不完整的多字节序列
+     */
+    static boolean isUtf8(ByteBuffer data, int start, int end, boolean truncated) {
+        int i = start;
+        while (i < end) {
+            int b = data.get(i) & 0xff;
+            int continuation;
+            int min;
+            if (b < 0x80) {
+                i++;
+                continue;
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                continuation = 1;
+                min = 0x80;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuation = 2;
+                min = 0x800;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuation = 3;
+                min = 0x10000;
+            } else {
+                return false;
+            }
+            if (i + continuation >= end) {
+                return truncated && checkContinuation(data, i + 1, end);
+            }
+            int codePoint = b & (0x3F >> continuation);
+            for (int k = 1; k <= continuation; k++) {
+                int next = data.get(i + k) & 0xff;
+                if ((next & 0xC0) != 0x80) {
+                    return false;
+                }
+                codePoint = codePoint << 6 | (next & 0x3F);
+            }
+            if (codePoint < min || codePoint > 0x10FFFF || (codePoint >= 0xD800 && codePoint <= 0xDFFF)) {
+                return false;
+            }
+            i += continuation + 1;
+        }
+        return true;
+    }
+
+    private static boolean checkContinuation(ByteBuffer data, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if ((data.get(i) & 0xC0) != 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 用指定字符集严格解码窗口，只使用一个小的字符缓冲区
+     */
+    private static boolean decodes(Charset charset, ByteBuffer data, int start, int end, boolean truncated) {
+        CharsetDecoder decoder = charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer window = data.duplicate();
+        window.limit(end).position(start);
+        CharBuffer chars = CharBuffer.allocate(1024);
+        while (true) {
+            CoderResult result = decoder.decode(window, chars, !truncated);
+            if (result.isError()) {
+                return false;
+            }
+            if (result.isUnderflow()) {
+                return true;
+            }
+            chars.clear();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.daicy.devtools.core.base64;
+
+import java.nio.charset.Charset;
+
+/**
+ * 高速解码的结果
+ *
+ * @param text 文本内容；二进制数据时为开头部分的十六进制预览
+ * @param charset 检测到的字符集，二进制数据时为null
+ * @param size 解码后的字节数
+ */
+public record DecodedContent(String text, Charset charset, int size) {
+    public boolean isBinary() {
+        return charset == null;
+    }
+}
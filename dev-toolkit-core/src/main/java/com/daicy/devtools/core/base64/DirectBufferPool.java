@@ -0,0 +1,91 @@
+package com.daicy.devtools.core.base64;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 直接缓冲区池
+ * 缓冲区按2的幂分级（最小64KB），归还后留在池中复用，避免反复分配直接内存。
+ * 池中保留的总字节数有上限，超出上限或超过最大分级的缓冲区归还时直接丢弃，交给GC回收。
+ * <p>
+ * 线程安全
+ */
+public class DirectBufferPool {
+    static final int MIN_SHIFT = 16;
+    static final int MAX_SHIFT = 27;
+
+    private final ConcurrentLinkedDeque<ByteBuffer>[] classes;
+    private final long maxRetainedBytes;
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    /**
+     * @param maxRetainedBytes 池中最多保留的字节数
+     */
+    @SuppressWarnings("unchecked")
+    public DirectBufferPool(long maxRetainedBytes) {
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.classes = new ConcurrentLinkedDeque[MAX_SHIFT - MIN_SHIFT + 1];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    /**
+     * 取出容量不小于 minCapacity 的缓冲区
+     * 返回的缓冲区已清空，limit 等于 minCapacity
+     *
+     * @param minCapacity 需要的最小容量
+     * @return 直接缓冲区，用完后调用 {@link #release(ByteBuffer)} 归还
+     */
+    public ByteBuffer acquire(int minCapacity) {
+        int shift = shiftFor(minCapacity);
+        ByteBuffer buffer = null;
+        if (shift <= MAX_SHIFT) {
+            buffer = classes[shift - MIN_SHIFT].pollFirst();
+        }
+        if (buffer != null) {
+            retainedBytes.addAndGet(-buffer.capacity());
+            buffer.clear();
+        } else {
+            buffer = ByteBuffer.allocateDirect(shift <= MAX_SHIFT ? 1 << shift : minCapacity);
+        }
+        buffer.limit(minCapacity);
+        return buffer;
+    }
+
+    /**
+     * 归还缓冲区，归还后调用方不能再使用它
+     *
+     * @param buffer 由 {@link #acquire(int)} 取出的缓冲区，可为null
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        int capacity = buffer.capacity();
+        int shift = Integer.numberOfTrailingZeros(capacity);
+        if (Integer.bitCount(capacity) != 1 || shift < MIN_SHIFT || shift > MAX_SHIFT) {
+            return;
+        }
+        if (retainedBytes.addAndGet(capacity) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-capacity);
+            return;
+        }
+        classes[shift - MIN_SHIFT].offerFirst(buffer);
+    }
+
+    /**
+     * @return 池中当前保留的字节数
+     */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    private static int shiftFor(int capacity) {
+        if (capacity <= 1 << MIN_SHIFT) {
+            return MIN_SHIFT;
+        }
+        return 32 - Integer.numberOfLeadingZeros(capacity - 1);
+    }
+}
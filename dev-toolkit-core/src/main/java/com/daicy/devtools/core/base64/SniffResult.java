@@ -0,0 +1,23 @@
+package com.daicy.devtools.core.base64;
+
+import java.nio.charset.Charset;
+
+/**
+ * 内容检测结果
+ *
+ * @param kind 文本或二进制
+ * @param charset 文本的字符集，二进制时为null
+ * @param bomLength 开头BOM的字节数，解码文本时需要跳过
+ */
+public record SniffResult(Kind kind, Charset charset, int bomLength) {
+    public static final SniffResult BINARY = new SniffResult(Kind.BINARY, null, 0);
+
+    public enum Kind {
+        TEXT,
+        BINARY
+    }
+
+    public boolean isText() {
+        return kind == Kind.TEXT;
+    }
+}
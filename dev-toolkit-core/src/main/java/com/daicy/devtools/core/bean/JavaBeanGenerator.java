@@ -0,0 +1,183 @@
+package com.daicy.devtools.core.bean;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 根据JSON对象生成Java Bean源码
+ * 生成过程只使用局部的StringBuilder，ObjectMapper本身线程安全，本类可在多个线程中共享
+ */
+public class JavaBeanGenerator {
+    private final ObjectMapper objectMapper;
+
+    public JavaBeanGenerator() {
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * 根据JSON生成Java Bean源码
+     * @param json JSON对象文本
+     * @param packageName 包名，为空时不生成包声明
+     * @param className 类名
+     * @return Java源码
+     * @throws IOException JSON解析失败
+     */
+    public String generate(String json, String packageName, String className) throws IOException {
+        // 解析JSON并生成Java类代码
+        JsonNode rootNode = objectMapper.readTree(json);
+        StringBuilder code = new StringBuilder();
+        
+        // 生成包声明
+        if (packageName != null && !packageName.trim().isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        
+        // 添加导入语句
+        code.append("import java.util.List;\n");
+        code.append("import java.util.Map;\n\n");
+        
+        // 生成类定义
+        code.append("public class ").append(className).append(" {\n");
+        
+        // 生成字段
+        generateFields(rootNode, code, 1);
+        
+        // 生成getter和setter方法
+        generateGettersAndSetters(rootNode, code, className);
+        
+        code.append("}\n");
+        return code.toString();
+    }
+
+    private void generateFields(JsonNode node, StringBuilder code, int indentLevel) {
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        String indent = "    ".repeat(indentLevel);
+        
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String fieldName = field.getKey();
+            JsonNode fieldValue = field.getValue();
+            
+            // 生成字段
+            code.append(indent).append("private ");
+            
+            if (fieldValue.isObject()) {
+                code.append(toClassName(fieldName));
+            } else if (fieldValue.isArray()) {
+                code.append("List<");
+                if (fieldValue.size() > 0 && fieldValue.get(0).isObject()) {
+                    code.append(toClassName(fieldName));
+                } else {
+                    code.append(getJavaType(fieldValue.get(0)));
+                }
+                code.append(">");
+            } else {
+                code.append(getJavaType(fieldValue));
+            }
+            
+            code.append(" ").append(toCamelCase(fieldName)).append(";\n");
+        }
+        code.append("\n");
+    }
+    
+    private void generateGettersAndSetters(JsonNode node, StringBuilder code, String className) {
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String fieldName = field.getKey();
+            JsonNode fieldValue = field.getValue();
+            String camelCaseFieldName = toCamelCase(fieldName);
+            String capitalizedFieldName = capitalize(camelCaseFieldName);
+            
+            // Getter
+            code.append("    public ");
+            if (fieldValue.isObject()) {
+                code.append(toClassName(fieldName));
+            } else if (fieldValue.isArray()) {
+                code.append("List<");
+                if (fieldValue.size() > 0 && fieldValue.get(0).isObject()) {
+                    code.append(toClassName(fieldName));
+                } else {
+                    code.append(getJavaType(fieldValue.get(0)));
+                }
+                code.append(">");
+            } else {
+                code.append(getJavaType(fieldValue));
+            }
+            code.append(" get").append(capitalizedFieldName).append("() {\n");
+            code.append("        return ").append(camelCaseFieldName).append(";\n");
+            code.append("    }\n\n");
+            
+            // Setter
+            code.append("    public void set").append(capitalizedFieldName).append("(");
+            if (fieldValue.isObject()) {
+                code.append(toClassName(fieldName));
+            } else if (fieldValue.isArray()) {
+                code.append("List<");
+                if (fieldValue.size() > 0 && fieldValue.get(0).isObject()) {
+                    code.append(toClassName(fieldName));
+                } else {
+                    code.append(getJavaType(fieldValue.get(0)));
+                }
+                code.append(">");
+            } else {
+                code.append(getJavaType(fieldValue));
+            }
+            code.append(" ").append(camelCaseFieldName).append(") {\n");
+            code.append("        this.").append(camelCaseFieldName).append(" = ").append(camelCaseFieldName).append(";\n");
+            code.append("    }\n\n");
+        }
+    }
+    
+    private String getJavaType(JsonNode node) {
+        if (node == null || node.isNull()) return "Object";
+        if (node.isTextual()) return "String";
+        if (node.isInt()) return "Integer";
+        if (node.isLong()) return "Long";
+        if (node.isDouble() || node.isFloat()) return "Double";
+        if (node.isBoolean()) return "Boolean";
+        if (node.isObject()) return "Object";
+        if (node.isArray()) return "List<Object>";
+        return "Object";
+    }
+    
+    private String toClassName(String name) {
+        return capitalize(toCamelCase(name));
+    }
+    
+    private String toCamelCase(String name) {
+        StringBuilder result = new StringBuilder();
+        boolean nextUpper = false;
+        
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            
+            if (c == '_' || c == '-') {
+                nextUpper = true;
+            } else {
+                if (i == 0) {
+                    result.append(Character.toLowerCase(c));
+                } else if (nextUpper) {
+                    result.append(Character.toUpperCase(c));
+                    nextUpper = false;
+                } else {
+                    result.append(c);
+                }
+            }
+        }
+        
+        return result.toString();
+    }
+    
+    private String capitalize(String str) {
+        if (str == null || str.isEmpty()) {
+            return str;
+        }
+        return Character.toUpperCase(str.charAt(0)) + str.substring(1);
+    }
+}
@@ -1,4 +1,4 @@
-package com.daicy.devtools.plugin.http;
+package com.daicy.devtools.core.http;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -13,6 +13,10 @@ import javax.xml.transform.stream.StreamSource;
 import java.io.StringReader;
 import java.io.StringWriter;
 
+/**
+ * HTTP响应内容的格式化和预览页面生成
+ * 不保存调用状态，可在多个线程中共享
+ */
 public class ResponseFormatter {
     private final ObjectMapper objectMapper;
 
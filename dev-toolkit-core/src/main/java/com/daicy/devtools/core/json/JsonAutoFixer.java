@@ -0,0 +1,473 @@
+package com.daicy.devtools.core.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON自动修复工具类
+ * 使用字符级词法状态机对输入做一次正向扫描，所有修复都写入同一个输出缓冲区。
+ * 扫描过程区分字符串内外，字符串字面量中的引号和关键字不会被改写。
+ * 实例保存扫描状态和修复日志，不是线程安全的，多线程使用时每个线程创建独立实例。
+ */
+public class JsonAutoFixer {
+    private static final byte OBJECT = 1;
+    private static final byte ARRAY = 2;
+
+    private final List<String> fixLogs = new ArrayList<>();
+    private final StringBuilder word = new StringBuilder();
+    private byte[] stack = new byte[32];
+
+    // 单次修复过程中的扫描状态
+    private String input;
+    private int pos;
+    private int end;
+    private StringBuilder out;
+    private int depth;
+    private boolean inString;
+    private boolean escapedMode;
+    private boolean expectKey;
+    private boolean afterColon;
+    private int pendingComma;
+
+    // 各类修复是否发生，最终按固定顺序转换为修复日志
+    private boolean escapedFixed;
+    private boolean startBraceAdded;
+    private boolean endBraceAdded;
+    private boolean emptyValueFixed;
+    private boolean quoteFixed;
+    private boolean commaFixed;
+    private boolean bracketFixed;
+    private boolean keywordFixed;
+    private boolean nonStandardFixed;
+
+    /**
+     * 自动修复JSON字符串
+     *
+     * @param input 输入的JSON字符串
+     * @return 修复后的JSON字符串
+     */
+    public String fix(String input) {
+        fixLogs.clear();
+        if (input == null || input.isBlank()) {
+            return input;
+        }
+
+        int begin = 0;
+        int limit = input.length();
+        while (begin < limit && Character.isWhitespace(input.charAt(begin))) {
+            begin++;
+        }
+        while (limit > begin && Character.isWhitespace(input.charAt(limit - 1))) {
+            limit--;
+        }
+
+        reset(input, limit);
+
+        // 整体被引号包裹的转义JSON，例如 "{\"a\":1}"
+        if (limit - begin >= 4 && input.charAt(begin) == '"' && input.charAt(limit - 1) == '"'
+                && (input.charAt(begin + 1) == '{' || input.charAt(begin + 1) == '[')
+                && input.indexOf("\\\"", begin) >= 0) {
+            begin++;
+            end--;
+            escapedMode = true;
+            escapedFixed = true;
+        }
+        pos = begin;
+
+        // 修复基本格式：缺少最外层的开始括号
+        char first = input.charAt(begin);
+        if (first != '{' && first != '[') {
+            out.append('{');
+            push(OBJECT);
+            expectKey = true;
+            startBraceAdded = true;
+        }
+
+        while (pos < end) {
+            char c = nextChar();
+            switch (c) {
+                case '"':
+                case '\'':
+                    beginToken();
+                    readString(c);
+                    break;
+                case '{':
+                    beginToken();
+                    out.append(c);
+                    push(OBJECT);
+                    expectKey = true;
+                    break;
+                case '[':
+                    beginToken();
+                    out.append(c);
+                    push(ARRAY);
+                    expectKey = false;
+                    break;
+                case '}':
+                case ']':
+                    closeContainer(c);
+                    break;
+                case ',':
+                    fillEmptyValue();
+                    out.append(',');
+                    pendingComma = out.length() - 1;
+                    expectKey = depth > 0 && stack[depth - 1] == OBJECT;
+                    break;
+                case ':':
+                    pendingComma = -1;
+                    out.append(':');
+                    afterColon = true;
+                    expectKey = false;
+                    break;
+                default:
+                    if (Character.isWhitespace(c)) {
+                        out.append(c);
+                    } else if (isWordChar(c)) {
+                        beginToken();
+                        readWord(c);
+                    } else {
+                        beginToken();
+                        out.append(c);
+                    }
+            }
+        }
+        finish();
+
+        boolean changed = collectFixLogs();
+        String result = (!changed && begin == 0 && end == input.length()) ? input : out.toString();
+        this.input = null;
+        this.out = null;
+        return result;
+    }
+
+    /**
+     * 获取修复日志
+     *
+     * @return 修复操作的日志列表
+     */
+    public List<String> getFixLogs() {
+        return new ArrayList<>(fixLogs);
+    }
+
+    /**
+     * 是否进行了修复
+     *
+     * @return 如果进行了任何修复操作返回true，否则返回false
+     */
+    public boolean hasFixed() {
+        return !fixLogs.isEmpty();
+    }
+
+    private void reset(String input, int limit) {
+        this.input = input;
+        this.end = limit;
+        this.out = new StringBuilder(limit + 16);
+        this.depth = 0;
+        this.inString = false;
+        this.escapedMode = false;
+        this.expectKey = false;
+        this.afterColon = false;
+        this.pendingComma = -1;
+        this.escapedFixed = false;
+        this.startBraceAdded = false;
+        this.endBraceAdded = false;
+        this.emptyValueFixed = false;
+        this.quoteFixed = false;
+        this.commaFixed = false;
+        this.bracketFixed = false;
+        this.keywordFixed = false;
+        this.nonStandardFixed = false;
+    }
+
+    /**
+     * 读取下一个字符
+     * 在字符串外遇到 \" 时判定输入为转义的JSON，此后对输入去掉一层转义
+     */
+    private char nextChar() {
+        char c = input.charAt(pos++);
+        if (c == '\\' && pos < end) {
+            char next = input.charAt(pos);
+            if (!escapedMode && !inString && next == '"') {
+                escapedMode = true;
+                escapedFixed = true;
+            }
+            if (escapedMode && (next == '"' || next == '\\')) {
+                pos++;
+                return next;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * 开始一个新的值或键，之前的冒号和逗号都已有后续内容
+     */
+    private void beginToken() {
+        pendingComma = -1;
+        afterColon = false;
+    }
+
+    private void readString(char quote) {
+        int start = out.length();
+        inString = true;
+        out.append('"');
+        if (quote == '\'') {
+            nonStandardFixed = true;
+        }
+        while (pos < end) {
+            char c = nextChar();
+            if (c == '\\') {
+                if (pos >= end) {
+                    break;
+                }
+                char escaped = nextChar();
+                if (quote == '\'' && escaped == '\'') {
+                    out.append('\'');
+                } else {
+                    out.append('\\').append(escaped);
+                }
+            } else if (c == quote) {
+                out.append('"');
+                inString = false;
+                return;
+            } else if (c == '"') {
+                // 单引号字符串中的双引号需要转义
+                out.append("\\\"");
+            } else {
+                out.append(c);
+            }
+        }
+        inString = false;
+        closeUnterminatedString(start);
+    }
+
+    /**
+     * 修复到达输入末尾仍未闭合的字符串
+     * 字符串末尾紧跟的括号视为结构字符，移到引号之外
+     */
+    private void closeUnterminatedString(int start) {
+        quoteFixed = true;
+        int tailStart = out.length();
+        while (tailStart > start + 1) {
+            char c = out.charAt(tailStart - 1);
+            if (c == '}' || c == ']' || Character.isWhitespace(c)) {
+                tailStart--;
+            } else {
+                break;
+            }
+        }
+        if (tailStart == out.length()) {
+            out.append('"');
+            return;
+        }
+        String tail = out.substring(tailStart);
+        out.setLength(tailStart);
+        out.append('"');
+        for (int i = 0; i < tail.length(); i++) {
+            char c = tail.charAt(i);
+            if (c == '}' || c == ']') {
+                closeContainer(c);
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    private void readWord(char first) {
+        word.setLength(0);
+        word.append(first);
+        while (pos < end && isWordChar(input.charAt(pos))) {
+            word.append(input.charAt(pos++));
+        }
+
+        // 对象中键的位置出现未加引号的单词
+        if (expectKey && depth > 0 && stack[depth - 1] == OBJECT) {
+            out.append('"').append(word).append('"');
+            nonStandardFixed = true;
+            return;
+        }
+
+        if (contentEquals("true") || contentEquals("false") || contentEquals("null")) {
+            out.append(word);
+        } else if (contentEquals("TRUE") || contentEquals("True")) {
+            out.append("true");
+            keywordFixed = true;
+        } else if (contentEquals("FALSE") || contentEquals("False")) {
+            out.append("false");
+            keywordFixed = true;
+        } else if (contentEquals("NULL") || contentEquals("undefined")) {
+            out.append("null");
+            keywordFixed = true;
+        } else if (isJsonNumber(word)) {
+            out.append(word);
+        } else {
+            // 未加引号的字符串值
+            out.append('"').append(word).append('"');
+            nonStandardFixed = true;
+        }
+    }
+
+    private void closeContainer(char c) {
+        fillEmptyValue();
+        if (pendingComma >= 0) {
+            out.deleteCharAt(pendingComma);
+            pendingComma = -1;
+            commaFixed = true;
+        }
+        expectKey = false;
+
+        byte type = c == '}' ? OBJECT : ARRAY;
+        int match = depth - 1;
+        while (match >= 0 && stack[match] != type) {
+            match--;
+        }
+        if (match < 0) {
+            // 没有对应的开始括号，丢弃多余的结束括号
+            bracketFixed = true;
+            return;
+        }
+        while (depth - 1 > match) {
+            out.append(closer(stack[--depth]));
+            bracketFixed = true;
+        }
+        out.append(c);
+        depth--;
+    }
+
+    /**
+     * 冒号后直接出现逗号或结束括号时补充null
+     */
+    private void fillEmptyValue() {
+        if (afterColon) {
+            out.append("null");
+            afterColon = false;
+            emptyValueFixed = true;
+        }
+    }
+
+    private void finish() {
+        int length = out.length();
+        while (length > 0 && Character.isWhitespace(out.charAt(length - 1))) {
+            length--;
+        }
+        out.setLength(length);
+
+        fillEmptyValue();
+        if (pendingComma >= 0) {
+            out.deleteCharAt(pendingComma);
+            pendingComma = -1;
+            commaFixed = true;
+        }
+        while (depth > 0) {
+            byte type = stack[--depth];
+            out.append(closer(type));
+            if (depth == 0 && type == OBJECT) {
+                endBraceAdded = true;
+            } else {
+                bracketFixed = true;
+            }
+        }
+    }
+
+    private boolean collectFixLogs() {
+        if (escapedFixed) {
+            fixLogs.add("处理了转义的JSON字符串");
+        }
+        if (startBraceAdded) {
+            fixLogs.add("添加了缺失的开始大括号");
+        }
+        if (endBraceAdded) {
+            fixLogs.add("添加了缺失的结束大括号");
+        }
+        if (startBraceAdded || endBraceAdded) {
+            fixLogs.add("修复了基本格式");
+        }
+        if (emptyValueFixed) {
+            fixLogs.add("修复了空值为null");
+        }
+        if (quoteFixed) {
+            fixLogs.add("修复了未闭合的引号");
+        }
+        if (commaFixed) {
+            fixLogs.add("移除了多余的逗号");
+        }
+        if (bracketFixed) {
+            fixLogs.add("修复了未闭合的括号");
+        }
+        if (keywordFixed) {
+            fixLogs.add("修复了布尔值和null值的格式");
+        }
+        if (nonStandardFixed) {
+            fixLogs.add("修复了非标准的JSON格式");
+        }
+        return !fixLogs.isEmpty();
+    }
+
+    private void push(byte type) {
+        if (depth == stack.length) {
+            byte[] grown = new byte[stack.length * 2];
+            System.arraycopy(stack, 0, grown, 0, depth);
+            stack = grown;
+        }
+        stack[depth++] = type;
+    }
+
+    private static char closer(byte type) {
+        return type == OBJECT ? '}' : ']';
+    }
+
+    private boolean contentEquals(String keyword) {
+        return keyword.contentEquals(word);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '-' || c == '+' || c == '.';
+    }
+
+    /**
+     * 判断是否为合法的JSON数字：-?(0|[1-9]\d*)(\.\d+)?([eE][+-]?\d+)?
+     */
+    private static boolean isJsonNumber(CharSequence s) {
+        int i = 0;
+        int n = s.length();
+        if (i < n && s.charAt(i) == '-') {
+            i++;
+        }
+        if (i >= n || !isDigit(s.charAt(i))) {
+            return false;
+        }
+        if (s.charAt(i) == '0') {
+            i++;
+        } else {
+            while (i < n && isDigit(s.charAt(i))) {
+                i++;
+            }
+        }
+        if (i < n && s.charAt(i) == '.') {
+            i++;
+            if (i >= n || !isDigit(s.charAt(i))) {
+                return false;
+            }
+            while (i < n && isDigit(s.charAt(i))) {
+                i++;
+            }
+        }
+        if (i < n && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+                i++;
+            }
+            if (i >= n || !isDigit(s.charAt(i))) {
+                return false;
+            }
+            while (i < n && isDigit(s.charAt(i))) {
+                i++;
+            }
+        }
+        return i == n;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,17 @@
+package com.daicy.devtools.core.json;
+
+import java.util.List;
+
+/**
+ * JSON自动修复的结果
+ * 未发生修复时修复日志为空，文本与输入相同
+ */
+public record JsonFixResult(String text, List<String> fixLogs) {
+    public JsonFixResult {
+        fixLogs = List.copyOf(fixLogs);
+    }
+
+    public boolean isFixed() {
+        return !fixLogs.isEmpty();
+    }
+}
@@ -0,0 +1,25 @@
+package com.daicy.devtools.core.json;
+
+/**
+ * JSON格式化任务的结果
+ * 成功时包含格式化文本，失败时包含错误信息和出错位置
+ */
+public record JsonFormatResult(
+    String text,
+    String errorMessage,
+    String errorSource,
+    int errorLine,
+    int errorColumn
+) {
+    public static JsonFormatResult success(String text) {
+        return new JsonFormatResult(text, null, null, -1, -1);
+    }
+
+    public static JsonFormatResult error(String errorMessage, String errorSource, int errorLine, int errorColumn) {
+        return new JsonFormatResult(null, errorMessage, errorSource, errorLine, errorColumn);
+    }
+
+    public boolean isError() {
+        return errorMessage != null;
+    }
+}
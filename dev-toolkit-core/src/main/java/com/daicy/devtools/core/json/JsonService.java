@@ -0,0 +1,127 @@
+package com.daicy.devtools.core.json;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * JSON格式化、压缩和自动修复服务
+ * 不依赖任何界面组件，线程安全，可在批处理和命令行中并行调用
+ */
+public class JsonService {
+    private static final String FIX_NOTICE = "[自动修复] JSON格式已修复\n";
+
+    private final StreamingJsonFormatter formatter;
+
+    public JsonService() {
+        this(new StreamingJsonFormatter());
+    }
+
+    public JsonService(StreamingJsonFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+    public StreamingJsonFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * 美化JSON，不做修复
+     *
+     * @param json JSON字符串
+     * @return 格式化后的JSON字符串
+     * @throws IOException JSON语法错误时抛出
+     */
+    public String format(String json) throws IOException {
+        return formatter.format(json);
+    }
+
+    /**
+     * 压缩JSON，去除所有空白
+     *
+     * @param json JSON字符串
+     * @return 压缩后的JSON字符串
+     * @throws IOException JSON语法错误时抛出
+     */
+    public String compact(String json) throws IOException {
+        return formatter.compact(json);
+    }
+
+    /**
+     * 流式美化JSON
+     *
+     * @param reader 输入的JSON
+     * @param writer 格式化结果的输出目标
+     * @throws IOException 读写失败或JSON语法错误时抛出
+     */
+    public void format(Reader reader, Writer writer) throws IOException {
+        formatter.format(reader, writer);
+    }
+
+    /**
+     * 流式压缩JSON
+     *
+     * @param reader 输入的JSON
+     * @param writer 压缩结果的输出目标
+     * @throws IOException 读写失败或JSON语法错误时抛出
+     */
+    public void compact(Reader reader, Writer writer) throws IOException {
+        formatter.compact(reader, writer);
+    }
+
+    /**
+     * 自动修复JSON，每次调用使用独立的修复器
+     *
+     * @param json 输入的JSON字符串
+     * @return 修复后的文本和修复日志
+     */
+    public JsonFixResult fix(String json) {
+        JsonAutoFixer fixer = new JsonAutoFixer();
+        String fixed = fixer.fix(json);
+        return new JsonFixResult(fixed, fixer.getFixLogs());
+    }
+
+    /**
+     * 自动修复后美化输出，与JSON格式化插件的行为一致：
+     * 发生修复时在结果前附加修复说明，语法错误不抛出而是放入结果中
+     *
+     * @param json 输入的JSON字符串
+     * @return 格式化结果或错误信息
+     */
+    public JsonFormatResult fixAndFormat(String json) {
+        JsonFixResult fixed = fix(json);
+        try {
+            String formatted = formatter.format(fixed.text());
+            return JsonFormatResult.success(withFixNotice(fixed.fixLogs(), formatted));
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            int line = location != null ? location.getLineNr() : -1;
+            int column = location != null ? location.getColumnNr() : -1;
+            return JsonFormatResult.error(e.getMessage(), fixed.text(), line, column);
+        } catch (IOException e) {
+            return JsonFormatResult.error(e.getMessage(), fixed.text(), -1, -1);
+        }
+    }
+
+    /**
+     * 在格式化结果前附加修复说明
+     *
+     * @param fixLogs 修复日志，为空时原样返回
+     * @param json 格式化后的JSON
+     * @return 附加说明后的文本
+     */
+    public static String withFixNotice(List<String> fixLogs, String json) {
+        if (fixLogs.isEmpty()) {
+            return json;
+        }
+        StringBuilder message = new StringBuilder(FIX_NOTICE);
+        for (String log : fixLogs) {
+            message.append("- ").append(log).append("\n");
+        }
+        return message.append("\n").append(json).toString();
+    }
+}
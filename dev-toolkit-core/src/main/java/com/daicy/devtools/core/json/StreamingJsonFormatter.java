@@ -0,0 +1,120 @@
+package com.daicy.devtools.core.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 基于Jackson流式API的JSON格式化引擎
+ * 逐个token从JsonParser复制到JsonGenerator，不构建对象树，
+ * 内存占用只与嵌套深度有关，与文档大小无关
+ * 实例不保存任何调用状态，可在多个线程中共享
+ */
+public class StreamingJsonFormatter {
+    private final JsonFactory jsonFactory;
+
+    public StreamingJsonFormatter() {
+        this.jsonFactory = new JsonFactory();
+        // 输入输出流由调用方负责关闭
+        this.jsonFactory.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        this.jsonFactory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * 美化输出
+     *
+     * @param reader 输入的JSON
+     * @param writer 格式化结果的输出目标
+     * @throws IOException 读写失败或JSON语法错误时抛出
+     */
+    public void format(Reader reader, Writer writer) throws IOException {
+        transform(reader, writer, true);
+    }
+
+    /**
+     * 压缩输出，去除所有空白
+     *
+     * @param reader 输入的JSON
+     * @param writer 压缩结果的输出目标
+     * @throws IOException 读写失败或JSON语法错误时抛出
+     */
+    public void compact(Reader reader, Writer writer) throws IOException {
+        transform(reader, writer, false);
+    }
+
+    /**
+     * 从文件读取并美化输出
+     *
+     * @param source JSON文件路径（UTF-8）
+     * @param writer 格式化结果的输出目标
+     * @throws IOException 读写失败或JSON语法错误时抛出
+     */
+    public void format(Path source, Writer writer) throws IOException {
+        try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            format(reader, writer);
+        }
+    }
+
+    /**
+     * 从文件读取并压缩输出
+     *
+     * @param source JSON文件路径（UTF-8）
+     * @param writer 压缩结果的输出目标
+     * @throws IOException 读写失败或JSON语法错误时抛出
+     */
+    public void compact(Path source, Writer writer) throws IOException {
+        try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            compact(reader, writer);
+        }
+    }
+
+    /**
+     * 美化字符串形式的JSON
+     *
+     * @param json JSON字符串
+     * @return 格式化后的JSON字符串
+     * @throws IOException JSON语法错误时抛出
+     */
+    public String format(String json) throws IOException {
+        StringWriter writer = new StringWriter(json.length() + (json.length() >> 1));
+        format(new StringReader(json), writer);
+        return writer.toString();
+    }
+
+    /**
+     * 压缩字符串形式的JSON
+     *
+     * @param json JSON字符串
+     * @return 压缩后的JSON字符串
+     * @throws IOException JSON语法错误时抛出
+     */
+    public String compact(String json) throws IOException {
+        StringWriter writer = new StringWriter(json.length());
+        compact(new StringReader(json), writer);
+        return writer.toString();
+    }
+
+    private void transform(Reader reader, Writer writer, boolean pretty) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(reader);
+             JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            if (pretty) {
+                generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            }
+            while (parser.nextToken() != null) {
+                // 使用精确复制，避免大数和高精度小数经过double转换丢失精度
+                generator.copyCurrentEventExact(parser);
+            }
+            generator.flush();
+        }
+    }
+}
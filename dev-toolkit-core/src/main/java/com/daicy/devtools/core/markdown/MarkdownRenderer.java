@@ -0,0 +1,30 @@
+package com.daicy.devtools.core.markdown;
+
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+
+/**
+ * Markdown渲染服务
+ * flexmark的解析器和渲染器构建后是无状态的，本类可在多个线程中共享
+ */
+public class MarkdownRenderer {
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+
+    public MarkdownRenderer() {
+        MutableDataSet options = new MutableDataSet();
+        this.parser = Parser.builder(options).build();
+        this.renderer = HtmlRenderer.builder(options).build();
+    }
+
+    /**
+     * 把Markdown渲染为HTML片段
+     *
+     * @param markdown Markdown文本
+     * @return HTML片段
+     */
+    public String render(String markdown) {
+        return renderer.render(parser.parse(markdown));
+    }
+}
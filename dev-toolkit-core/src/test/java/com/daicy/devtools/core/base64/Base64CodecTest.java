@@ -0,0 +1,159 @@
+package com.daicy.devtools.core.base64;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Base64CodecTest {
+    private final Base64Codec basic = Base64Codec.of(Base64Variant.BASIC);
+
+    @Test
+    void testRoundTripMatchesJdk() {
+        Random random = new Random(42);
+        for (int length = 0; length < 300; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            String expected = Base64.getEncoder().encodeToString(data);
+
+            ByteBuffer encoded = ByteBuffer.allocate(Base64Codec.encodedLength(length));
+            basic.encode(ByteBuffer.wrap(data), encoded);
+            assertEquals(expected, new String(encoded.array(), StandardCharsets.US_ASCII));
+
+            encoded.flip();
+            ByteBuffer decoded = ByteBuffer.allocateDirect(Base64Codec.maxDecodedLength(encoded.remaining()));
+            assertEquals(length, basic.decode(encoded, decoded));
+            decoded.flip();
+            assertEquals(ByteBuffer.wrap(data), decoded);
+        }
+    }
+
+    @Test
+    void testDecodeSkipsLineBreaksAndAcceptsMissingPadding() {
+        byte[] data = "你好，DevTools".getBytes(StandardCharsets.UTF_8);
+        String mime = Base64.getMimeEncoder(8, "\r\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(data);
+        assertEquals(ByteBuffer.wrap(data), decode(basic, mime));
+
+        String unpadded = Base64.getEncoder().withoutPadding().encodeToString(data);
+        assertEquals(ByteBuffer.wrap(data), decode(basic, unpadded));
+        assertEquals(ByteBuffer.wrap(new byte[]{(byte) 0xfb, (byte) 0xff}), decode(Base64Codec.of(Base64Variant.URL), "-_8="));
+    }
+
+    @Test
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> decode(basic, "SGVs*bG8="));
+        assertThrows(IllegalArgumentException.class, () -> decode(basic, "SGVsbG8=x"));
+        assertThrows(IllegalArgumentException.class, () -> decode(basic, "SGVsb==="));
+        assertThrows(IllegalArgumentException.class, () -> decode(basic, "SGVsb"));
+        assertThrows(IllegalArgumentException.class, () -> decode(Base64Codec.of(Base64Variant.URL), "ab+/"));
+        // MIME变体忽略字母表以外的字符
+        assertEquals(ByteBuffer.wrap("Hello".getBytes(StandardCharsets.US_ASCII)),
+            decode(Base64Codec.of(Base64Variant.MIME), "SGVs*bG8="));
+    }
+
+    @Test
+    void testParallelDecodeMatchesJdk() {
+        Random random = new Random(7);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // 行宽不是4的倍数时分块边界需要按有效字符数对齐
+            for (int lineLength : new int[]{76, 61, 1000}) {
+                byte[] data = new byte[3 * 1024 * 1024 + lineLength];
+                random.nextBytes(data);
+                byte[] encoded = Base64.getMimeEncoder(lineLength, "\n".getBytes(StandardCharsets.US_ASCII)).encode(data);
+                // getMimeEncoder 会把行宽向下取整为4的倍数，手工折行以覆盖不对齐的情况
+                if (lineLength % 4 != 0) {
+                    encoded = wrap(Base64.getEncoder().encode(data), lineLength);
+                }
+
+                ByteBuffer src = ByteBuffer.allocateDirect(encoded.length);
+                src.put(encoded).flip();
+                ByteBuffer dst = ByteBuffer.allocateDirect(Base64Codec.maxDecodedLength(encoded.length));
+                int size = Base64Codec.of(Base64Variant.MIME).decodeParallel(src, dst, pool);
+
+                assertEquals(data.length, size);
+                dst.flip();
+                assertEquals(ByteBuffer.wrap(data), dst, "行宽 " + lineLength);
+                assertFalse(src.hasRemaining());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelDecodeWithLongWhitespaceTail() {
+        byte[] data = new byte[2 * 1024 * 1024 + 1];
+        new Random(3).nextBytes(data);
+        String encoded = Base64.getEncoder().encodeToString(data) + " ".repeat(1024 * 1024);
+        ByteBuffer src = ByteBuffer.wrap(encoded.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer dst = ByteBuffer.allocate(Base64Codec.maxDecodedLength(src.remaining()));
+
+        assertEquals(data.length, basic.decodeParallel(src, dst, ForkJoinPool.commonPool()));
+        dst.flip();
+        assertEquals(ByteBuffer.wrap(data), dst);
+    }
+
+    @Test
+    void testSniffer() {
+        assertEquals(StandardCharsets.UTF_8, sniff("{\"name\":\"开发工具\"}".getBytes(StandardCharsets.UTF_8)).charset());
+        Charset gb18030 = Charset.forName("GB18030");
+        assertEquals(gb18030, sniff("开发工具插件".getBytes(gb18030)).charset());
+        SniffResult bom = sniff(new byte[]{(byte) 0xFF, (byte) 0xFE, 'a', 0});
+        assertEquals(StandardCharsets.UTF_16LE, bom.charset());
+        assertEquals(2, bom.bomLength());
+        assertFalse(sniff(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0}).isText());
+
+        // 窗口末尾截断的多字节字符不影响判断
+        byte[] text = "工".repeat(ContentSniffer.WINDOW).getBytes(StandardCharsets.UTF_8);
+        assertEquals(StandardCharsets.UTF_8, sniff(text).charset());
+    }
+
+    @Test
+    void testBufferPoolReusesBuffers() {
+        DirectBufferPool pool = new DirectBufferPool(1024 * 1024);
+        ByteBuffer first = pool.acquire(100_000);
+        assertTrue(first.isDirect());
+        assertEquals(100_000, first.limit());
+        assertEquals(128 * 1024, first.capacity());
+        pool.release(first);
+        assertEquals(128 * 1024, pool.getRetainedBytes());
+
+        ByteBuffer second = pool.acquire(70_000);
+        assertSame(first, second);
+        assertEquals(0, second.position());
+        assertEquals(70_000, second.limit());
+        assertEquals(0, pool.getRetainedBytes());
+
+        // 超过保留上限的缓冲区不再入池
+        pool.release(pool.acquire(2 * 1024 * 1024));
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    private static ByteBuffer decode(Base64Codec codec, String base64) {
+        ByteBuffer src = ByteBuffer.wrap(base64.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer dst = ByteBuffer.allocate(Base64Codec.maxDecodedLength(src.remaining()));
+        codec.decode(src, dst);
+        return dst.flip();
+    }
+
+    private static SniffResult sniff(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data).flip();
+        return ContentSniffer.sniff(buffer);
+    }
+
+    private static byte[] wrap(byte[] encoded, int lineLength) {
+        ByteBuffer wrapped = ByteBuffer.allocate(encoded.length + encoded.length / lineLength + 1);
+        for (int i = 0; i < encoded.length; i += lineLength) {
+            wrapped.put(encoded, i, Math.min(lineLength, encoded.length - i)).put((byte) '\n');
+        }
+        return java.util.Arrays.copyOf(wrapped.array(), wrapped.position());
+    }
+}
@@ -0,0 +1,112 @@
+package com.daicy.devtools.core.base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Base64ServiceTest {
+    @TempDir
+    Path tempDir;
+
+    private Base64Service base64Service;
+    private byte[] binary;
+
+    @BeforeEach
+    void setUp() {
+        base64Service = new Base64Service();
+        // 跨越多个缓冲区且长度不是3的倍数，包含所有字节值
+        binary = new byte[Base64Service.BUFFER_SIZE * 3 + 7];
+        new Random(42).nextBytes(binary);
+    }
+
+    @Test
+    void testEncodeFileMatchesJdkForEachVariant() throws IOException {
+        Path source = Files.write(tempDir.resolve("data.bin"), binary);
+        for (Base64Variant variant : Base64Variant.values()) {
+            Path target = tempDir.resolve("data." + variant.name() + ".b64");
+            long written = base64Service.encodeFile(source, target, variant, null);
+            byte[] expected = variant.encoder().encode(binary);
+            assertArrayEquals(expected, Files.readAllBytes(target), variant.name());
+            assertEquals(expected.length, written);
+        }
+    }
+
+    @Test
+    void testDecodeFileRoundTrip() throws IOException {
+        Path source = Files.write(tempDir.resolve("data.bin"), binary);
+        for (Base64Variant variant : Base64Variant.values()) {
+            Path encoded = tempDir.resolve("data.b64");
+            Path decoded = tempDir.resolve("data.out");
+            base64Service.encodeFile(source, encoded, variant, null);
+            long written = base64Service.decodeFile(encoded, decoded, variant, null);
+            assertEquals(binary.length, written);
+            assertArrayEquals(binary, Files.readAllBytes(decoded), variant.name());
+        }
+    }
+
+    @Test
+    void testProgressReachesTotal() throws IOException {
+        Path source = Files.write(tempDir.resolve("data.bin"), binary);
+        AtomicLong last = new AtomicLong(-1);
+        base64Service.encodeFile(source, tempDir.resolve("data.b64"), Base64Variant.BASIC, (processed, total) -> {
+            assertTrue(processed > last.get(), "进度应单调递增");
+            assertEquals(binary.length, total);
+            last.set(processed);
+        });
+        assertEquals(binary.length, last.get());
+    }
+
+    @Test
+    void testInvalidInputDeletesTarget() throws IOException {
+        Path source = Files.writeString(tempDir.resolve("bad.b64"), "YWJj$$$$");
+        Path target = tempDir.resolve("bad.out");
+        assertThrows(IOException.class, () -> base64Service.decodeFile(source, target, Base64Variant.BASIC, null));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void testListenerCanAbort() throws IOException {
+        Path source = Files.write(tempDir.resolve("data.bin"), binary);
+        Path target = tempDir.resolve("data.b64");
+        assertThrows(IllegalStateException.class, () -> base64Service.encodeFile(source, target, Base64Variant.BASIC,
+            (processed, total) -> {
+                throw new IllegalStateException("cancelled");
+            }));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void testTextVariants() {
+        byte[] bytes = {(byte) 0xfb, (byte) 0xff};
+        assertEquals("+/8=", base64Service.encode(bytes, Base64Variant.BASIC));
+        assertEquals("-_8=", base64Service.encode(bytes, Base64Variant.URL));
+        assertArrayEquals(bytes, base64Service.decodeBytes("-_8=", Base64Variant.URL));
+        assertEquals(Base64.getEncoder().encodeToString("你好".getBytes(StandardCharsets.UTF_8)), base64Service.encode("你好"));
+    }
+
+    @Test
+    void testDecodeFastDetectsTextAndBinary() {
+        String text = "{\"name\":\"开发工具\"}\n".repeat(50_000);
+        String encoded = Base64.getMimeEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+        DecodedContent content = base64Service.decodeFast(encoded, Base64Variant.BASIC);
+        assertEquals(text, content.text());
+        assertEquals(StandardCharsets.UTF_8, content.charset());
+
+        DecodedContent binaryContent = base64Service.decodeFast(Base64.getEncoder().encodeToString(binary), Base64Variant.BASIC);
+        assertTrue(binaryContent.isBinary());
+        assertEquals(binary.length, binaryContent.size());
+        assertTrue(binaryContent.text().startsWith(String.format("%02x %02x", binary[0] & 0xff, binary[1] & 0xff)));
+
+        assertThrows(IllegalArgumentException.class, () -> base64Service.decodeFast("SGVs*bG8=", Base64Variant.BASIC));
+    }
+}
@@ -0,0 +1,40 @@
+package com.daicy.devtools.core.bean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JavaBeanGeneratorTest {
+    private JavaBeanGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new JavaBeanGenerator();
+    }
+
+    @Test
+    void testGenerateFieldsAndAccessors() throws IOException {
+        String code = generator.generate("{\"user_name\":\"John\",\"age\":30,\"tags\":[\"a\"]}", "com.example", "User");
+        assertTrue(code.startsWith("package com.example;\n\n"));
+        assertTrue(code.contains("public class User {"));
+        assertTrue(code.contains("private String userName;"));
+        assertTrue(code.contains("private Integer age;"));
+        assertTrue(code.contains("private List<String> tags;"));
+        assertTrue(code.contains("public String getUserName() {"));
+        assertTrue(code.contains("public void setAge(Integer age) {"));
+    }
+
+    @Test
+    void testGenerateWithoutPackage() throws IOException {
+        String code = generator.generate("{\"id\":1}", "", "Item");
+        assertTrue(code.startsWith("import java.util.List;"));
+    }
+
+    @Test
+    void testInvalidJson() {
+        assertThrows(IOException.class, () -> generator.generate("{invalid", "com.example", "Bad"));
+    }
+}
@@ -1,4 +1,4 @@
-package com.daicy.devtools.plugin.http;
+package com.daicy.devtools.core.http;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -0,0 +1,136 @@
+package com.daicy.devtools.core.json;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonAutoFixerTest {
+    private JsonAutoFixer jsonAutoFixer;
+
+    @BeforeEach
+    void setUp() {
+        jsonAutoFixer = new JsonAutoFixer();
+    }
+
+    @Test
+    void testNullOrEmptyInput() {
+        assertNull(jsonAutoFixer.fix(null));
+        assertEquals("", jsonAutoFixer.fix(""));
+        assertEquals("  ", jsonAutoFixer.fix("  "));
+    }
+
+    @Test
+    void testFixBasicFormat() {
+        String input = "\"name\":\"John\"";
+        String expected = "{\"name\":\"John\"}";
+        assertEquals(expected, jsonAutoFixer.fix(input));
+        assertEquals(List.of("添加了缺失的开始大括号", "添加了缺失的结束大括号", "修复了基本格式"),
+            jsonAutoFixer.getFixLogs());
+    }
+
+    @Test
+    void testFixEmptyValues() {
+        String input = "{\"name\":\"\",\"age\":,\"skills\":[]}";
+        String expected = "{\"name\":\"\",\"age\":null,\"skills\":[]}";
+        assertEquals(expected, jsonAutoFixer.fix(input));
+        assertTrue(jsonAutoFixer.hasFixed());
+    }
+
+    @Test
+    void testFixUnclosedQuotes() {
+        String input = "{\"name\":\"John}";
+        String expected = "{\"name\":\"John\"}";
+        assertEquals(expected, jsonAutoFixer.fix(input));
+        assertEquals(List.of("修复了未闭合的引号"), jsonAutoFixer.getFixLogs());
+    }
+
+    @Test
+    void testFixCommas() {
+        String input = "{\"names\":[\"John\",\"Jane\",],\"age\":30,}";
+        String expected = "{\"names\":[\"John\",\"Jane\"],\"age\":30}";
+        assertEquals(expected, jsonAutoFixer.fix(input));
+        assertEquals(List.of("移除了多余的逗号"), jsonAutoFixer.getFixLogs());
+    }
+
+    @Test
+    void testFixUnclosedBrackets() {
+        String input = "{\"data\":{\"array\":[1,2,3";
+        String expected = "{\"data\":{\"array\":[1,2,3]}}";
+        assertEquals(expected, jsonAutoFixer.fix(input));
+        assertTrue(jsonAutoFixer.getFixLogs().contains("修复了未闭合的括号"));
+    }
+
+    @Test
+    void testDropUnmatchedClosingBracket() {
+        assertEquals("{\"a\":[1]}", jsonAutoFixer.fix("{\"a\":[1]]}"));
+        assertEquals(List.of("修复了未闭合的括号"), jsonAutoFixer.getFixLogs());
+    }
+
+    @Test
+    void testFixBooleanAndNull() {
+        String input = "{\"active\":TRUE,\"deleted\":False,\"data\":NULL,\"status\":undefined}";
+        String expected = "{\"active\":true,\"deleted\":false,\"data\":null,\"status\":null}";
+        assertEquals(expected, jsonAutoFixer.fix(input));
+        assertEquals(List.of("修复了布尔值和null值的格式"), jsonAutoFixer.getFixLogs());
+    }
+
+    @Test
+    void testFixNonStandardFormat() {
+        String input = "{'name':'John',age:30,status:'active'}";
+        String expected = "{\"name\":\"John\",\"age\":30,\"status\":\"active\"}";
+        assertEquals(expected, jsonAutoFixer.fix(input));
+        assertEquals(List.of("修复了非标准的JSON格式"), jsonAutoFixer.getFixLogs());
+    }
+
+    @Test
+    void testComplexJson() {
+        String input = "{'user':{name:'John',age:30,hobbies:['reading','gaming',],address:{city:'New York',}}}";
+        String expected = "{\"user\":{\"name\":\"John\",\"age\":30,\"hobbies\":[\"reading\",\"gaming\"],\"address\":{\"city\":\"New York\"}}}";
+        assertEquals(expected, jsonAutoFixer.fix(input));
+        assertTrue(jsonAutoFixer.hasFixed());
+    }
+
+    @Test
+    void testStringContentIsNotRewritten() {
+        String input = "{\"text\":\"It's TRUE, {not: 'json'},\",\"ok\":true}";
+        assertEquals(input, jsonAutoFixer.fix(input));
+        assertFalse(jsonAutoFixer.hasFixed());
+    }
+
+    @Test
+    void testSingleQuotedStringWithDoubleQuote() {
+        assertEquals("{\"say\":\"a \\\"b\\\" c's\"}", jsonAutoFixer.fix("{'say':'a \"b\" c\\'s'}"));
+    }
+
+    @Test
+    void testFixEscapedJson() {
+        String input = "{\\\"name\\\":\\\"a\\\\\\\"b\\\",\\\"n\\\":1}";
+        String expected = "{\"name\":\"a\\\"b\",\"n\":1}";
+        assertEquals(expected, jsonAutoFixer.fix(input));
+        assertEquals(List.of("处理了转义的JSON字符串"), jsonAutoFixer.getFixLogs());
+
+        assertEquals("{\"a\":1}", jsonAutoFixer.fix("\"{\\\"a\\\":1}\""));
+        assertEquals(List.of("处理了转义的JSON字符串"), jsonAutoFixer.getFixLogs());
+    }
+
+    @Test
+    void testValidJsonIsUnchanged() {
+        String input = "{\"insured_num\":\"\",\"policy_code\":\"370162998794008\",\"policy_type\":\"\",\"escaped\":\"a\\\"b\"}";
+        assertSame(input, jsonAutoFixer.fix(input));
+        assertFalse(jsonAutoFixer.hasFixed());
+    }
+
+    @Test
+    void testDeepNesting() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            input.append("{\"a\":[");
+        }
+        String fixed = jsonAutoFixer.fix(input.toString());
+        assertEquals(input.length() + 2000, fixed.length());
+        assertTrue(fixed.endsWith("]}]}"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.daicy.devtools.core.json;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonServiceTest {
+    private JsonService jsonService;
+
+    @BeforeEach
+    void setUp() {
+        jsonService = new JsonService();
+    }
+
+    @Test
+    void testFixAndFormatValidJson() {
+        JsonFormatResult result = jsonService.fixAndFormat("{\"name\":\"John\",\"age\":30}");
+        assertFalse(result.isError());
+        assertEquals("{\n  \"name\" : \"John\",\n  \"age\" : 30\n}", result.text());
+    }
+
+    @Test
+    void testFixAndFormatAddsFixNotice() {
+        JsonFormatResult result = jsonService.fixAndFormat("{'name':'John'}");
+        assertFalse(result.isError());
+        assertTrue(result.text().startsWith("[自动修复] JSON格式已修复\n- "));
+        assertTrue(result.text().endsWith("{\n  \"name\" : \"John\"\n}"));
+    }
+
+    @Test
+    void testFixAndFormatReportsErrorLocation() {
+        JsonFormatResult result = jsonService.fixAndFormat("[1 2]");
+        assertTrue(result.isError());
+        assertEquals("[1 2]", result.errorSource());
+        assertEquals(1, result.errorLine());
+        assertEquals(5, result.errorColumn());
+    }
+
+    @Test
+    void testCompact() throws Exception {
+        assertEquals("{\"a\":[1,2]}", jsonService.compact("{ \"a\" : [ 1, 2 ] }"));
+    }
+
+    @Test
+    void testConcurrentCallsDoNotShareFixState() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JsonFormatResult>> broken = new ArrayList<>();
+            List<Future<JsonFormatResult>> valid = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                broken.add(executor.submit(() -> jsonService.fixAndFormat("{'a':1}")));
+                valid.add(executor.submit(() -> jsonService.fixAndFormat("{\"a\":1}")));
+            }
+            for (Future<JsonFormatResult> future : broken) {
+                assertTrue(future.get().text().startsWith("[自动修复]"));
+            }
+            for (Future<JsonFormatResult> future : valid) {
+                assertEquals("{\n  \"a\" : 1\n}", future.get().text());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.daicy.devtools.core.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingJsonFormatterTest {
+    private StreamingJsonFormatter formatter;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        formatter = new StreamingJsonFormatter();
+    }
+
+    @Test
+    void testFormatMatchesObjectMapperOutput() throws Exception {
+        String input = "{\"name\":\"test\",\"age\":25,\"tags\":[\"a\",\"b\"],\"nested\":{\"ok\":true,\"none\":null}}";
+        ObjectMapper prettyMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String expected = prettyMapper.writeValueAsString(prettyMapper.readValue(input, Object.class));
+
+        assertEquals(expected, formatter.format(input));
+    }
+
+    @Test
+    void testCompact() throws Exception {
+        String input = "{\n  \"name\" : \"test\",\n  \"list\" : [ 1, 2, 3 ]\n}";
+        assertEquals("{\"name\":\"test\",\"list\":[1,2,3]}", formatter.compact(input));
+    }
+
+    @Test
+    void testNumbersKeepPrecision() throws Exception {
+        String input = "{\"big\":123456789012345678901234567890,\"dec\":0.10000000000000000000001}";
+        assertEquals(input, formatter.compact(input));
+    }
+
+    @Test
+    void testFormatFromPath() throws Exception {
+        Path source = tempDir.resolve("input.json");
+        Files.writeString(source, "[{\"id\":1},{\"id\":2}]");
+
+        StringWriter writer = new StringWriter();
+        formatter.compact(source, writer);
+        assertEquals("[{\"id\":1},{\"id\":2}]", writer.toString());
+    }
+
+    @Test
+    void testInvalidJson() {
+        assertThrows(JsonParseException.class, () -> formatter.format("{\"name\":\"test\",}"));
+    }
+}
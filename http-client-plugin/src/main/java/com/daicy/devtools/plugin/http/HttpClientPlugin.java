@@ -1,30 +1,54 @@
 package com.daicy.devtools.plugin.http;
 
-import java.nio.charset.StandardCharsets;
-
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpDelete;
-import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpPatch;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpPut;
-import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
 
+import org.apache.http.pool.PoolStats;
+
+import com.daicy.devtools.core.http.ResponseFormatter;
 import com.daicy.devtools.plugin.Plugin;
+import com.daicy.devtools.plugin.http.collection.CollectionRunner;
+import com.daicy.devtools.plugin.http.collection.CollectionStore;
+import com.daicy.devtools.plugin.http.collection.RequestCollection;
+import com.daicy.devtools.plugin.http.collection.RequestRunResult;
+import com.daicy.devtools.plugin.http.collection.SavedRequest;
+import com.daicy.devtools.plugin.http.engine.Http2ConnectionStats;
+import com.daicy.devtools.plugin.http.engine.HttpCall;
+import com.daicy.devtools.plugin.http.engine.HttpEngine;
+import com.daicy.devtools.plugin.http.engine.HttpProtocol;
+import com.daicy.devtools.plugin.http.engine.HttpResult;
+import com.daicy.devtools.plugin.http.engine.RequestSpec;
+import com.daicy.devtools.plugin.http.engine.ResponseBody;
+import com.daicy.devtools.plugin.http.engine.ResponseHeader;
+import com.daicy.devtools.plugin.http.loadtest.LoadTestConfig;
+import com.daicy.devtools.plugin.http.loadtest.LoadTestRunner;
+import com.daicy.devtools.plugin.http.loadtest.LoadTestSnapshot;
+import com.daicy.devtools.plugin.metrics.OperationMetrics;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.geometry.Side;
 import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.Spinner;
 import javafx.scene.control.SplitPane;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
@@ -32,14 +56,26 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
+import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.scene.web.WebView;
+import javafx.util.Duration;
 
 public class HttpClientPlugin implements Plugin {
+    private static final int PREVIEW_TAB_INDEX = 2;
+    private static final int COLLECTION_RESULTS_TAB_INDEX = 3;
+    /** 运行集合的默认并发数 */
+    private static final int DEFAULT_COLLECTION_CONCURRENCY = 8;
+    /** 默认的格式化上限，单位MB */
+    private static final int DEFAULT_FORMAT_LIMIT_MB = 2;
+    /** 压测统计的刷新间隔，单位毫秒 */
+    private static final int LOAD_TEST_REFRESH_MS = 500;
+
     private VBox root;
     private ComboBox<String> methodComboBox;
+    private ComboBox<HttpProtocol> protocolComboBox;
     private TextField urlField;
     private TabPane requestTabPane;
     private TabPane responseTabPane;
@@ -47,11 +83,44 @@ public class HttpClientPlugin implements Plugin {
     private TextArea responseBodyArea;
     private WebView responsePreview;
     private TableView<Header> headersTable;
+    private Button sendButton;
     private ResponseFormatter responseFormatter;
+    private HttpEngine httpEngine;
+    private HttpCall currentCall;
+    private ResponseBody currentBody;
+    private Supplier<String> pendingPreview;
+    private Spinner<Integer> formatLimitSpinner;
+    private Spinner<Integer> virtualUsersSpinner;
+    private Spinner<Integer> targetRpsSpinner;
+    private Spinner<Integer> durationSpinner;
+    private Spinner<Integer> rampUpSpinner;
+    private Button loadTestButton;
+    private TextArea loadTestArea;
+    private LoadTestRunner loadTestRunner;
+    private LoadTestSnapshot lastLoadTestSnapshot;
+    private Timeline loadTestRefresh;
+    private CollectionStore collectionStore;
+    private ComboBox<String> collectionComboBox;
+    private TextField requestNameField;
+    private TextField dependsOnField;
+    private ListView<String> savedRequestsList;
+    private Spinner<Integer> concurrencySpinner;
+    private Button runCollectionButton;
+    private TableView<RequestRunResult> collectionResultsTable;
+    private Label collectionSummaryLabel;
+    private CollectionRunner collectionRunner;
+    private final OperationMetrics sendMetrics = operationMetrics("发送请求");
 
     @Override
     public void initialize() {
         responseFormatter = new ResponseFormatter();
+        httpEngine = new HttpEngine();
+        collectionStore = new CollectionStore(CollectionStore.DEFAULT_PATH);
+        try {
+            collectionStore.load();
+        } catch (IOException e) {
+            System.err.println("加载请求集合失败: " + e.getMessage());
+        }
         root = new VBox(10);
         root.setPadding(new Insets(10));
 
@@ -62,12 +131,20 @@ public class HttpClientPlugin implements Plugin {
         requestTabPane = new TabPane();
         Tab headersTab = new Tab("Headers", createHeadersTable());
         Tab bodyTab = new Tab("Body", createRequestBody());
-        requestTabPane.getTabs().addAll(headersTab, bodyTab);
+        Tab loadTestTab = new Tab("Load Test", createLoadTestPane());
+        Tab collectionsTab = new Tab("Collections", createCollectionsPane());
+        requestTabPane.getTabs().addAll(headersTab, bodyTab, loadTestTab, collectionsTab);
         
         // 发送按钮
-        Button sendButton = new Button("发送请求");
-        sendButton.setOnAction(e -> sendRequest());
+        sendButton = new Button("发送请求");
+        sendButton.setOnAction(e -> onSendButton());
         sendButton.setId("sendButton");
+        // 超过上限的响应体不格式化、不生成预览页面，只显示首尾部分
+        formatLimitSpinner = new Spinner<>(1, 1024, DEFAULT_FORMAT_LIMIT_MB);
+        formatLimitSpinner.setEditable(true);
+        formatLimitSpinner.setPrefWidth(90);
+        HBox sendBox = new HBox(10, sendButton, new Label("格式化上限(MB)"), formatLimitSpinner);
+        sendBox.setAlignment(Pos.CENTER_LEFT);
 
         // 响应区域
         responseTabPane = new TabPane();
@@ -84,17 +161,24 @@ public class HttpClientPlugin implements Plugin {
         Tab responseInfoTab = new Tab("Response Info", responseInfoArea);
         Tab responseBodyTab = new Tab("Response Body", responseBodyArea);
         Tab previewTab = new Tab("Preview", responsePreview);
-        responseTabPane.getTabs().addAll(responseInfoTab, responseBodyTab, previewTab);
+        Tab collectionResultsTab = new Tab("Collection Results", createCollectionResults());
+        responseTabPane.getTabs().addAll(responseInfoTab, responseBodyTab, previewTab, collectionResultsTab);
+        responseTabPane.getSelectionModel().selectedIndexProperty().addListener((obs, oldIndex, newIndex) -> {
+            if (newIndex.intValue() == PREVIEW_TAB_INDEX) {
+                loadPendingPreview();
+            }
+        });
 
         // 布局
         SplitPane splitPane = new SplitPane(requestTabPane, responseTabPane);
         splitPane.setDividerPositions(0.5);
         VBox.setVgrow(splitPane, Priority.ALWAYS);
 
-        root.getChildren().addAll(urlBox, splitPane, sendButton);
+        root.getChildren().addAll(urlBox, splitPane, sendBox);
 
         urlField.setId("urlField");
         methodComboBox.setId("methodComboBox");
+        protocolComboBox.setId("protocolComboBox");
         requestBodyArea.setId("requestBodyArea");
         responseBodyArea.setId("responseBodyArea");
         headersTable.setId("headersTable");
@@ -106,11 +190,15 @@ public class HttpClientPlugin implements Plugin {
         methodComboBox.getItems().addAll("GET", "POST", "PUT", "DELETE", "PATCH");
         methodComboBox.setValue("GET");
 
+        protocolComboBox = new ComboBox<>();
+        protocolComboBox.getItems().addAll(HttpProtocol.values());
+        protocolComboBox.setValue(HttpProtocol.HTTP_1_1);
+
         urlField = new TextField();
         urlField.setPromptText("Enter URL");
         HBox.setHgrow(urlField, Priority.ALWAYS);
 
-        urlBox.getChildren().addAll(methodComboBox, urlField);
+        urlBox.getChildren().addAll(methodComboBox, urlField, protocolComboBox);
         return urlBox;
     }
 
@@ -221,107 +309,480 @@ public class HttpClientPlugin implements Plugin {
         return requestBodyArea;
     }
 
-    private void sendRequest() {
-        try (CloseableHttpClient client = HttpClients.createDefault()) {
-            String url = urlField.getText();
-            String method = methodComboBox.getValue();
-            
-            HttpRequestBase request = createRequest(method, url);
-            
-            // 添加headers
-            for (Header header : headersTable.getItems()) {
-                if (header.getKey() != null && !header.getKey().isEmpty()) {
-                    request.addHeader(header.getKey(), header.getValue());
-                }
+    private Node createLoadTestPane() {
+        virtualUsersSpinner = createLoadTestSpinner(1, LoadTestConfig.MAX_VIRTUAL_USERS, 10);
+        // 目标RPS为0时每个虚拟用户收到响应后立即发出下一个请求
+        targetRpsSpinner = createLoadTestSpinner(0, 100_000, 0);
+        durationSpinner = createLoadTestSpinner(1, 3600, 10);
+        rampUpSpinner = createLoadTestSpinner(0, 3600, 0);
+
+        loadTestButton = new Button("开始压测");
+        loadTestButton.setId("loadTestButton");
+        loadTestButton.setOnAction(e -> onLoadTestButton());
+
+        FlowPane settings = new FlowPane(10, 10,
+            new Label("虚拟用户"), virtualUsersSpinner,
+            new Label("目标RPS(0为闭环)"), targetRpsSpinner,
+            new Label("时长(秒)"), durationSpinner,
+            new Label("预热(秒)"), rampUpSpinner,
+            loadTestButton);
+        settings.setAlignment(Pos.CENTER_LEFT);
+
+        loadTestArea = new TextArea();
+        loadTestArea.setEditable(false);
+        loadTestArea.setId("loadTestArea");
+        loadTestArea.setStyle("-fx-font-family: 'monospace';");  // 使用等宽字体
+
+        VBox loadTestBox = new VBox(10, settings, loadTestArea);
+        loadTestBox.setPadding(new Insets(10, 0, 0, 0));
+        VBox.setVgrow(loadTestArea, Priority.ALWAYS);
+
+        loadTestRefresh = new Timeline(new KeyFrame(Duration.millis(LOAD_TEST_REFRESH_MS), e -> refreshLoadTest()));
+        loadTestRefresh.setCycleCount(Animation.INDEFINITE);
+        return loadTestBox;
+    }
+
+    private static Spinner<Integer> createLoadTestSpinner(int min, int max, int initial) {
+        Spinner<Integer> spinner = new Spinner<>(min, max, initial);
+        spinner.setEditable(true);
+        spinner.setPrefWidth(100);
+        return spinner;
+    }
+
+    /**
+     * 压测按钮：空闲时按当前请求开始压测，压测进行中时停止
+     */
+    private void onLoadTestButton() {
+        if (loadTestRunner != null && loadTestRunner.isRunning()) {
+            loadTestRunner.stop();
+            loadTestButton.setDisable(true);
+            return;
+        }
+        LoadTestConfig config;
+        try {
+            config = new LoadTestConfig(buildRequestSpec(), virtualUsersSpinner.getValue(),
+                targetRpsSpinner.getValue(), java.time.Duration.ofSeconds(durationSpinner.getValue()),
+                java.time.Duration.ofSeconds(rampUpSpinner.getValue()));
+        } catch (IllegalArgumentException e) {
+            showError("压测参数无效", e.getMessage());
+            return;
+        }
+        LoadTestRunner runner = new LoadTestRunner(httpEngine, config);
+        loadTestRunner = runner;
+        lastLoadTestSnapshot = null;
+        loadTestArea.clear();
+        loadTestButton.setText("停止压测");
+        loadTestRefresh.play();
+        runner.start().whenComplete((result, error) -> Platform.runLater(() -> {
+            if (loadTestRunner != runner) {
+                return;
+            }
+            loadTestRefresh.stop();
+            loadTestButton.setText("开始压测");
+            loadTestButton.setDisable(false);
+            if (result != null) {
+                loadTestArea.setText("=== Load Test Finished ===\n" + result.summary());
+            }
+        }));
+    }
+
+    /**
+     * 定时刷新压测统计，实时吞吐量按两次刷新之间完成的请求数计算
+     */
+    private void refreshLoadTest() {
+        if (loadTestRunner == null) {
+            return;
+        }
+        LoadTestSnapshot snapshot = loadTestRunner.snapshot();
+        String current = String.format(Locale.ROOT, "Current: %.1f req/s%n",
+            snapshot.throughputSince(lastLoadTestSnapshot));
+        lastLoadTestSnapshot = snapshot;
+        loadTestArea.setText("=== Load Test Running ===\n" + current + snapshot.summary());
+    }
+
+    private Node createCollectionsPane() {
+        collectionComboBox = new ComboBox<>();
+        collectionComboBox.setEditable(true);
+        collectionComboBox.setPromptText("集合名称");
+        collectionComboBox.getItems().setAll(collectionStore.names());
+        collectionComboBox.setOnAction(e -> refreshSavedRequests());
+        collectionComboBox.setId("collectionComboBox");
+
+        requestNameField = new TextField();
+        requestNameField.setPromptText("请求名称");
+        requestNameField.setId("requestNameField");
+        // 依赖的请求都成功后才发出本请求
+        dependsOnField = new TextField();
+        dependsOnField.setPromptText("依赖的请求，逗号分隔");
+        HBox.setHgrow(dependsOnField, Priority.ALWAYS);
+
+        Button saveRequestButton = new Button("保存请求");
+        saveRequestButton.setId("saveRequestButton");
+        saveRequestButton.setOnAction(e -> saveCurrentRequest());
+        HBox saveBox = new HBox(10, collectionComboBox, requestNameField, dependsOnField, saveRequestButton);
+        saveBox.setAlignment(Pos.CENTER_LEFT);
+
+        savedRequestsList = new ListView<>();
+        savedRequestsList.setId("savedRequestsList");
+        savedRequestsList.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2) {
+                loadSavedRequest();
             }
-            
-            // 添加body
-            if (request instanceof HttpEntityEnclosingRequestBase && !requestBodyArea.getText().isEmpty()) {
-                ((HttpEntityEnclosingRequestBase) request).setEntity(
-                    new StringEntity(requestBodyArea.getText(), StandardCharsets.UTF_8)
-                );
+        });
+        VBox.setVgrow(savedRequestsList, Priority.ALWAYS);
+
+        Button loadRequestButton = new Button("载入");
+        loadRequestButton.setOnAction(e -> loadSavedRequest());
+        Button removeRequestButton = new Button("删除请求");
+        removeRequestButton.setOnAction(e -> removeSavedRequest());
+        concurrencySpinner = new Spinner<>(1, 256, DEFAULT_COLLECTION_CONCURRENCY);
+        concurrencySpinner.setEditable(true);
+        concurrencySpinner.setPrefWidth(90);
+        runCollectionButton = new Button("运行集合");
+        runCollectionButton.setId("runCollectionButton");
+        runCollectionButton.setOnAction(e -> onRunCollectionButton());
+        HBox runBox = new HBox(10, loadRequestButton, removeRequestButton, new Label("并发数"), concurrencySpinner,
+            runCollectionButton);
+        runBox.setAlignment(Pos.CENTER_LEFT);
+
+        VBox collectionsBox = new VBox(10, saveBox, savedRequestsList, runBox);
+        collectionsBox.setPadding(new Insets(10, 0, 0, 0));
+        return collectionsBox;
+    }
+
+    private Node createCollectionResults() {
+        collectionResultsTable = new TableView<>();
+        collectionResultsTable.setId("collectionResultsTable");
+
+        TableColumn<RequestRunResult, String> nameColumn = new TableColumn<>("Name");
+        nameColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().name()));
+        nameColumn.setPrefWidth(150);
+        TableColumn<RequestRunResult, String> methodColumn = new TableColumn<>("Method");
+        methodColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().method()));
+        TableColumn<RequestRunResult, String> statusColumn = new TableColumn<>("Status");
+        statusColumn.setCellValueFactory(data -> {
+            RequestRunResult result = data.getValue();
+            return new SimpleStringProperty(result.error() != null ? result.error()
+                : String.valueOf(result.statusCode()));
+        });
+        statusColumn.setPrefWidth(150);
+        TableColumn<RequestRunResult, Double> timeColumn = new TableColumn<>("Time(ms)");
+        timeColumn.setCellValueFactory(data -> new SimpleObjectProperty<>(
+            Math.round(data.getValue().durationMillis() * 100) / 100.0));
+        TableColumn<RequestRunResult, Long> sizeColumn = new TableColumn<>("Size(bytes)");
+        sizeColumn.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().bytes()));
+        collectionResultsTable.getColumns().addAll(nameColumn, methodColumn, statusColumn, timeColumn, sizeColumn);
+
+        collectionSummaryLabel = new Label();
+        VBox resultsBox = new VBox(10, collectionSummaryLabel, collectionResultsTable);
+        VBox.setVgrow(collectionResultsTable, Priority.ALWAYS);
+        return resultsBox;
+    }
+
+    private String selectedCollectionName() {
+        String name = collectionComboBox.getEditor().getText();
+        return name != null ? name.trim() : "";
+    }
+
+    private void refreshSavedRequests() {
+        RequestCollection collection = collectionStore.get(selectedCollectionName());
+        List<String> names = new ArrayList<>();
+        if (collection != null) {
+            for (SavedRequest request : collection.getRequests()) {
+                names.add(request.getName());
             }
-            
-            // 记录请求开始时间
-            long startTime = System.currentTimeMillis();
-            
-            // 发送请求
-            try (CloseableHttpResponse response = client.execute(request)) {
-                // 记录请求结束时间
-                long endTime = System.currentTimeMillis();
-                long duration = endTime - startTime;
-                
-                // 获取响应信息
-                String responseBody = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
-                String contentType = response.getFirstHeader("Content-Type") != null 
-                    ? response.getFirstHeader("Content-Type").getValue().toLowerCase() 
-                    : "";
-                
-                // 构建请求信息
-                StringBuilder requestInfo = new StringBuilder();
-                requestInfo.append("=== Request Details ===\n");
-                requestInfo.append("URL: ").append(url).append("\n");
-                requestInfo.append("Method: ").append(method).append("\n");
-                requestInfo.append("Request Headers:\n");
-                for (Header header : headersTable.getItems()) {
-                    if (header.getKey() != null && !header.getKey().isEmpty()) {
-                        requestInfo.append("  ").append(header.getKey()).append(": ").append(header.getValue()).append("\n");
-                    }
+        }
+        savedRequestsList.getItems().setAll(names);
+    }
+
+    /**
+     * 把当前表单保存为集合中的请求，同名请求会被覆盖
+     */
+    private void saveCurrentRequest() {
+        String collectionName = selectedCollectionName();
+        String requestName = requestNameField.getText() != null ? requestNameField.getText().trim() : "";
+        if (collectionName.isEmpty() || requestName.isEmpty()) {
+            showError("保存请求失败", "请填写集合名称和请求名称");
+            return;
+        }
+        List<String> dependsOn = new ArrayList<>();
+        if (dependsOnField.getText() != null) {
+            for (String name : dependsOnField.getText().split(",")) {
+                if (!name.trim().isEmpty()) {
+                    dependsOn.add(name.trim());
                 }
-                if (request instanceof HttpEntityEnclosingRequestBase && !requestBodyArea.getText().isEmpty()) {
-                    requestInfo.append("Request Body:\n").append(requestBodyArea.getText()).append("\n");
+            }
+        }
+        collectionStore.getOrCreate(collectionName).put(new SavedRequest(requestName, buildRequestSpec(), dependsOn));
+        saveCollections();
+        if (!collectionComboBox.getItems().contains(collectionName)) {
+            collectionComboBox.getItems().setAll(collectionStore.names());
+            collectionComboBox.getEditor().setText(collectionName);
+        }
+        refreshSavedRequests();
+    }
+
+    /**
+     * 把选中的请求填入表单
+     */
+    private void loadSavedRequest() {
+        RequestCollection collection = collectionStore.get(selectedCollectionName());
+        String selected = savedRequestsList.getSelectionModel().getSelectedItem();
+        SavedRequest request = collection != null && selected != null ? collection.find(selected) : null;
+        if (request == null) {
+            return;
+        }
+        methodComboBox.setValue(request.getMethod());
+        protocolComboBox.setValue(request.getProtocol());
+        urlField.setText(request.getUrl());
+        headersTable.getItems().clear();
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            headersTable.getItems().add(new Header(header.getKey(), header.getValue()));
+        }
+        requestBodyArea.setText(request.getBody());
+        requestNameField.setText(request.getName());
+        dependsOnField.setText(String.join(", ", request.getDependsOn()));
+    }
+
+    private void removeSavedRequest() {
+        RequestCollection collection = collectionStore.get(selectedCollectionName());
+        String selected = savedRequestsList.getSelectionModel().getSelectedItem();
+        if (collection != null && selected != null && collection.remove(selected)) {
+            saveCollections();
+            refreshSavedRequests();
+        }
+    }
+
+    private void saveCollections() {
+        try {
+            collectionStore.save();
+        } catch (IOException e) {
+            showError("保存请求集合失败", e.getMessage());
+        }
+    }
+
+    /**
+     * 运行按钮：空闲时运行当前集合，运行中时停止，尚未发出的请求记为跳过
+     */
+    private void onRunCollectionButton() {
+        if (collectionRunner != null) {
+            collectionRunner.stop();
+            return;
+        }
+        RequestCollection collection = collectionStore.get(selectedCollectionName());
+        if (collection == null || collection.getRequests().isEmpty()) {
+            showError("运行集合失败", "集合为空");
+            return;
+        }
+        CollectionRunner runner;
+        try {
+            runner = new CollectionRunner(httpEngine, collection, concurrencySpinner.getValue());
+        } catch (IllegalArgumentException e) {
+            showError("运行集合失败", e.getMessage());
+            return;
+        }
+        collectionRunner = runner;
+        collectionResultsTable.getItems().clear();
+        collectionSummaryLabel.setText("运行中...");
+        runCollectionButton.setText("停止");
+        responseTabPane.getSelectionModel().select(COLLECTION_RESULTS_TAB_INDEX);
+        long start = System.nanoTime();
+        // 结果按完成顺序实时加入表格，全部结束后按集合中的顺序重新排列
+        runner.start(result -> Platform.runLater(() -> collectionResultsTable.getItems().add(result)))
+            .whenComplete((results, error) -> Platform.runLater(() -> {
+                collectionRunner = null;
+                runCollectionButton.setText("运行集合");
+                if (error != null) {
+                    collectionSummaryLabel.setText("运行失败: " + errorMessage(error));
+                    return;
                 }
-                
-                // 构建响应信息
-                StringBuilder responseInfo = new StringBuilder();
-                responseInfo.append("\n=== Response Details ===\n");
-                responseInfo.append("Timestamp: ").append(java.time.LocalDateTime.now()).append("\n");
-                responseInfo.append("Status: ").append(response.getStatusLine().toString()).append("\n");
-                responseInfo.append("Time: ").append(duration).append("ms\n");
-                responseInfo.append("Response Size: ").append(responseBody.length()).append(" bytes\n");
-                responseInfo.append("Response Headers:\n");
-                for (org.apache.http.Header header : response.getAllHeaders()) {
-                    responseInfo.append("  ").append(header.getName()).append(": ").append(header.getValue()).append("\n");
+                collectionResultsTable.getItems().setAll(results);
+                long passed = results.stream().filter(RequestRunResult::isSuccess).count();
+                collectionSummaryLabel.setText(String.format(Locale.ROOT, "共 %d 个请求，成功 %d，失败或跳过 %d，用时 %.2fs",
+                    results.size(), passed, results.size() - passed, (System.nanoTime() - start) / 1_000_000_000.0));
+            }));
+    }
+
+    /**
+     * 发送按钮：空闲时发送请求，请求进行中时取消
+     */
+    private void onSendButton() {
+        if (currentCall != null) {
+            currentCall.cancel();
+        } else {
+            sendRequest();
+        }
+    }
+
+    private void sendRequest() {
+        RequestSpec spec = buildRequestSpec();
+        long formatLimit = formatLimitSpinner.getValue() * 1024L * 1024L;
+        long sendStart = sendMetrics.start();
+        HttpCall call = httpEngine.send(spec);
+        currentCall = call;
+        sendButton.setText("取消");
+
+        call.future().whenComplete((result, error) -> {
+            // 在工作线程中读取和格式化响应体，界面线程只负责显示
+            BodyView bodyView = result != null ? prepareBodyView(result, formatLimit) : null;
+            Platform.runLater(() -> {
+                if (currentCall == call) {
+                    currentCall = null;
+                    sendButton.setText("发送请求");
                 }
-                
-                // 更新响应信息区域
-                TextArea responseInfoArea = (TextArea) ((Tab) responseTabPane.getTabs().get(0)).getContent();
-                responseInfoArea.setStyle("-fx-font-family: 'monospace';");  // 使用等宽字体
-                responseInfoArea.setText(requestInfo.toString() + responseInfo.toString());
-                
-                // 格式化响应体
-                String formattedResponse = responseFormatter.format(responseBody, contentType);
-                responseBodyArea.setStyle("-fx-font-family: 'monospace';");  // 使用等宽字体
-                responseBodyArea.setText(formattedResponse);
-                
-                // 更新预览
-                String previewContent = responseFormatter.getPreviewContent(formattedResponse, contentType);
-                responsePreview.getEngine().loadContent(previewContent, "text/html");  // 移除charset参数
-                
-                // 自动切换到响应信息标签
-                responseTabPane.getSelectionModel().select(0);
+                if (error instanceof CancellationException) {
+                    return;
+                }
+                if (error != null) {
+                    sendMetrics.fail(sendStart);
+                    showError("请求失败", errorMessage(error));
+                    return;
+                }
+                sendMetrics.stop(sendStart, result.body().size());
+                showResponse(spec, result, bodyView);
+            });
+        });
+    }
+
+    /**
+     * 响应体在界面中的显示内容
+     *
+     * @param text 响应体区域显示的文本
+     * @param formatted 是否为完整的格式化文本，否则只是首尾预览或错误信息
+     */
+    private record BodyView(String text, boolean formatted) {
+    }
+
+    /**
+     * 不超过格式化上限的响应体读取全文并格式化，否则只取首尾预览
+     */
+    private BodyView prepareBodyView(HttpResult result, long formatLimit) {
+        ResponseBody body = result.body();
+        try {
+            if (body.size() <= formatLimit) {
+                return new BodyView(responseFormatter.format(body.text(), result.contentType()), true);
             }
-            
-        } catch (Exception e) {
-            showError("请求失败", e.getMessage());
+            String location = body.isSpilled() ? "，完整内容已保存到 " + body.file() : "";
+            return new BodyView("响应体共 " + body.size() + " 字节，超过格式化上限" + location
+                + "，以下只显示首尾部分\n\n" + body.preview(), false);
+        } catch (IOException e) {
+            return new BodyView("读取响应体失败: " + e.getMessage(), false);
         }
     }
 
-    private HttpRequestBase createRequest(String method, String url) {
-        switch (method) {
-            case "GET":
-                return new HttpGet(url);
-            case "POST":
-                return new HttpPost(url);
-            case "PUT":
-                return new HttpPut(url);
-            case "DELETE":
-                return new HttpDelete(url);
-            case "PATCH":
-                return new HttpPatch(url);
-            default:
-                throw new IllegalArgumentException("Unsupported HTTP method: " + method);
+    /**
+     * 在界面线程中读取表单，生成可在后台线程使用的请求参数
+     */
+    private RequestSpec buildRequestSpec() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : headersTable.getItems()) {
+            if (header.getKey() != null && !header.getKey().isEmpty()) {
+                headers.put(header.getKey(), header.getValue());
+            }
         }
+        return new RequestSpec(methodComboBox.getValue(), urlField.getText(), headers, requestBodyArea.getText(),
+            protocolComboBox.getValue());
+    }
+
+    private void showResponse(RequestSpec spec, HttpResult result, BodyView bodyView) {
+        String contentType = result.contentType();
+        // 上一个响应的临时文件不再需要
+        closeCurrentBody();
+        currentBody = result.body();
+
+        // 构建请求信息
+        StringBuilder requestInfo = new StringBuilder();
+        requestInfo.append("=== Request Details ===\n");
+        requestInfo.append("URL: ").append(spec.url()).append("\n");
+        requestInfo.append("Method: ").append(spec.method()).append("\n");
+        requestInfo.append("Protocol: ").append(spec.protocol()).append("\n");
+        requestInfo.append("Request Headers:\n");
+        for (Map.Entry<String, String> header : spec.headers().entrySet()) {
+            requestInfo.append("  ").append(header.getKey()).append(": ").append(header.getValue()).append("\n");
+        }
+        if (spec.sendsBody()) {
+            requestInfo.append("Request Body:\n").append(spec.body()).append("\n");
+        }
+
+        // 构建响应信息
+        PoolStats poolStats = httpEngine.poolStats();
+        StringBuilder responseInfo = new StringBuilder();
+        responseInfo.append("\n=== Response Details ===\n");
+        responseInfo.append("Timestamp: ").append(java.time.LocalDateTime.now()).append("\n");
+        responseInfo.append("Status: ").append(result.statusLine()).append("\n");
+        responseInfo.append("Protocol: ").append(result.protocol()).append("\n");
+        responseInfo.append(String.format(Locale.ROOT, "Time: %.2fms%n", result.durationNanos() / 1_000_000.0));
+        responseInfo.append("Response Size: ").append(result.body().size()).append(" bytes\n");
+        if (result.body().isSpilled()) {
+            responseInfo.append("Body File: ").append(result.body().file()).append("\n");
+        }
+        if (spec.protocol() == HttpProtocol.HTTP_2) {
+            Http2ConnectionStats http2Stats = httpEngine.http2Stats(spec.url());
+            if (http2Stats != null) {
+                responseInfo.append("HTTP/2 Connections: ").append(http2Stats.requests()).append(" requests, ");
+                if (http2Stats.connectionsOpened() >= 0) {
+                    responseInfo.append(http2Stats.connectionsOpened()).append(" TLS connections opened, ")
+                        .append(http2Stats.reusedRequests()).append(" reused, ");
+                }
+                responseInfo.append(http2Stats.peakConcurrentStreams()).append(" peak concurrent streams\n");
+            }
+        } else {
+            responseInfo.append("Connection Pool: ").append(poolStats.getLeased()).append(" leased, ")
+                .append(poolStats.getAvailable()).append(" idle\n");
+        }
+        responseInfo.append("Response Headers:\n");
+        for (ResponseHeader header : result.headers()) {
+            responseInfo.append("  ").append(header.name()).append(": ").append(header.value()).append("\n");
+        }
+        responseInfo.append("\n=== Timing ===\n").append(result.timing().waterfall());
+        if (spec.protocol() == HttpProtocol.HTTP_2) {
+            responseInfo.append("HTTP/2 传输无法单独统计DNS、TCP连接和TLS握手，新连接的建立时间计入等待首字节\n");
+        }
+
+        // 更新响应信息区域
+        TextArea responseInfoArea = (TextArea) ((Tab) responseTabPane.getTabs().get(0)).getContent();
+        responseInfoArea.setStyle("-fx-font-family: 'monospace';");  // 使用等宽字体
+        responseInfoArea.setText(requestInfo.toString() + responseInfo.toString());
+
+        responseBodyArea.setStyle("-fx-font-family: 'monospace';");  // 使用等宽字体
+        responseBodyArea.setText(bodyView.text());
+
+        // 预览页面在切换到预览标签时才生成，超过格式化上限时按纯文本预览首尾部分
+        String previewType = bodyView.formatted() ? contentType : "text/plain";
+        pendingPreview = () -> responseFormatter.getPreviewContent(bodyView.text(), previewType);
+
+        // 自动切换到响应信息标签
+        responseTabPane.getSelectionModel().select(0);
+    }
+
+    private void loadPendingPreview() {
+        if (pendingPreview != null) {
+            responsePreview.getEngine().loadContent(pendingPreview.get(), "text/html");
+            pendingPreview = null;
+        }
+    }
+
+    private void closeCurrentBody() {
+        if (currentBody != null) {
+            try {
+                currentBody.close();
+            } catch (IOException e) {
+                System.err.println("删除响应体临时文件失败: " + e.getMessage());
+            }
+            currentBody = null;
+        }
+    }
+
+    /**
+     * 取异常链中第一个非空的错误信息，HttpClient的协议异常本身通常没有信息
+     */
+    private static String errorMessage(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null) {
+                return cause.getMessage();
+            }
+        }
+        return error.getClass().getSimpleName();
     }
 
     private void showError(String title, String message) {
@@ -332,6 +793,28 @@ public class HttpClientPlugin implements Plugin {
         alert.showAndWait();
     }
 
+    @Override
+    public void destroy() {
+        if (currentCall != null) {
+            currentCall.cancel();
+        }
+        if (loadTestRunner != null) {
+            loadTestRunner.stop();
+        }
+        if (loadTestRefresh != null) {
+            loadTestRefresh.stop();
+        }
+        if (collectionRunner != null) {
+            collectionRunner.stop();
+        }
+        closeCurrentBody();
+        try {
+            httpEngine.close();
+        } catch (IOException e) {
+            System.err.println("关闭HTTP引擎失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public String getName() {
         return "HTTP Client";
@@ -0,0 +1,162 @@
+package com.daicy.devtools.plugin.http.collection;
+
+import com.daicy.devtools.plugin.http.engine.HttpEngine;
+import com.daicy.devtools.plugin.http.engine.ResponseSummary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 运行请求集合
+ * 每个请求对应一个 CompletableFuture，在它依赖的请求全部完成后提交到固定大小的线程池，
+ * 没有依赖关系的请求并发执行，线程池大小即并发上限。
+ * 依赖的请求失败或被跳过时，本请求不发出并记为跳过
+ */
+public class CollectionRunner {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final HttpEngine engine;
+    /** 集合中的顺序，用于排列结果 */
+    private final List<SavedRequest> requests;
+    /** 依赖排在被依赖者之后的顺序，用于创建 future */
+    private final List<SavedRequest> sorted;
+    private final int concurrency;
+    private volatile boolean stopped;
+
+    /**
+     * @param engine 执行请求的HTTP引擎
+     * @param collection 要运行的集合
+     * @param concurrency 最多同时进行的请求数
+     * @throws IllegalArgumentException 并发数小于1、请求名称为空或重复、依赖不存在或存在循环依赖时抛出
+     */
+    public CollectionRunner(HttpEngine engine, RequestCollection collection, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("并发数必须大于0: " + concurrency);
+        }
+        this.engine = engine;
+        this.requests = List.copyOf(collection.getRequests());
+        this.sorted = sortByDependencies(requests);
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * 开始运行，立即返回
+     *
+     * @param onResult 每个请求完成或被跳过时在工作线程中调用，不应抛出异常，可为null
+     * @return 全部请求结束后完成，结果按集合中的顺序排列
+     */
+    public CompletableFuture<List<RequestRunResult>> start(Consumer<RequestRunResult> onResult) {
+        engine.ensureMaxPerRoute(concurrency);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "collection-runner-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 按依赖排序后，创建某个请求的 future 时它依赖的 future 都已存在
+        Map<String, CompletableFuture<RequestRunResult>> futures = new HashMap<>();
+        for (SavedRequest request : sorted) {
+            CompletableFuture<?>[] dependencies = request.getDependsOn().stream()
+                .map(futures::get)
+                .toArray(CompletableFuture[]::new);
+            CompletableFuture<RequestRunResult> future = CompletableFuture.allOf(dependencies)
+                .thenApplyAsync(ignored -> run(request, dependencies), executor)
+                .whenComplete((result, error) -> {
+                    if (onResult != null && result != null) {
+                        onResult.accept(result);
+                    }
+                });
+            futures.put(request.getName(), future);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> {
+                List<RequestRunResult> results = new ArrayList<>();
+                for (SavedRequest request : requests) {
+                    results.add(futures.get(request.getName()).join());
+                }
+                return results;
+            })
+            .whenComplete((results, error) -> executor.shutdown());
+    }
+
+    /**
+     * 停止运行，尚未发出的请求记为跳过，进行中的请求继续完成
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private RequestRunResult run(SavedRequest request, CompletableFuture<?>[] dependencies) {
+        if (stopped) {
+            return RequestRunResult.skipped(request, "已停止");
+        }
+        for (CompletableFuture<?> dependency : dependencies) {
+            RequestRunResult result = (RequestRunResult) dependency.join();
+            if (!result.isSuccess()) {
+                return RequestRunResult.skipped(request, "依赖的请求 " + result.name() + " 未成功");
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            ResponseSummary response = engine.executeDiscardingBody(request.toSpec());
+            return new RequestRunResult(request.getName(), request.getMethod(), request.getUrl(),
+                response.statusCode(), System.nanoTime() - start, response.bodyBytes(), null);
+        } catch (IOException | RuntimeException e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            return new RequestRunResult(request.getName(), request.getMethod(), request.getUrl(),
+                0, System.nanoTime() - start, 0, message);
+        }
+    }
+
+    /**
+     * 按依赖关系排序（深度优先的拓扑排序），没有依赖关系的请求保持集合中的相对顺序
+     */
+    static List<SavedRequest> sortByDependencies(List<SavedRequest> requests) {
+        Map<String, SavedRequest> byName = new HashMap<>();
+        for (SavedRequest request : requests) {
+            if (request.getName() == null || request.getName().isEmpty()) {
+                throw new IllegalArgumentException("请求名称不能为空");
+            }
+            if (byName.put(request.getName(), request) != null) {
+                throw new IllegalArgumentException("请求名称重复: " + request.getName());
+            }
+        }
+        List<SavedRequest> sorted = new ArrayList<>(requests.size());
+        Map<String, Boolean> visited = new HashMap<>();
+        for (SavedRequest request : requests) {
+            visit(request, byName, visited, sorted);
+        }
+        return sorted;
+    }
+
+    /**
+     * @param visited 值为false表示正在访问（在当前路径上），true表示已完成
+     */
+    private static void visit(SavedRequest request, Map<String, SavedRequest> byName, Map<String, Boolean> visited,
+                              List<SavedRequest> sorted) {
+        Boolean state = visited.get(request.getName());
+        if (Boolean.TRUE.equals(state)) {
+            return;
+        }
+        if (Boolean.FALSE.equals(state)) {
+            throw new IllegalArgumentException("存在循环依赖: " + request.getName());
+        }
+        visited.put(request.getName(), false);
+        for (String dependency : request.getDependsOn()) {
+            SavedRequest required = byName.get(dependency);
+            if (required == null) {
+                throw new IllegalArgumentException("请求 " + request.getName() + " 依赖的请求不存在: " + dependency);
+            }
+            visit(required, byName, visited, sorted);
+        }
+        visited.put(request.getName(), true);
+        sorted.add(request);
+    }
+}
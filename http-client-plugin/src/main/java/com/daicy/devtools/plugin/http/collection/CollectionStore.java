@@ -0,0 +1,85 @@
+package com.daicy.devtools.plugin.http.collection;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 请求集合的持久化
+ * 所有集合保存在一个JSON文件中，顶层按集合名称索引，便于手工编辑和纳入版本管理
+ */
+public class CollectionStore {
+    public static final Path DEFAULT_PATH = Paths.get(System.getProperty("user.dir"), "config", "http-collections.json");
+
+    private static final TypeReference<TreeMap<String, RequestCollection>> COLLECTIONS_TYPE = new TypeReference<>() {
+    };
+
+    private final Path path;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, RequestCollection> collections = new TreeMap<>();
+
+    public CollectionStore(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * 从文件读取全部集合，文件不存在时为空
+     *
+     * @throws IOException 文件损坏或读取失败时抛出，此时内存中的集合保持为空
+     */
+    public synchronized void load() throws IOException {
+        collections.clear();
+        if (Files.exists(path)) {
+            collections.putAll(objectMapper.readValue(path.toFile(), COLLECTIONS_TYPE));
+        }
+    }
+
+    /**
+     * 写回文件，先写临时文件再替换，避免中断时留下不完整的文件
+     *
+     * @throws IOException 写入失败时抛出
+     */
+    public synchronized void save() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), collections);
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return 按名称排序的集合名称
+     */
+    public synchronized List<String> names() {
+        return new ArrayList<>(collections.keySet());
+    }
+
+    /**
+     * @return 指定名称的集合，不存在时返回null
+     */
+    public synchronized RequestCollection get(String name) {
+        return collections.get(name);
+    }
+
+    /**
+     * @return 指定名称的集合，不存在时创建一个空集合
+     */
+    public synchronized RequestCollection getOrCreate(String name) {
+        return collections.computeIfAbsent(name, key -> new RequestCollection());
+    }
+
+    public synchronized void remove(String name) {
+        collections.remove(name);
+    }
+}
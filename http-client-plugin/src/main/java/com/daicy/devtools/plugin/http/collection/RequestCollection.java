@@ -0,0 +1,52 @@
+package com.daicy.devtools.plugin.http.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 请求集合，请求按添加顺序保存
+ */
+public class RequestCollection {
+    private List<SavedRequest> requests;
+
+    public RequestCollection() {
+        this.requests = new ArrayList<>();
+    }
+
+    /**
+     * @return 指定名称的请求，不存在时返回null
+     */
+    public SavedRequest find(String name) {
+        for (SavedRequest request : requests) {
+            if (request.getName().equals(name)) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 添加请求，已有同名请求时原位替换
+     */
+    public void put(SavedRequest request) {
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i).getName().equals(request.getName())) {
+                requests.set(i, request);
+                return;
+            }
+        }
+        requests.add(request);
+    }
+
+    public boolean remove(String name) {
+        return requests.removeIf(request -> request.getName().equals(name));
+    }
+
+    public List<SavedRequest> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<SavedRequest> requests) {
+        this.requests = requests != null ? requests : new ArrayList<>();
+    }
+}
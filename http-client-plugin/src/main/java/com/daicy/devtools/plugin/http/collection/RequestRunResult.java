@@ -0,0 +1,31 @@
+package com.daicy.devtools.plugin.http.collection;
+
+/**
+ * 集合中一个请求的运行结果
+ *
+ * @param name 请求名称
+ * @param method 请求方法
+ * @param url 请求地址
+ * @param statusCode 状态码，未收到响应时为0
+ * @param durationNanos 从发出请求到读完响应体的耗时，未发出时为0
+ * @param bytes 响应体字节数
+ * @param error 失败或跳过的原因，成功时为null
+ */
+public record RequestRunResult(String name, String method, String url, int statusCode, long durationNanos,
+                               long bytes, String error) {
+
+    static RequestRunResult skipped(SavedRequest request, String reason) {
+        return new RequestRunResult(request.getName(), request.getMethod(), request.getUrl(), 0, 0, 0, reason);
+    }
+
+    /**
+     * @return 是否收到了非4xx、5xx的响应
+     */
+    public boolean isSuccess() {
+        return error == null && statusCode > 0 && statusCode < 400;
+    }
+
+    public double durationMillis() {
+        return durationNanos / 1_000_000.0;
+    }
+}
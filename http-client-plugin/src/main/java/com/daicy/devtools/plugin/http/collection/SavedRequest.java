@@ -0,0 +1,105 @@
+package com.daicy.devtools.plugin.http.collection;
+
+import com.daicy.devtools.plugin.http.engine.HttpProtocol;
+import com.daicy.devtools.plugin.http.engine.RequestSpec;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 集合中保存的一个请求
+ * 名称在集合内唯一，依赖按名称引用同一集合中的其他请求：
+ * 运行集合时依赖的请求都成功后才发出本请求
+ */
+public class SavedRequest {
+    private String name;
+    private String method;
+    private String url;
+    private Map<String, String> headers;
+    private String body;
+    private HttpProtocol protocol;
+    private List<String> dependsOn;
+
+    public SavedRequest() {
+        this.method = "GET";
+        this.headers = new LinkedHashMap<>();
+        this.body = "";
+        this.protocol = HttpProtocol.HTTP_1_1;
+        this.dependsOn = new ArrayList<>();
+    }
+
+    public SavedRequest(String name, RequestSpec spec, List<String> dependsOn) {
+        this.name = name;
+        this.method = spec.method();
+        this.url = spec.url();
+        this.headers = new LinkedHashMap<>(spec.headers());
+        this.body = spec.body();
+        this.protocol = spec.protocol();
+        this.dependsOn = new ArrayList<>(dependsOn);
+    }
+
+    /**
+     * @return 可以交给 HTTP 引擎执行的请求参数
+     */
+    public RequestSpec toSpec() {
+        return new RequestSpec(method, url, headers, body, protocol);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers != null ? headers : new LinkedHashMap<>();
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public HttpProtocol getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(HttpProtocol protocol) {
+        this.protocol = protocol != null ? protocol : HttpProtocol.HTTP_1_1;
+    }
+
+    public List<String> getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(List<String> dependsOn) {
+        this.dependsOn = dependsOn != null ? dependsOn : new ArrayList<>();
+    }
+}
@@ -0,0 +1,86 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLContextSpi;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import java.security.KeyManagementException;
+import java.security.SecureRandom;
+import java.util.function.BiConsumer;
+
+/**
+ * 记录新建TLS连接的SSL上下文
+ * JDK HttpClient 没有连接池的钩子，但每建立一个TLS连接都会向SSL上下文申请一个 SSLEngine，
+ * 以此统计每个主机实际打开的连接数。其余操作全部委托给原上下文
+ */
+final class CountingSslContext extends SSLContext {
+
+    /**
+     * @param delegate 已初始化的SSL上下文
+     * @param onNewConnection 每个新连接调用一次，参数为主机名和端口
+     */
+    CountingSslContext(SSLContext delegate, BiConsumer<String, Integer> onNewConnection) {
+        super(new CountingSpi(delegate, onNewConnection), delegate.getProvider(), delegate.getProtocol());
+    }
+
+    private static final class CountingSpi extends SSLContextSpi {
+        private final SSLContext delegate;
+        private final BiConsumer<String, Integer> onNewConnection;
+
+        CountingSpi(SSLContext delegate, BiConsumer<String, Integer> onNewConnection) {
+            this.delegate = delegate;
+            this.onNewConnection = onNewConnection;
+        }
+
+        @Override
+        protected void engineInit(KeyManager[] km, TrustManager[] tm, SecureRandom sr) throws KeyManagementException {
+            delegate.init(km, tm, sr);
+        }
+
+        @Override
+        protected SSLSocketFactory engineGetSocketFactory() {
+            return delegate.getSocketFactory();
+        }
+
+        @Override
+        protected SSLServerSocketFactory engineGetServerSocketFactory() {
+            return delegate.getServerSocketFactory();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine() {
+            return delegate.createSSLEngine();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine(String host, int port) {
+            onNewConnection.accept(host, port);
+            return delegate.createSSLEngine(host, port);
+        }
+
+        @Override
+        protected SSLSessionContext engineGetServerSessionContext() {
+            return delegate.getServerSessionContext();
+        }
+
+        @Override
+        protected SSLSessionContext engineGetClientSessionContext() {
+            return delegate.getClientSessionContext();
+        }
+
+        @Override
+        protected SSLParameters engineGetDefaultSSLParameters() {
+            return delegate.getDefaultSSLParameters();
+        }
+
+        @Override
+        protected SSLParameters engineGetSupportedSSLParameters() {
+            return delegate.getSupportedSSLParameters();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.daicy.devtools.plugin.http.engine;
+
+/**
+ * HTTP/2 传输对一个主机的连接统计
+ *
+ * @param origin 协议、主机和端口，如 https://example.com:443
+ * @param requests 已发出的请求数
+ * @param http2Responses 以HTTP/2完成的响应数，其余为服务端不支持HTTP/2时降级的HTTP/1.1
+ * @param connectionsOpened 打开的TLS连接数，明文HTTP无法统计，为-1
+ * @param peakConcurrentStreams 同时进行中的请求数的峰值，HTTP/2下即同一连接上并发的流数
+ */
+public record Http2ConnectionStats(String origin, long requests, long http2Responses, long connectionsOpened,
+                                   int peakConcurrentStreams) {
+    /**
+     * @return 复用已有连接发出的请求数，无法统计连接数时为-1
+     */
+    public long reusedRequests() {
+        return connectionsOpened < 0 ? -1 : Math.max(0, requests - connectionsOpened);
+    }
+}
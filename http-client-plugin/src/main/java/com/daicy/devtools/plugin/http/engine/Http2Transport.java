@@ -0,0 +1,320 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于JDK HttpClient的HTTP/2传输
+ * 通过ALPN（HTTPS）或h2c升级（明文）协商HTTP/2，服务端不支持时降级为HTTP/1.1。
+ * HTTP/2下同一主机的并发请求作为多个流复用一个连接。
+ * <p>
+ * JDK 17的客户端在还没有可用连接时会为每个并发请求各建一个连接，
+ * 因此对每个主机先单独发出第一个请求，收到响应头、连接确定可以复用后再放行其余的请求。
+ * 等待有上限，第一个请求迟迟没有响应时其余请求不再等待；
+ * 请求失败或打开了新的TLS连接（原连接已断开）时重新预热。
+ * <p>
+ * 客户端没有连接池和套接字的钩子，只能通过SSL上下文统计TLS连接数，
+ * 也无法区分DNS、TCP连接和TLS握手的耗时，新连接的建立时间计入等待首字节阶段
+ */
+final class Http2Transport {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    /** 发出请求到收到响应头的超时 */
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    /** JDK客户端自行管理、不允许设置的请求头 */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+        "upgrade");
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "DELETE", "PATCH");
+
+    private final HttpClient client;
+    private final int bodySpillThreshold;
+    private final Duration warmupWait;
+    private final Duration requestTimeout;
+    private final Map<String, OriginState> origins = new ConcurrentHashMap<>();
+    /** 按“主机:端口”统计打开的TLS连接数 */
+    private final Map<String, AtomicLong> tlsConnections = new ConcurrentHashMap<>();
+
+    /**
+     * @param sslContext 已初始化的SSL上下文
+     * @param executor 客户端执行异步任务的线程池
+     * @param bodySpillThreshold 响应体超过该字节数时转存到临时文件
+     */
+    Http2Transport(SSLContext sslContext, Executor executor, int bodySpillThreshold) {
+        this(sslContext, executor, bodySpillThreshold, CONNECT_TIMEOUT, REQUEST_TIMEOUT);
+    }
+
+    /**
+     * @param warmupWait 其余请求等待第一个请求收到响应头的最长时间
+     * @param requestTimeout 发出请求到收到响应头的超时
+     */
+    Http2Transport(SSLContext sslContext, Executor executor, int bodySpillThreshold, Duration warmupWait,
+                   Duration requestTimeout) {
+        this.bodySpillThreshold = bodySpillThreshold;
+        this.warmupWait = warmupWait;
+        this.requestTimeout = requestTimeout;
+        SSLContext counting = new CountingSslContext(sslContext, (host, port) ->
+            tlsConnections.computeIfAbsent(connectionKey(host, port), key -> new AtomicLong()).incrementAndGet());
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .sslContext(counting)
+            .executor(executor)
+            .build();
+    }
+
+    /**
+     * 在调用线程中同步执行请求，中断调用线程会取消请求
+     */
+    HttpResult execute(RequestSpec spec) throws IOException {
+        Exchange<ResponseBody> exchange = exchange(spec,
+            (in, charset) -> ResponseBody.read(in, charset, bodySpillThreshold));
+        HttpResponse<?> response = exchange.response();
+        String protocol = protocolOf(response.version());
+        List<ResponseHeader> headers = new ArrayList<>();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            // HTTP/2的伪头部（如 :status）不属于响应头
+            if (header.getKey().startsWith(":")) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                headers.add(new ResponseHeader(header.getKey(), value));
+            }
+        }
+        return new HttpResult(response.statusCode(), protocol + " " + response.statusCode(), protocol, headers,
+            exchange.body(), exchange.timing());
+    }
+
+    /**
+     * 同步执行请求，响应体只读取并计数
+     */
+    ResponseSummary executeDiscardingBody(RequestSpec spec) throws IOException {
+        Exchange<Long> exchange = exchange(spec, (in, charset) -> {
+            byte[] buffer = new byte[8 * 1024];
+            long bytes = 0;
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                bytes += read;
+            }
+            return bytes;
+        });
+        return new ResponseSummary(exchange.response().statusCode(), exchange.body());
+    }
+
+    /**
+     * @return 请求地址所在主机的连接统计，还没有向该主机发过请求时返回null
+     */
+    Http2ConnectionStats stats(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        OriginState state = uri.getScheme() == null || uri.getHost() == null ? null : origins.get(originOf(uri));
+        if (state == null) {
+            return null;
+        }
+        long connections = "https".equalsIgnoreCase(uri.getScheme()) ? tlsConnectionCount(uri) : -1;
+        return new Http2ConnectionStats(originOf(uri), state.requests.get(), state.http2Responses.get(), connections,
+            state.peakInFlight.get());
+    }
+
+    private interface BodyReader<T> {
+        T read(InputStream in, Charset charset) throws IOException;
+    }
+
+    private record Exchange<T>(HttpResponse<InputStream> response, T body, RequestTiming timing) {
+    }
+
+    private <T> Exchange<T> exchange(RequestSpec spec, BodyReader<T> reader) throws IOException {
+        HttpRequest request = toRequest(spec, requestTimeout);
+        URI uri = request.uri();
+        boolean https = "https".equalsIgnoreCase(uri.getScheme());
+        OriginState state = origins.computeIfAbsent(originOf(uri), key -> new OriginState());
+        boolean warmup = state.enter(warmupWait);
+        boolean success = false;
+        state.begin();
+        try {
+            long connectionsBefore = tlsConnectionCount(uri);
+            long start = System.nanoTime();
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            long headersReceived = System.nanoTime();
+            boolean newConnection = https && tlsConnectionCount(uri) != connectionsBefore;
+            if (warmup) {
+                state.warmed(true);
+                warmup = false;
+            } else if (newConnection) {
+                // 原连接已断开，下一批并发请求需要重新预热
+                state.rearm();
+            }
+            if (response.version() == HttpClient.Version.HTTP_2) {
+                state.http2Responses.incrementAndGet();
+            }
+            T body;
+            Charset charset = HttpEngine.charsetOf(response.headers().firstValue("Content-Type").orElse(null));
+            try (InputStream in = response.body()) {
+                body = reader.read(in, charset);
+            }
+            long end = System.nanoTime();
+            RequestTiming timing = new RequestTiming(List.of(
+                new PhaseTiming(TimingPhase.WAIT, 0, headersReceived - start),
+                new PhaseTiming(TimingPhase.DOWNLOAD, headersReceived - start, end - headersReceived)),
+                end - start, https && !newConnection);
+            success = true;
+            return new Exchange<>(response, body, timing);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("请求被中断");
+        } finally {
+            if (warmup) {
+                // 第一个请求失败，放行等待的请求，下一个请求重新预热
+                state.warmed(false);
+            } else if (!success) {
+                // 连接可能已不可用
+                state.rearm();
+            }
+            state.end();
+        }
+    }
+
+    private long tlsConnectionCount(URI uri) {
+        AtomicLong count = tlsConnections.get(connectionKey(uri.getHost(), portOf(uri)));
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * @param timeout 发出请求到收到响应头的超时
+     */
+    static HttpRequest toRequest(RequestSpec spec, Duration timeout) {
+        if (!METHODS.contains(spec.method())) {
+            throw new IllegalArgumentException("Unsupported HTTP method: " + spec.method());
+        }
+        HttpRequest.BodyPublisher publisher = spec.sendsBody()
+            ? HttpRequest.BodyPublishers.ofString(spec.body(), StandardCharsets.UTF_8)
+            : HttpRequest.BodyPublishers.noBody();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(spec.url()))
+            .method(spec.method(), publisher)
+            .timeout(timeout);
+        boolean hasContentType = false;
+        for (Map.Entry<String, String> header : spec.headers().entrySet()) {
+            String name = header.getKey();
+            if (name == null || name.isEmpty() || RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            hasContentType |= "content-type".equalsIgnoreCase(name);
+            builder.header(name, header.getValue() != null ? header.getValue() : "");
+        }
+        // 与HTTP/1.1传输的 StringEntity 一致
+        if (spec.sendsBody() && !hasContentType) {
+            builder.header("Content-Type", "text/plain; charset=UTF-8");
+        }
+        return builder.build();
+    }
+
+    private static String protocolOf(HttpClient.Version version) {
+        return version == HttpClient.Version.HTTP_2 ? HttpProtocol.HTTP_2.label() : HttpProtocol.HTTP_1_1.label();
+    }
+
+    private static String originOf(URI uri) {
+        return uri.getScheme().toLowerCase(Locale.ROOT) + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ":"
+            + portOf(uri);
+    }
+
+    private static int portOf(URI uri) {
+        if (uri.getPort() >= 0) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    private static String connectionKey(String host, int port) {
+        return host.toLowerCase(Locale.ROOT) + ":" + port;
+    }
+
+    /**
+     * 单个主机的请求统计和连接预热状态
+     */
+    private static final class OriginState {
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong http2Responses = new AtomicLong();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peakInFlight = new AtomicInteger();
+        /** 为null时还没有请求在预热；已完成时连接可以复用，之后的请求直接发出 */
+        private CompletableFuture<Void> warm;
+
+        /**
+         * 第一个请求负责预热，其余请求等待预热的请求收到响应头，最多等待 wait
+         *
+         * @return 本请求是否负责预热
+         */
+        boolean enter(Duration wait) throws InterruptedIOException {
+            CompletableFuture<Void> gate;
+            synchronized (this) {
+                if (warm == null) {
+                    warm = new CompletableFuture<>();
+                    return true;
+                }
+                gate = warm;
+            }
+            try {
+                gate.get(wait.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("请求被中断");
+            } catch (TimeoutException e) {
+                // 预热的请求迟迟没有响应，不再等待，直接发出
+            } catch (ExecutionException e) {
+                // 预热只会正常完成
+            }
+            return false;
+        }
+
+        synchronized void warmed(boolean success) {
+            CompletableFuture<Void> gate = warm;
+            if (!success) {
+                warm = null;
+            }
+            gate.complete(null);
+        }
+
+        /**
+         * 预热已完成时恢复到未预热状态，下一个请求重新预热；正在预热时不受影响
+         */
+        synchronized void rearm() {
+            if (warm != null && warm.isDone()) {
+                warm = null;
+            }
+        }
+
+        void begin() {
+            requests.incrementAndGet();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        }
+
+        void end() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 已提交的异步请求
+ * 取消时中止底层连接，正在阻塞读写的工作线程会立即返回
+ */
+public class HttpCall {
+    private final Runnable abort;
+    private final CompletableFuture<HttpResult> future;
+
+    /**
+     * @param abort 中止底层连接或请求的操作，只在取消成功时调用
+     * @param future 请求结果
+     */
+    HttpCall(Runnable abort, CompletableFuture<HttpResult> future) {
+        this.abort = abort;
+        this.future = future;
+    }
+
+    /**
+     * @return 请求结果，取消后以 {@link java.util.concurrent.CancellationException} 结束
+     */
+    public CompletableFuture<HttpResult> future() {
+        return future;
+    }
+
+    /**
+     * 取消请求，已完成的请求不受影响
+     *
+     * @return 本次调用是否取消了请求
+     */
+    public boolean cancel() {
+        if (future.isDone() || !future.cancel(false)) {
+            return false;
+        }
+        abort.run();
+        return true;
+    }
+}
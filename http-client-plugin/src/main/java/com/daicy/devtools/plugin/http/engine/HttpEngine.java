@@ -0,0 +1,362 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.ParseException;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPatch;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP请求执行引擎
+ * 所有请求共用一个连接池，keep-alive连接在多次发送之间复用；
+ * 异步请求在后台线程中执行，不阻塞界面线程，可随时取消。
+ * 响应体流式读取，较大的响应体转存到临时文件，见 {@link ResponseBody}。
+ * 连接池、套接字工厂和请求执行器中的钩子按阶段记录每个请求的耗时，见 {@link RequestTiming}。
+ * 协议为HTTP/2的请求交给基于JDK HttpClient的传输，并发请求复用同一个连接，见 {@link #http2Stats(String)}。
+ * <p>
+ * 线程安全，使用完毕后需要关闭
+ */
+public class HttpEngine implements Closeable {
+    public static final int DEFAULT_MAX_TOTAL = 200;
+    public static final int DEFAULT_MAX_PER_ROUTE = 50;
+    /** 空闲超过该时长的连接在复用前重新校验 */
+    private static final int VALIDATE_AFTER_INACTIVITY_MS = 2000;
+    private static final long IDLE_EVICT_SECONDS = 30;
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    /** 等待响应数据的超时，与HTTP/2传输的请求超时一致 */
+    static final int SOCKET_TIMEOUT_MS = 60_000;
+    /** 连接池耗尽时等待空闲连接的超时 */
+    private static final int CONNECTION_REQUEST_TIMEOUT_MS = 60_000;
+    private static final int DISCARD_BUFFER_SIZE = 8 * 1024;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient client;
+    private final ExecutorService executor;
+    private final int bodySpillThreshold;
+    private final SSLContext http2SslContext;
+    /** 第一次发送HTTP/2请求时创建 */
+    private Http2Transport http2Transport;
+
+    public HttpEngine() {
+        this(DEFAULT_MAX_TOTAL, DEFAULT_MAX_PER_ROUTE);
+    }
+
+    /**
+     * @param maxTotal 连接池的最大连接数
+     * @param maxPerRoute 每个目标主机的最大连接数
+     */
+    public HttpEngine(int maxTotal, int maxPerRoute) {
+        this(maxTotal, maxPerRoute, ResponseBody.DEFAULT_SPILL_THRESHOLD);
+    }
+
+    /**
+     * @param maxTotal 连接池的最大连接数
+     * @param maxPerRoute 每个目标主机的最大连接数
+     * @param bodySpillThreshold 响应体超过该字节数时转存到临时文件
+     */
+    public HttpEngine(int maxTotal, int maxPerRoute, int bodySpillThreshold) {
+        this(maxTotal, maxPerRoute, bodySpillThreshold, null);
+    }
+
+    /**
+     * @param http2SslContext HTTP/2传输使用的SSL上下文，为null时使用JDK默认的上下文
+     */
+    HttpEngine(int maxTotal, int maxPerRoute, int bodySpillThreshold, SSLContext http2SslContext) {
+        this(maxTotal, maxPerRoute, bodySpillThreshold, http2SslContext, SOCKET_TIMEOUT_MS);
+    }
+
+    /**
+     * @param socketTimeoutMs HTTP/1.1请求等待响应数据的超时，服务端停止响应时请求在超时后失败
+     */
+    HttpEngine(int maxTotal, int maxPerRoute, int bodySpillThreshold, SSLContext http2SslContext,
+               int socketTimeoutMs) {
+        this.bodySpillThreshold = bodySpillThreshold;
+        this.http2SslContext = http2SslContext;
+        connectionManager = new TimingConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MS);
+        client = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setRequestExecutor(new TimingRequestExecutor())
+            // 没有超时时停止响应的服务端会让压测和集合运行一直等待
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(CONNECT_TIMEOUT_MS)
+                .setSocketTimeout(socketTimeoutMs)
+                .setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT_MS)
+                .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(IDLE_EVICT_SECONDS, TimeUnit.SECONDS)
+            .build();
+        // Java 17没有虚拟线程，使用按需创建、空闲回收的守护线程池，阻塞的请求不会占用界面线程
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "http-engine-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 异步发送请求
+     *
+     * @param spec 请求参数
+     * @return 可取消的请求句柄
+     */
+    public HttpCall send(RequestSpec spec) {
+        if (spec.protocol() == HttpProtocol.HTTP_2) {
+            // JDK客户端在工作线程被中断时取消请求
+            return submit(() -> http2().execute(spec), null);
+        }
+        HttpRequestBase request;
+        try {
+            request = toRequest(spec);
+        } catch (IllegalArgumentException e) {
+            return new HttpCall(() -> { }, CompletableFuture.failedFuture(e));
+        }
+        return submit(() -> execute(request), request::abort);
+    }
+
+    /**
+     * 在工作线程中执行请求
+     *
+     * @param abort 取消时中止请求的操作，为null时中断工作线程
+     */
+    private HttpCall submit(Callable<HttpResult> task, Runnable abort) {
+        CompletableFuture<HttpResult> future = new CompletableFuture<>();
+        Future<?> worker;
+        try {
+            worker = executor.submit(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    HttpResult result = task.call();
+                    // 请求已被取消时没有人会再使用结果，删除可能已转存的临时文件
+                    if (!future.complete(result)) {
+                        result.body().close();
+                    }
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IllegalStateException("HTTP引擎已关闭", e));
+            return new HttpCall(() -> { }, future);
+        }
+        return new HttpCall(abort != null ? abort : () -> worker.cancel(true), future);
+    }
+
+    /**
+     * 在调用线程中同步执行请求
+     *
+     * @param spec 请求参数
+     * @return 响应
+     * @throws IOException 连接失败、读取失败或请求被中止时抛出
+     */
+    public HttpResult execute(RequestSpec spec) throws IOException {
+        if (spec.protocol() == HttpProtocol.HTTP_2) {
+            return http2().execute(spec);
+        }
+        return execute(toRequest(spec));
+    }
+
+    private HttpResult execute(HttpRequestBase request) throws IOException {
+        PhaseTimer timer = new PhaseTimer();
+        HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(PhaseTimer.CONTEXT_ATTRIBUTE, timer);
+        try (CloseableHttpResponse response = client.execute(request, context)) {
+            // 读完响应体后连接才会归还连接池
+            HttpEntity entity = response.getEntity();
+            ResponseBody body;
+            if (entity == null) {
+                body = ResponseBody.empty(StandardCharsets.UTF_8);
+            } else {
+                try (InputStream in = entity.getContent()) {
+                    body = ResponseBody.read(in, charsetOf(entity), bodySpillThreshold);
+                }
+            }
+            timer.end(TimingPhase.DOWNLOAD);
+            List<ResponseHeader> headers = new ArrayList<>();
+            for (Header header : response.getAllHeaders()) {
+                headers.add(new ResponseHeader(header.getName(), header.getValue()));
+            }
+            return new HttpResult(response.getStatusLine().getStatusCode(), response.getStatusLine().toString(),
+                response.getStatusLine().getProtocolVersion().toString(), headers, body, timer.finish());
+        }
+    }
+
+    /**
+     * 在调用线程中同步执行请求，响应体只读取并计数、不保存，连接随后归还连接池
+     *
+     * @param spec 请求参数
+     * @return 状态码和响应体大小
+     * @throws IOException 连接失败、读取失败或请求被中止时抛出
+     */
+    public ResponseSummary executeDiscardingBody(RequestSpec spec) throws IOException {
+        if (spec.protocol() == HttpProtocol.HTTP_2) {
+            return http2().executeDiscardingBody(spec);
+        }
+        try (CloseableHttpResponse response = client.execute(toRequest(spec))) {
+            HttpEntity entity = response.getEntity();
+            long bytes = 0;
+            if (entity != null) {
+                try (InputStream in = entity.getContent()) {
+                    byte[] buffer = new byte[DISCARD_BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) >= 0) {
+                        bytes += read;
+                    }
+                }
+            }
+            return new ResponseSummary(response.getStatusLine().getStatusCode(), bytes);
+        }
+    }
+
+    /**
+     * 确保每个目标主机至少可以同时使用指定数量的连接，只增不减
+     *
+     * @param maxPerRoute 每个目标主机需要的连接数
+     */
+    public synchronized void ensureMaxPerRoute(int maxPerRoute) {
+        if (connectionManager.getDefaultMaxPerRoute() < maxPerRoute) {
+            connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        }
+        if (connectionManager.getMaxTotal() < maxPerRoute) {
+            connectionManager.setMaxTotal(maxPerRoute);
+        }
+    }
+
+    /**
+     * 响应声明的字符集，未声明或不支持时使用UTF-8
+     */
+    private static Charset charsetOf(HttpEntity entity) {
+        return charsetOf(entity.getContentType() != null ? entity.getContentType().getValue() : null);
+    }
+
+    /**
+     * @param contentType Content-Type 响应头的值，可为null
+     */
+    static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            Charset charset = ContentType.parse(contentType).getCharset();
+            if (charset != null) {
+                return charset;
+            }
+        } catch (ParseException | UnsupportedCharsetException e) {
+            // 使用默认字符集
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * @return 连接池当前的统计：租用中、空闲、等待中的连接数
+     */
+    public PoolStats poolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * @param url 请求地址
+     * @return HTTP/2传输对该地址所在主机的连接统计，还没有以HTTP/2向该主机发过请求时返回null
+     */
+    public Http2ConnectionStats http2Stats(String url) {
+        Http2Transport transport;
+        synchronized (this) {
+            transport = http2Transport;
+        }
+        return transport != null ? transport.stats(url) : null;
+    }
+
+    private synchronized Http2Transport http2() {
+        if (http2Transport == null) {
+            SSLContext sslContext = http2SslContext;
+            if (sslContext == null) {
+                try {
+                    sslContext = SSLContext.getDefault();
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("无法创建默认的SSL上下文", e);
+                }
+            }
+            http2Transport = new Http2Transport(sslContext, executor, bodySpillThreshold);
+        }
+        return http2Transport;
+    }
+
+    static HttpRequestBase toRequest(RequestSpec spec) {
+        HttpRequestBase request = createRequest(spec.method(), spec.url());
+        for (Map.Entry<String, String> header : spec.headers().entrySet()) {
+            if (header.getKey() != null && !header.getKey().isEmpty()) {
+                request.addHeader(header.getKey(), header.getValue());
+            }
+        }
+        if (request instanceof HttpEntityEnclosingRequestBase && spec.hasBody()) {
+            ((HttpEntityEnclosingRequestBase) request).setEntity(new StringEntity(spec.body(), StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+
+    private static HttpRequestBase createRequest(String method, String url) {
+        switch (method) {
+            case "GET":
+                return new HttpGet(url);
+            case "POST":
+                return new HttpPost(url);
+            case "PUT":
+                return new HttpPut(url);
+            case "DELETE":
+                return new HttpDelete(url);
+            case "PATCH":
+                return new HttpPatch(url);
+            default:
+                throw new IllegalArgumentException("Unsupported HTTP method: " + method);
+        }
+    }
+
+    /**
+     * 关闭引擎，中止排队中的请求并关闭连接池
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        client.close();
+    }
+}
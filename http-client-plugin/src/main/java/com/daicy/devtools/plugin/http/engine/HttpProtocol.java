@@ -0,0 +1,26 @@
+package com.daicy.devtools.plugin.http.engine;
+
+/**
+ * 请求使用的HTTP协议版本
+ */
+public enum HttpProtocol {
+    /** 经连接池发送，每个连接同时只有一个请求 */
+    HTTP_1_1("HTTP/1.1"),
+    /** 经JDK HttpClient发送，同一主机的并发请求复用一个连接；服务端不支持时自动降级为HTTP/1.1 */
+    HTTP_2("HTTP/2");
+
+    private final String label;
+
+    HttpProtocol(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,52 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * HTTP响应
+ *
+ * @param statusCode 状态码
+ * @param statusLine 状态行，如 HTTP/1.1 200 OK
+ * @param protocol 实际使用的协议版本，如 HTTP/1.1、HTTP/2
+ * @param headers 响应头
+ * @param body 响应体，可能已转存到临时文件，使用完毕后需要关闭
+ * @param timing 分阶段计时
+ */
+public record HttpResult(int statusCode, String statusLine, String protocol, List<ResponseHeader> headers,
+                         ResponseBody body, RequestTiming timing) {
+    public HttpResult {
+        headers = List.copyOf(headers);
+    }
+
+    /**
+     * @return 第一个同名响应头的值，不区分大小写，不存在时返回null
+     */
+    public String header(String name) {
+        for (ResponseHeader header : headers) {
+            if (header.name().equalsIgnoreCase(name)) {
+                return header.value();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 小写的Content-Type，不存在时返回空字符串
+     */
+    public String contentType() {
+        String contentType = header("Content-Type");
+        return contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * @return 从发送请求到读完响应体的耗时（纳秒）
+     */
+    public long durationNanos() {
+        return timing.totalNanos();
+    }
+
+    public long durationMillis() {
+        return timing.totalNanos() / 1_000_000;
+    }
+}
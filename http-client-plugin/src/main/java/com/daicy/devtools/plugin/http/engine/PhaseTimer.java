@@ -0,0 +1,85 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import org.apache.http.protocol.HttpContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 记录一次请求各阶段的起止时间（纳秒）
+ * 通过 {@link HttpContext} 的属性传给连接管理器、套接字工厂和请求执行器中的计时钩子，
+ * 这些钩子都在执行请求的线程中调用，不需要同步。
+ * <p>
+ * 阶段重复发生时（重定向、认证重试、连接失败后换下一个地址）保留最后一次，
+ * 之前的耗时体现为瀑布图中阶段之间的空隙
+ */
+final class PhaseTimer {
+    static final String CONTEXT_ATTRIBUTE = "devtools.phase-timer";
+
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+
+    private final long origin = System.nanoTime();
+    private final long[] starts = new long[PHASES.length];
+    private final long[] ends = new long[PHASES.length];
+    private final boolean[] open = new boolean[PHASES.length];
+    private final boolean[] recorded = new boolean[PHASES.length];
+
+    /**
+     * @return 上下文中的计时器，未设置时返回null，调用方应忽略计时
+     */
+    static PhaseTimer from(HttpContext context) {
+        if (context == null) {
+            return null;
+        }
+        Object timer = context.getAttribute(CONTEXT_ATTRIBUTE);
+        return timer instanceof PhaseTimer ? (PhaseTimer) timer : null;
+    }
+
+    static void begin(HttpContext context, TimingPhase phase) {
+        PhaseTimer timer = from(context);
+        if (timer != null) {
+            timer.begin(phase);
+        }
+    }
+
+    static void end(HttpContext context, TimingPhase phase) {
+        PhaseTimer timer = from(context);
+        if (timer != null) {
+            timer.end(phase);
+        }
+    }
+
+    void begin(TimingPhase phase) {
+        int index = phase.ordinal();
+        starts[index] = System.nanoTime();
+        open[index] = true;
+        recorded[index] = false;
+    }
+
+    /**
+     * 结束一个阶段，阶段未开始或已经结束时忽略
+     */
+    void end(TimingPhase phase) {
+        int index = phase.ordinal();
+        if (open[index]) {
+            ends[index] = System.nanoTime();
+            open[index] = false;
+            recorded[index] = true;
+        }
+    }
+
+    /**
+     * @return 到目前为止的计时结果，未结束的阶段不计入
+     */
+    RequestTiming finish() {
+        long total = System.nanoTime() - origin;
+        List<PhaseTiming> phases = new ArrayList<>();
+        for (TimingPhase phase : PHASES) {
+            int index = phase.ordinal();
+            if (recorded[index]) {
+                phases.add(new PhaseTiming(phase, starts[index] - origin, ends[index] - starts[index]));
+            }
+        }
+        return new RequestTiming(phases, total, !recorded[TimingPhase.CONNECT.ordinal()]);
+    }
+}
@@ -0,0 +1,11 @@
+package com.daicy.devtools.plugin.http.engine;
+
+/**
+ * 一个阶段的计时
+ *
+ * @param phase 阶段
+ * @param offsetNanos 相对请求开始的起始时间
+ * @param durationNanos 耗时
+ */
+public record PhaseTiming(TimingPhase phase, long offsetNanos, long durationNanos) {
+}
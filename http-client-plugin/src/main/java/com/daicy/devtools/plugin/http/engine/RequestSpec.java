@@ -0,0 +1,52 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 一次HTTP请求的全部参数，不可变，可以在界面线程之外使用
+ *
+ * @param method 请求方法，如 GET、POST
+ * @param url 请求地址
+ * @param headers 请求头，保持添加顺序
+ * @param body 请求体，为空时不发送
+ * @param protocol 协议版本，为空时使用HTTP/1.1
+ */
+public record RequestSpec(String method, String url, Map<String, String> headers, String body,
+                          HttpProtocol protocol) {
+    public RequestSpec {
+        headers = headers == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        body = body == null ? "" : body;
+        protocol = protocol == null ? HttpProtocol.HTTP_1_1 : protocol;
+    }
+
+    /**
+     * 使用HTTP/1.1的请求
+     */
+    public RequestSpec(String method, String url, Map<String, String> headers, String body) {
+        this(method, url, headers, body, HttpProtocol.HTTP_1_1);
+    }
+
+    public static RequestSpec get(String url) {
+        return new RequestSpec("GET", url, Map.of(), "");
+    }
+
+    /**
+     * @return 协议版本改为指定值的副本
+     */
+    public RequestSpec withProtocol(HttpProtocol protocol) {
+        return new RequestSpec(method, url, headers, body, protocol);
+    }
+
+    public boolean hasBody() {
+        return !body.isEmpty();
+    }
+
+    /**
+     * @return 是否会发送请求体，只有 POST、PUT、PATCH 携带请求体
+     */
+    public boolean sendsBody() {
+        return hasBody() && ("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method));
+    }
+}
@@ -0,0 +1,87 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 一次请求的分阶段计时
+ *
+ * @param phases 实际发生的阶段，按发生顺序排列
+ * @param totalNanos 从开始执行到读完响应体的总耗时，包含等待连接池和重定向等未单独计时的部分
+ * @param connectionReused 是否复用了已有的keep-alive连接
+ */
+public record RequestTiming(List<PhaseTiming> phases, long totalNanos, boolean connectionReused) {
+    /** 瀑布图中时间条的宽度（字符数） */
+    public static final int WATERFALL_WIDTH = 40;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public RequestTiming {
+        phases = List.copyOf(phases);
+    }
+
+    /**
+     * @return 阶段的耗时（纳秒），未发生时返回0
+     */
+    public long duration(TimingPhase phase) {
+        for (PhaseTiming timing : phases) {
+            if (timing.phase() == phase) {
+                return timing.durationNanos();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return DNS、TCP连接和TLS握手的耗时之和（纳秒）
+     */
+    public long connectionSetupNanos() {
+        long sum = 0;
+        for (PhaseTiming timing : phases) {
+            if (timing.phase().isConnectionSetup()) {
+                sum += timing.durationNanos();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 文本瀑布图：每个阶段一行，时间条按相对总耗时的位置和长度绘制
+     * <pre>
+     * DNS Lookup         0.00ms    1.20ms |##                                      |
+     * TCP Connect        1.21ms    0.85ms |  #                                     |
+     * </pre>
+     *
+     * @return 多行文本，末尾带换行
+     */
+    public String waterfall() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "%-14s %9s %9s%n", "Phase", "Start", "Duration"));
+        for (PhaseTiming timing : phases) {
+            long from = Math.min(WATERFALL_WIDTH - 1, column(timing.offsetNanos(), 0));
+            // 结束列向上取整，耗时很短的阶段也至少占一列
+            long to = Math.min(WATERFALL_WIDTH,
+                Math.max(from + 1, column(timing.offsetNanos() + timing.durationNanos(), totalNanos - 1)));
+            text.append(String.format(Locale.ROOT, "%-14s %7.2fms %7.2fms |", timing.phase().label(),
+                timing.offsetNanos() / NANOS_PER_MILLI, timing.durationNanos() / NANOS_PER_MILLI));
+            for (int i = 0; i < WATERFALL_WIDTH; i++) {
+                text.append(i >= from && i < to ? '#' : ' ');
+            }
+            text.append("|\n");
+        }
+        text.append(String.format(Locale.ROOT, "%-14s %9s %7.2fms%n", "Total", "", totalNanos / NANOS_PER_MILLI));
+        text.append(String.format(Locale.ROOT, "建立连接 %.2fms，等待首字节 %.2fms%s%n",
+            connectionSetupNanos() / NANOS_PER_MILLI, duration(TimingPhase.WAIT) / NANOS_PER_MILLI,
+            connectionReused ? "（复用已有连接）" : ""));
+        return text.toString();
+    }
+
+    /**
+     * 时间点对应的列，rounding 为0时向下取整，为 totalNanos-1 时向上取整
+     */
+    private long column(long nanos, long rounding) {
+        if (totalNanos <= 0) {
+            return 0;
+        }
+        return (nanos * WATERFALL_WIDTH + rounding) / totalNanos;
+    }
+}
@@ -0,0 +1,201 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 响应体
+ * 读取时先缓存在内存中，超过溢出阈值后转存到临时文件，之后的数据经通道直接写入文件，
+ * 内存占用与响应大小无关。界面只取首尾预览，完整文本只在调用方确认大小可接受时读取。
+ * <p>
+ * 转存到文件的响应体使用完毕后需要关闭，关闭时删除临时文件
+ */
+public final class ResponseBody implements Closeable {
+    /** 超过该大小的响应体转存到临时文件 */
+    public static final int DEFAULT_SPILL_THRESHOLD = 1024 * 1024;
+    /** 预览包含的开头字节数 */
+    public static final int PREVIEW_HEAD_BYTES = 32 * 1024;
+    /** 预览包含的结尾字节数 */
+    public static final int PREVIEW_TAIL_BYTES = 8 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+    private final Charset charset;
+
+    private ResponseBody(byte[] bytes, Path file, long size, Charset charset) {
+        this.bytes = bytes;
+        this.file = file;
+        this.size = size;
+        this.charset = charset;
+    }
+
+    public static ResponseBody empty(Charset charset) {
+        return new ResponseBody(new byte[0], null, 0, charset);
+    }
+
+    /**
+     * 读取响应流，超过阈值时转存到临时文件
+     *
+     * @param in 响应流，由调用方关闭
+     * @param charset 文本的字符集
+     * @param spillThreshold 内存中最多缓存的字节数
+     * @return 响应体
+     * @throws IOException 读取或写入临时文件失败时抛出，已创建的临时文件会被删除
+     */
+    public static ResponseBody read(InputStream in, Charset charset, int spillThreshold) throws IOException {
+        ReadableByteChannel source = Channels.newChannel(in);
+        ByteBuffer memory = ByteBuffer.allocate(Math.min(spillThreshold, BUFFER_SIZE));
+        while (true) {
+            if (!memory.hasRemaining()) {
+                if (memory.capacity() >= spillThreshold) {
+                    // 恰好等于阈值的响应体不转存
+                    ByteBuffer probe = ByteBuffer.allocate(1);
+                    if (source.read(probe) < 0) {
+                        return new ResponseBody(memory.array(), null, memory.capacity(), charset);
+                    }
+                    return spill(source, memory, probe.flip(), charset);
+                }
+                ByteBuffer larger = ByteBuffer.allocate((int) Math.min(spillThreshold, memory.capacity() * 2L));
+                memory.flip();
+                memory = larger.put(memory);
+            }
+            if (source.read(memory) < 0) {
+                return new ResponseBody(Arrays.copyOf(memory.array(), memory.position()), null,
+                    memory.position(), charset);
+            }
+        }
+    }
+
+    private static ResponseBody spill(ReadableByteChannel source, ByteBuffer memory, ByteBuffer probe,
+                                      Charset charset) throws IOException {
+        Path file = Files.createTempFile("devtools-http-", ".body");
+        long size = 0;
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // 已缓存的数据先写入文件，之后复用同一个缓冲区
+            memory.flip();
+            while (memory.hasRemaining()) {
+                size += out.write(memory);
+            }
+            while (probe.hasRemaining()) {
+                size += out.write(probe);
+            }
+            ByteBuffer buffer = memory.clear();
+            while (source.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    size += out.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new ResponseBody(null, file, size, charset);
+    }
+
+    /**
+     * @return 响应体的字节数
+     */
+    public long size() {
+        return size;
+    }
+
+    public Charset charset() {
+        return charset;
+    }
+
+    /**
+     * @return 是否已转存到临时文件
+     */
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * @return 临时文件，未转存时为null
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * 读取完整文本，大响应体会占用与其大小相当的内存，调用前应先检查 {@link #size()}
+     *
+     * @return 响应体文本
+     * @throws IOException 读取临时文件失败时抛出
+     */
+    public String text() throws IOException {
+        if (file == null) {
+            return new String(bytes, charset);
+        }
+        return decode(Files.readAllBytes(file));
+    }
+
+    /**
+     * 首尾预览：开头 {@value #PREVIEW_HEAD_BYTES} 字节和结尾 {@value #PREVIEW_TAIL_BYTES} 字节，
+     * 中间以省略的字节数代替。响应体不超过两者之和时返回完整文本
+     *
+     * @return 预览文本
+     * @throws IOException 读取临时文件失败时抛出
+     */
+    public String preview() throws IOException {
+        if (size <= PREVIEW_HEAD_BYTES + PREVIEW_TAIL_BYTES) {
+            return text();
+        }
+        byte[] head = range(0, PREVIEW_HEAD_BYTES);
+        byte[] tail = range(size - PREVIEW_TAIL_BYTES, PREVIEW_TAIL_BYTES);
+        long omitted = size - PREVIEW_HEAD_BYTES - PREVIEW_TAIL_BYTES;
+        return decode(head) + "\n\n... 省略 " + omitted + " 字节 ...\n\n" + decode(tail);
+    }
+
+    private byte[] range(long position, int length) throws IOException {
+        if (file == null) {
+            return Arrays.copyOfRange(bytes, (int) position, (int) position + length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * 截断处的不完整字符替换为替代字符，不抛出异常
+     */
+    private String decode(byte[] data) throws IOException {
+        return charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE)
+            .decode(ByteBuffer.wrap(data))
+            .toString();
+    }
+
+    /**
+     * 删除临时文件
+     */
+    @Override
+    public void close() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.daicy.devtools.plugin.http.engine;
+
+/**
+ * 响应头
+ *
+ * @param name 名称
+ * @param value 值
+ */
+public record ResponseHeader(String name, String value) {
+}
@@ -0,0 +1,16 @@
+package com.daicy.devtools.plugin.http.engine;
+
+/**
+ * 只保留状态码和响应体大小的响应摘要，压测等不关心响应内容的场景使用
+ *
+ * @param statusCode 状态码
+ * @param bodyBytes 响应体字节数
+ */
+public record ResponseSummary(int statusCode, long bodyBytes) {
+    /**
+     * @return 状态码是否表示失败（4xx、5xx）
+     */
+    public boolean isError() {
+        return statusCode >= 400;
+    }
+}
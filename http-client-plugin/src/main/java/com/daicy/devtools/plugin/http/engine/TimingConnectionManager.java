@@ -0,0 +1,38 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+
+/**
+ * 记录建立新连接耗时的连接池
+ * 新连接先解析域名再由套接字工厂创建套接字，因此DNS阶段从这里开始，到套接字工厂创建套接字时结束；
+ * 之后的TCP连接和TLS握手由 {@link TimingSocketFactories} 中的工厂记录。
+ * 复用的连接不经过这里
+ */
+class TimingConnectionManager extends PoolingHttpClientConnectionManager {
+
+    TimingConnectionManager() {
+        super(createRegistry());
+    }
+
+    private static Registry<ConnectionSocketFactory> createRegistry() {
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", new TimingSocketFactories.Plain())
+            .register("https", new TimingSocketFactories.Tls())
+            .build();
+    }
+
+    @Override
+    public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout,
+                        HttpContext context) throws IOException {
+        PhaseTimer.begin(context, TimingPhase.DNS);
+        super.connect(managedConn, route, connectTimeout, context);
+    }
+}
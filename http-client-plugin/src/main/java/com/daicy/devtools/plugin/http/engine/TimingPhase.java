@@ -0,0 +1,32 @@
+package com.daicy.devtools.plugin.http.engine;
+
+/**
+ * 一次HTTP请求的各个阶段，按发生顺序排列
+ * 复用keep-alive连接时没有前三个阶段
+ */
+public enum TimingPhase {
+    DNS("DNS Lookup"),
+    CONNECT("TCP Connect"),
+    TLS("TLS Handshake"),
+    REQUEST_WRITE("Request Write"),
+    /** 请求写完到收到响应头，主要是服务端处理时间加一次往返 */
+    WAIT("TTFB"),
+    DOWNLOAD("Download");
+
+    private final String label;
+
+    TimingPhase(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /**
+     * @return 是否属于建立连接的网络开销
+     */
+    public boolean isConnectionSetup() {
+        return this == DNS || this == CONNECT || this == TLS;
+    }
+}
@@ -0,0 +1,41 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+
+/**
+ * 记录请求写出、等待首字节的请求执行器
+ * 收到响应头后开始下载阶段，由 {@link HttpEngine} 在读完响应体时结束
+ */
+class TimingRequestExecutor extends HttpRequestExecutor {
+
+    @Override
+    protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+        throws IOException, HttpException {
+        PhaseTimer.begin(context, TimingPhase.REQUEST_WRITE);
+        HttpResponse response = super.doSendRequest(request, conn, context);
+        PhaseTimer.end(context, TimingPhase.REQUEST_WRITE);
+        PhaseTimer.begin(context, TimingPhase.WAIT);
+        if (response != null) {
+            // 使用 Expect: 100-continue 时服务端可能在请求体发出前直接给出最终响应
+            PhaseTimer.end(context, TimingPhase.WAIT);
+            PhaseTimer.begin(context, TimingPhase.DOWNLOAD);
+        }
+        return response;
+    }
+
+    @Override
+    protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+        throws HttpException, IOException {
+        HttpResponse response = super.doReceiveResponse(request, conn, context);
+        PhaseTimer.end(context, TimingPhase.WAIT);
+        PhaseTimer.begin(context, TimingPhase.DOWNLOAD);
+        return response;
+    }
+}
@@ -0,0 +1,74 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * 记录TCP连接和TLS握手耗时的套接字工厂
+ * 创建套接字时域名已经解析完成，在此结束DNS阶段
+ */
+final class TimingSocketFactories {
+
+    private TimingSocketFactories() {
+    }
+
+    /**
+     * 明文HTTP
+     */
+    static class Plain extends PlainConnectionSocketFactory {
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            PhaseTimer.end(context, TimingPhase.DNS);
+            return super.createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context) throws IOException {
+            PhaseTimer.begin(context, TimingPhase.CONNECT);
+            Socket connected = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+            PhaseTimer.end(context, TimingPhase.CONNECT);
+            return connected;
+        }
+    }
+
+    /**
+     * HTTPS：父类在TCP连接建立后调用 createLayeredSocket 进行握手，TCP连接阶段在此结束
+     */
+    static class Tls extends SSLConnectionSocketFactory {
+        Tls() {
+            // 与HttpClient默认的HTTPS工厂相同：默认SSL上下文和主机名校验
+            super(SSLContexts.createDefault(), getDefaultHostnameVerifier());
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            PhaseTimer.end(context, TimingPhase.DNS);
+            return super.createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context) throws IOException {
+            PhaseTimer.begin(context, TimingPhase.CONNECT);
+            return super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context)
+            throws IOException {
+            PhaseTimer.end(context, TimingPhase.CONNECT);
+            PhaseTimer.begin(context, TimingPhase.TLS);
+            Socket layered = super.createLayeredSocket(socket, target, port, context);
+            PhaseTimer.end(context, TimingPhase.TLS);
+            return layered;
+        }
+    }
+}
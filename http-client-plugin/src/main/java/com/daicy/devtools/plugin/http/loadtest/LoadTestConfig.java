@@ -0,0 +1,47 @@
+package com.daicy.devtools.plugin.http.loadtest;
+
+import com.daicy.devtools.plugin.http.engine.RequestSpec;
+
+import java.time.Duration;
+
+/**
+ * 压测参数
+ * 目标RPS为0时使用闭环模型：每个虚拟用户收到响应后立即发出下一个请求，并发数固定；
+ * 大于0时使用开环模型：按固定速率安排请求的发出时间，虚拟用户数是同时进行中的请求上限
+ *
+ * @param request 压测的请求
+ * @param virtualUsers 虚拟用户数，即并发请求数
+ * @param targetRps 目标每秒请求数，0表示闭环
+ * @param duration 压测时长，包含预热阶段
+ * @param rampUp 预热时长：闭环模型在此期间逐个启动虚拟用户，开环模型在此期间从0线性提升速率
+ */
+public record LoadTestConfig(RequestSpec request, int virtualUsers, int targetRps, Duration duration,
+                             Duration rampUp) {
+    public static final int MAX_VIRTUAL_USERS = 1000;
+
+    public LoadTestConfig {
+        if (request == null) {
+            throw new IllegalArgumentException("压测请求不能为空");
+        }
+        if (virtualUsers < 1 || virtualUsers > MAX_VIRTUAL_USERS) {
+            throw new IllegalArgumentException("虚拟用户数必须在1到" + MAX_VIRTUAL_USERS + "之间: " + virtualUsers);
+        }
+        if (targetRps < 0) {
+            throw new IllegalArgumentException("目标RPS不能为负数: " + targetRps);
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("压测时长必须大于0");
+        }
+        rampUp = rampUp == null ? Duration.ZERO : rampUp;
+        if (rampUp.isNegative() || rampUp.compareTo(duration) > 0) {
+            throw new IllegalArgumentException("预热时长必须在0到压测时长之间");
+        }
+    }
+
+    /**
+     * @return 是否为闭环模型
+     */
+    public boolean isClosedLoop() {
+        return targetRps == 0;
+    }
+}
@@ -0,0 +1,197 @@
+package com.daicy.devtools.plugin.http.loadtest;
+
+import com.daicy.devtools.plugin.http.engine.HttpEngine;
+import com.daicy.devtools.plugin.http.engine.ResponseSummary;
+import com.daicy.devtools.plugin.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 压测执行器
+ * 每个虚拟用户一个守护线程，所有请求经同一个 {@link HttpEngine} 的连接池发出，响应体只计数不保存。
+ * 统计在压测过程中随时可以读取，见 {@link #snapshot()}。
+ * <p>
+ * 延迟同时按两种方式记录：
+ * 实际发出到读完响应的原始延迟，以及修正协调遗漏后的延迟。
+ * 开环模型中每个请求都有预定的发出时间，修正延迟从预定时间算起；
+ * 闭环模型没有预定时间，以平均延迟作为预期间隔补记被慢响应挡住的样本。
+ * <p>
+ * 每个执行器只能启动一次
+ */
+public class LoadTestRunner {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    /** 等待期间检查停止标志的间隔 */
+    private static final long PARK_SLICE_NANOS = 100_000_000L;
+
+    private final HttpEngine engine;
+    private final LoadTestConfig config;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram corrected = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder latencySum = new LongAdder();
+    /** 开环模型的请求序号，虚拟用户按序号领取下一个请求的预定发出时间 */
+    private final AtomicLong tickets = new AtomicLong();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<LoadTestSnapshot> completion = new CompletableFuture<>();
+    private volatile boolean stopped;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public LoadTestRunner(HttpEngine engine, LoadTestConfig config) {
+        this.engine = engine;
+        this.config = config;
+    }
+
+    /**
+     * 启动压测，立即返回
+     *
+     * @return 所有虚拟用户结束后完成，结果为最终统计
+     * @throws IllegalStateException 已经启动过时抛出
+     */
+    public CompletableFuture<LoadTestSnapshot> start() {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("压测已经启动");
+        }
+        // 连接数不足时虚拟用户会排队等待连接，测到的是连接池而不是服务端
+        engine.ensureMaxPerRoute(config.virtualUsers());
+        startNanos = System.nanoTime();
+        long deadline = startNanos + config.duration().toNanos();
+        AtomicInteger running = new AtomicInteger(config.virtualUsers());
+        for (int i = 0; i < config.virtualUsers(); i++) {
+            int user = i;
+            // Java 17没有虚拟线程，每个虚拟用户占用一个平台线程
+            Thread thread = new Thread(() -> {
+                try {
+                    if (config.isClosedLoop()) {
+                        runClosedLoop(user, deadline);
+                    } else {
+                        runOpenLoop(deadline);
+                    }
+                } finally {
+                    if (running.decrementAndGet() == 0) {
+                        endNanos = System.nanoTime();
+                        completion.complete(snapshot());
+                    }
+                }
+            }, "load-test-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return completion;
+    }
+
+    /**
+     * 停止压测，虚拟用户在当前请求完成后退出
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * @return 是否已启动且尚未全部结束
+     */
+    public boolean isRunning() {
+        return started.get() && !completion.isDone();
+    }
+
+    /**
+     * @return 当前的统计，压测结束后时长不再增长
+     */
+    public LoadTestSnapshot snapshot() {
+        long start = startNanos;
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        long elapsed = start == 0 ? 0 : end - start;
+        return new LoadTestSnapshot(elapsed, requests.sum(), errors.sum(), bytes.sum(),
+            latency.snapshot(), corrected.snapshot());
+    }
+
+    /**
+     * 闭环模型：虚拟用户在预热期间均匀错开启动，之后收到响应立即发出下一个请求
+     */
+    private void runClosedLoop(int user, long deadline) {
+        long rampUp = config.rampUp().toNanos();
+        if (!parkUntil(startNanos + rampUp * user / config.virtualUsers())) {
+            return;
+        }
+        while (!stopped && System.nanoTime() - deadline < 0) {
+            long begin = System.nanoTime();
+            issue();
+            long elapsed = System.nanoTime() - begin;
+            latency.record(elapsed);
+            latencySum.add(elapsed);
+            long count = requests.sum();
+            corrected.recordCorrected(elapsed, count == 0 ? 0 : latencySum.sum() / count);
+        }
+    }
+
+    /**
+     * 开环模型：按序号领取预定的发出时间，到点发出；
+     * 所有虚拟用户都在等待响应时请求会晚于预定时间发出，这段延误计入修正延迟
+     */
+    private void runOpenLoop(long deadline) {
+        while (!stopped) {
+            long intended = startNanos + scheduledOffset(tickets.getAndIncrement());
+            if (intended - deadline >= 0 || !parkUntil(intended)) {
+                return;
+            }
+            long begin = System.nanoTime();
+            issue();
+            long end = System.nanoTime();
+            latency.record(end - begin);
+            corrected.record(end - intended);
+        }
+    }
+
+    /**
+     * 第 k 个请求相对开始时间的预定发出时间（纳秒）
+     * 预热期间速率从0线性增长到目标速率，已安排的请求数为 rate*t^2/(2*ramp)，
+     * 因此 t = sqrt(2*ramp*k/rate)；预热结束后按目标速率匀速安排
+     */
+    long scheduledOffset(long k) {
+        double rate = config.targetRps();
+        double ramp = config.rampUp().toNanos() / NANOS_PER_SECOND;
+        double rampRequests = rate * ramp / 2;
+        double seconds;
+        if (k < rampRequests) {
+            seconds = Math.sqrt(2 * ramp * k / rate);
+        } else {
+            seconds = ramp + (k - rampRequests) / rate;
+        }
+        return (long) (seconds * NANOS_PER_SECOND);
+    }
+
+    private void issue() {
+        try {
+            ResponseSummary response = engine.executeDiscardingBody(config.request());
+            bytes.add(response.bodyBytes());
+            if (response.isError()) {
+                errors.increment();
+            }
+        } catch (IOException | RuntimeException e) {
+            errors.increment();
+        }
+        requests.increment();
+    }
+
+    /**
+     * 等待到指定时刻
+     *
+     * @return 压测被停止时返回false
+     */
+    private boolean parkUntil(long nanoTime) {
+        long remaining;
+        while (!stopped && (remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(remaining, PARK_SLICE_NANOS));
+        }
+        return !stopped;
+    }
+}
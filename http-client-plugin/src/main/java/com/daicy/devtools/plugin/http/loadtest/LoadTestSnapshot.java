@@ -0,0 +1,72 @@
+package com.daicy.devtools.plugin.http.loadtest;
+
+import com.daicy.devtools.plugin.metrics.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * 压测在某一时刻的统计
+ *
+ * @param elapsedNanos 已进行的时长（纳秒）
+ * @param requests 已完成的请求数，包含失败的请求
+ * @param errors 失败的请求数：连接或读取失败，或状态码为4xx、5xx
+ * @param bytes 已接收的响应体字节数
+ * @param latency 从实际发出到读完响应的延迟
+ * @param corrected 修正协调遗漏后的延迟，包含请求因发送方被阻塞而推迟发出的时间
+ */
+public record LoadTestSnapshot(long elapsedNanos, long requests, long errors, long bytes,
+                               LatencyHistogram.Snapshot latency, LatencyHistogram.Snapshot corrected) {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * @return 从开始到现在的平均每秒请求数
+     */
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : requests * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * 两次快照之间的每秒请求数，用于显示实时吞吐量
+     *
+     * @param previous 较早的快照，为null时返回平均吞吐量
+     * @return 每秒请求数
+     */
+    public double throughputSince(LoadTestSnapshot previous) {
+        if (previous == null) {
+            return throughput();
+        }
+        long interval = elapsedNanos - previous.elapsedNanos;
+        return interval <= 0 ? 0 : (requests - previous.requests) * NANOS_PER_SECOND / interval;
+    }
+
+    /**
+     * @return 失败请求的比例，取值 0-1
+     */
+    public double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    /**
+     * @return 多行的统计文本，延迟单位为毫秒
+     */
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Elapsed: %.1fs%n", elapsedNanos / NANOS_PER_SECOND));
+        text.append(String.format(Locale.ROOT, "Requests: %d (%.1f req/s)%n", requests, throughput()));
+        text.append(String.format(Locale.ROOT, "Errors: %d (%.2f%%)%n", errors, errorRate() * 100));
+        text.append(String.format(Locale.ROOT, "Transferred: %d bytes%n", bytes));
+        text.append(String.format(Locale.ROOT, "%-11s %10s %10s %10s %10s%n", "Latency(ms)", "p50", "p90", "p99", "max"));
+        appendLatency(text, "raw", latency);
+        appendLatency(text, "corrected", corrected);
+        return text.toString();
+    }
+
+    private static void appendLatency(StringBuilder text, String label, LatencyHistogram.Snapshot snapshot) {
+        text.append(String.format(Locale.ROOT, "%-11s %10.2f %10.2f %10.2f %10.2f%n", label,
+            snapshot.getValueAtPercentile(50) / NANOS_PER_MILLI,
+            snapshot.getValueAtPercentile(90) / NANOS_PER_MILLI,
+            snapshot.getValueAtPercentile(99) / NANOS_PER_MILLI,
+            snapshot.getMax() / NANOS_PER_MILLI));
+    }
+}
@@ -0,0 +1,163 @@
+package com.daicy.devtools.plugin.http.collection;
+
+import com.daicy.devtools.plugin.http.engine.HttpEngine;
+import com.daicy.devtools.plugin.http.engine.RequestSpec;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionRunnerTest {
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpEngine engine;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Map<String, Long> completedAt = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", exchange -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            completedAt.put(exchange.getRequestURI().getQuery(), System.nanoTime());
+            respond(exchange, 200, "done");
+        });
+        server.createContext("/fail", exchange -> respond(exchange, 500, "error"));
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        engine = new HttpEngine();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        engine.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testIndependentRequestsRunConcurrentlyUpToLimit() throws Exception {
+        RequestCollection collection = new RequestCollection();
+        for (int i = 0; i < 20; i++) {
+            collection.put(request("r" + i, "/slow?r" + i));
+        }
+        AtomicInteger callbacks = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<RequestRunResult> results = new CollectionRunner(engine, collection, 5)
+            .start(result -> callbacks.incrementAndGet()).get(10, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(20, results.size());
+        assertEquals("r0", results.get(0).name());
+        assertEquals("r19", results.get(19).name());
+        assertTrue(results.stream().allMatch(RequestRunResult::isSuccess));
+        assertEquals(4, results.get(0).bytes());
+        assertEquals(20, callbacks.get());
+        // 20个200ms的请求，并发5时约800ms，顺序执行需要4秒
+        assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(2500), "took " + elapsed);
+        assertTrue(maxInFlight.get() <= 5, "max in flight " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1);
+    }
+
+    @Test
+    void testDependentRequestsRunInOrderAndSkipAfterFailure() throws Exception {
+        RequestCollection collection = new RequestCollection();
+        // 集合中的顺序与依赖顺序相反
+        collection.put(request("third", "/slow?third", "second"));
+        collection.put(request("second", "/slow?second", "first"));
+        collection.put(request("first", "/slow?first"));
+        collection.put(request("broken", "/fail"));
+        collection.put(request("afterBroken", "/slow?afterBroken", "broken"));
+
+        List<RequestRunResult> results = new CollectionRunner(engine, collection, 4)
+            .start(null).get(10, TimeUnit.SECONDS);
+
+        assertTrue(completedAt.get("first") < completedAt.get("second"));
+        assertTrue(completedAt.get("second") < completedAt.get("third"));
+        assertEquals("third", results.get(0).name());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(500, results.get(3).statusCode());
+        assertFalse(results.get(3).isSuccess());
+        assertEquals(0, results.get(4).statusCode());
+        assertTrue(results.get(4).error().contains("broken"));
+        assertFalse(completedAt.containsKey("afterBroken"));
+    }
+
+    @Test
+    void testInvalidDependencies() {
+        RequestCollection cycle = new RequestCollection();
+        cycle.put(request("a", "/slow", "b"));
+        cycle.put(request("b", "/slow", "a"));
+        assertThrows(IllegalArgumentException.class, () -> new CollectionRunner(engine, cycle, 1));
+
+        RequestCollection missing = new RequestCollection();
+        missing.put(request("a", "/slow", "nothing"));
+        assertThrows(IllegalArgumentException.class, () -> new CollectionRunner(engine, missing, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> new CollectionRunner(engine, new RequestCollection(), 0));
+    }
+
+    @Test
+    void testStoreRoundTrip(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("config").resolve("http-collections.json");
+        CollectionStore store = new CollectionStore(file);
+        store.load();
+        assertTrue(store.names().isEmpty());
+
+        RequestCollection smoke = store.getOrCreate("smoke");
+        smoke.put(new SavedRequest("login", new RequestSpec("POST", "http://localhost/login",
+            Map.of("Content-Type", "application/json"), "{\"user\":\"开发\"}"), List.of()));
+        smoke.put(request("profile", "/profile", "login"));
+        store.getOrCreate("another");
+        store.save();
+
+        CollectionStore reloaded = new CollectionStore(file);
+        reloaded.load();
+        assertEquals(List.of("another", "smoke"), reloaded.names());
+        SavedRequest login = reloaded.get("smoke").find("login");
+        assertEquals("POST", login.getMethod());
+        assertEquals("application/json", login.getHeaders().get("Content-Type"));
+        assertEquals("{\"user\":\"开发\"}", login.toSpec().body());
+        assertEquals(List.of("login"), reloaded.get("smoke").find("profile").getDependsOn());
+    }
+
+    private SavedRequest request(String name, String path, String... dependsOn) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + path;
+        return new SavedRequest(name, RequestSpec.get(url), List.of(dependsOn));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] data = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, data.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(data);
+        }
+    }
+}
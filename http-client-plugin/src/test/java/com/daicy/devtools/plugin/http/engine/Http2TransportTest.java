@@ -0,0 +1,210 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Http2TransportTest {
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private MockWebServer server;
+    private SSLContext clientContext;
+    private HttpEngine engine;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicBoolean stalled = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp(@TempDir Path dir) throws Exception {
+        KeyStore keyStore = selfSignedKeyStore(dir.resolve("localhost.p12"));
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD);
+        SSLContext serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(keyManagers.getKeyManagers(), null, null);
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+        clientContext = SSLContext.getInstance("TLS");
+        clientContext.init(null, trustManagers.getTrustManagers(), null);
+
+        server = new MockWebServer();
+        server.useHttps(serverContext.getSocketFactory(), false);
+        server.setProtocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().startsWith("/stall") && stalled.compareAndSet(false, true)) {
+                    return new MockResponse().setHeadersDelay(2, TimeUnit.SECONDS);
+                }
+                if (request.getPath().startsWith("/stall")) {
+                    return new MockResponse().setBody("ok");
+                }
+                if (request.getPath().startsWith("/hang")) {
+                    return new MockResponse().setHeadersDelay(2, TimeUnit.SECONDS);
+                }
+                if ("POST".equals(request.getMethod())) {
+                    return new MockResponse().setBody("echo:" + request.getBody().readUtf8())
+                        .addHeader("Content-Type", "text/plain; charset=UTF-8");
+                }
+                int current = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(current, Math::max);
+                Thread.sleep(200);
+                inFlight.decrementAndGet();
+                return new MockResponse().setBody("ok");
+            }
+        });
+        server.start();
+        engine = new HttpEngine(20, 10, ResponseBody.DEFAULT_SPILL_THRESHOLD, clientContext);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        engine.close();
+        server.shutdown();
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneConnection() throws Exception {
+        String url = server.url("/slow").toString();
+        List<HttpCall> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            calls.add(engine.send(RequestSpec.get(url).withProtocol(HttpProtocol.HTTP_2)));
+        }
+        for (HttpCall call : calls) {
+            HttpResult result = call.future().get(10, TimeUnit.SECONDS);
+            assertEquals(200, result.statusCode());
+            assertEquals("HTTP/2", result.protocol());
+            assertEquals("ok", result.body().text());
+        }
+
+        Http2ConnectionStats stats = engine.http2Stats(url);
+        assertEquals(10, stats.requests());
+        assertEquals(10, stats.http2Responses());
+        // 第一个请求建立连接，其余9个请求作为并发的流复用该连接
+        assertEquals(1, stats.connectionsOpened());
+        assertEquals(9, stats.reusedRequests());
+        assertTrue(stats.peakConcurrentStreams() > 1, "peak " + stats.peakConcurrentStreams());
+        assertTrue(maxInFlight.get() > 1, "server max in flight " + maxInFlight.get());
+    }
+
+    @Test
+    void testPostAndTimingOverHttp2() throws Exception {
+        RequestSpec spec = new RequestSpec("POST", server.url("/echo").toString(), Map.of("X-Trace", "1"),
+            "开发", HttpProtocol.HTTP_2);
+
+        HttpResult first = engine.execute(spec);
+        HttpResult second = engine.execute(spec);
+
+        assertEquals("echo:开发", first.body().text());
+        assertEquals("HTTP/2 200", first.statusLine());
+        assertTrue(first.headers().stream().noneMatch(header -> header.name().startsWith(":")));
+        assertFalse(first.timing().connectionReused());
+        assertTrue(second.timing().connectionReused());
+        assertTrue(second.timing().duration(TimingPhase.WAIT) > 0);
+        assertEquals("1", server.takeRequest().getHeader("X-Trace"));
+    }
+
+    @Test
+    void testCancelAndUnsupportedMethod() throws Exception {
+        HttpCall call = engine.send(RequestSpec.get(server.url("/hang").toString()).withProtocol(HttpProtocol.HTTP_2));
+        Thread.sleep(200);
+        call.cancel();
+        assertThrows(CancellationException.class, () -> call.future().get(5, TimeUnit.SECONDS));
+
+        HttpCall head = engine.send(new RequestSpec("HEAD", server.url("/slow").toString(), Map.of(), "",
+            HttpProtocol.HTTP_2));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> head.future().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+
+    @Test
+    void testStalledFirstRequestDoesNotBlockOthers() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Http2Transport transport = new Http2Transport(clientContext, executor,
+                ResponseBody.DEFAULT_SPILL_THRESHOLD, Duration.ofMillis(200), Duration.ofMillis(800));
+            RequestSpec spec = RequestSpec.get(server.url("/stall").toString()).withProtocol(HttpProtocol.HTTP_2);
+            Future<HttpResult> first = executor.submit(() -> transport.execute(spec));
+            Thread.sleep(100);
+
+            long start = System.nanoTime();
+            List<Future<HttpResult>> others = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                others.add(executor.submit(() -> transport.execute(spec)));
+            }
+            for (Future<HttpResult> other : others) {
+                assertEquals("ok", other.get(5, TimeUnit.SECONDS).body().text());
+            }
+            // 其余请求只等待预热上限，不等第一个请求的响应
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(700));
+            assertFalse(first.isDone());
+
+            ExecutionException error = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(HttpTimeoutException.class, error.getCause());
+            // 预热失败后重新预热，之后的请求正常完成
+            assertEquals("ok", transport.execute(spec).body().text());
+            assertEquals(5, transport.stats(spec.url()).requests());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStatsAbsentBeforeHttp2Request() throws Exception {
+        String url = server.url("/slow").toString();
+        assertNull(engine.http2Stats(url));
+        assertNull(engine.http2Stats("not a url"));
+
+        engine.executeDiscardingBody(RequestSpec.get(url).withProtocol(HttpProtocol.HTTP_2));
+        assertNull(engine.http2Stats("https://other.example:8443/"));
+        assertEquals(1, engine.http2Stats(url).requests());
+    }
+
+    /**
+     * 用JDK自带的keytool生成仅对localhost有效的自签名证书
+     */
+    private static KeyStore selfSignedKeyStore(Path file) throws Exception {
+        Process keytool = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "keytool").toString(),
+            "-genkeypair", "-alias", "test", "-keyalg", "EC", "-groupname", "secp256r1", "-dname", "CN=localhost",
+            "-ext", "SAN=dns:localhost,ip:127.0.0.1", "-validity", "1", "-storetype", "PKCS12",
+            "-keystore", file.toString(), "-storepass", "changeit", "-keypass", "changeit")
+            .redirectErrorStream(true).start();
+        keytool.getInputStream().transferTo(OutputStream.nullOutputStream());
+        assertEquals(0, keytool.waitFor());
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(file)) {
+            store.load(in, PASSWORD);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,163 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpEngineTest {
+    private MockWebServer server;
+    private HttpEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        engine = new HttpEngine();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        engine.close();
+        server.shutdown();
+    }
+
+    @Test
+    void testSendReusesKeepAliveConnection() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"a\":1}").addHeader("Content-Type", "application/json"));
+        server.enqueue(new MockResponse().setBody("second"));
+
+        HttpResult first = engine.send(RequestSpec.get(server.url("/one").toString())).future().get(5, TimeUnit.SECONDS);
+        HttpResult second = engine.send(RequestSpec.get(server.url("/two").toString())).future().get(5, TimeUnit.SECONDS);
+
+        assertEquals(200, first.statusCode());
+        assertEquals("{\"a\":1}", first.body().text());
+        assertEquals("application/json", first.contentType());
+        assertEquals("second", second.body().text());
+        // 同一连接上的第二个请求序号为1
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+        assertEquals(1, engine.poolStats().getAvailable());
+    }
+
+    @Test
+    void testPostSendsHeadersAndBody() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(201));
+        RequestSpec spec = new RequestSpec("POST", server.url("/create").toString(),
+            Map.of("Content-Type", "application/json"), "{\"name\":\"开发\"}");
+
+        HttpResult result = engine.execute(spec);
+
+        assertEquals(201, result.statusCode());
+        RecordedRequest request = server.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("application/json", request.getHeader("Content-Type"));
+        assertEquals("{\"name\":\"开发\"}", request.getBody().readUtf8());
+    }
+
+    @Test
+    void testLargeResponseIsStreamedToTempFile() throws Exception {
+        byte[] data = new byte[3 * ResponseBody.DEFAULT_SPILL_THRESHOLD + 17];
+        java.util.Arrays.fill(data, (byte) 'x');
+        server.enqueue(new MockResponse().setBody(new okio.Buffer().write(data)));
+
+        HttpResult result = engine.execute(RequestSpec.get(server.url("/large").toString()));
+        try (ResponseBody body = result.body()) {
+            assertTrue(body.isSpilled());
+            assertEquals(data.length, body.size());
+            assertEquals(data.length, java.nio.file.Files.size(body.file()));
+        }
+        assertEquals(0, engine.poolStats().getLeased());
+    }
+
+    @Test
+    void testCancelAbortsSlowRequest() throws Exception {
+        server.enqueue(new MockResponse().setBody("late").setHeadersDelay(3, TimeUnit.SECONDS));
+
+        HttpCall call = engine.send(RequestSpec.get(server.url("/slow").toString()));
+        server.takeRequest(5, TimeUnit.SECONDS);
+        long start = System.nanoTime();
+        assertTrue(call.cancel());
+
+        assertThrows(CancellationException.class, () -> call.future().get(5, TimeUnit.SECONDS));
+        // 中止后工作线程立即释放连接，不等服务端在3秒后响应
+        while (engine.poolStats().getLeased() > 0 && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2)) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, engine.poolStats().getLeased());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertFalse(call.cancel());
+    }
+
+    @Test
+    void testStalledServerTimesOut() throws Exception {
+        server.enqueue(new MockResponse().setBody("late").setHeadersDelay(2, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        try (HttpEngine stalled = new HttpEngine(20, 10, ResponseBody.DEFAULT_SPILL_THRESHOLD, null, 300)) {
+            long start = System.nanoTime();
+            // 压测和集合运行使用的同步发送不会一直等待
+            assertThrows(SocketTimeoutException.class,
+                () -> stalled.executeDiscardingBody(RequestSpec.get(server.url("/stall").toString())));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertEquals(0, stalled.poolStats().getLeased());
+
+            assertEquals(200, stalled.executeDiscardingBody(RequestSpec.get(server.url("/ok").toString())).statusCode());
+        }
+    }
+
+    @Test
+    void testTimingSeparatesConnectionSetupFromServerTime() throws Exception {
+        server.enqueue(new MockResponse().setBody("first")
+            .setHeadersDelay(200, TimeUnit.MILLISECONDS).setBodyDelay(100, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("second"));
+
+        RequestTiming first = engine.execute(RequestSpec.get(server.url("/one").toString())).timing();
+        RequestTiming second = engine.execute(RequestSpec.get(server.url("/two").toString())).timing();
+
+        assertFalse(first.connectionReused());
+        assertEquals(List.of(TimingPhase.DNS, TimingPhase.CONNECT, TimingPhase.REQUEST_WRITE, TimingPhase.WAIT,
+            TimingPhase.DOWNLOAD), phasesOf(first));
+        assertTrue(first.duration(TimingPhase.WAIT) >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(first.duration(TimingPhase.DOWNLOAD) >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(first.connectionSetupNanos() < first.duration(TimingPhase.WAIT));
+        // 各阶段依次发生，互不重叠
+        long previousEnd = 0;
+        for (PhaseTiming phase : first.phases()) {
+            assertTrue(phase.offsetNanos() >= previousEnd, phase.phase() + " starts before previous phase ends");
+            previousEnd = phase.offsetNanos() + phase.durationNanos();
+        }
+        assertTrue(previousEnd <= first.totalNanos());
+
+        assertTrue(second.connectionReused());
+        assertEquals(List.of(TimingPhase.REQUEST_WRITE, TimingPhase.WAIT, TimingPhase.DOWNLOAD), phasesOf(second));
+        assertEquals(0, second.connectionSetupNanos());
+    }
+
+    private static List<TimingPhase> phasesOf(RequestTiming timing) {
+        return timing.phases().stream().map(PhaseTiming::phase).collect(Collectors.toList());
+    }
+
+    @Test
+    void testInvalidRequestsFail() {
+        ExecutionException invalidUrl = assertThrows(ExecutionException.class,
+            () -> engine.send(RequestSpec.get("invalid-url")).future().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, invalidUrl.getCause());
+
+        HttpCall badMethod = engine.send(new RequestSpec("TRACE", server.url("/").toString(), null, null));
+        assertTrue(badMethod.future().isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,45 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestTimingTest {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testWaterfallPlacesBarsByOffset() {
+        RequestTiming timing = new RequestTiming(List.of(
+            new PhaseTiming(TimingPhase.DNS, 0, 10 * MS),
+            new PhaseTiming(TimingPhase.CONNECT, 10 * MS, 10 * MS),
+            new PhaseTiming(TimingPhase.WAIT, 20 * MS, 20 * MS),
+            new PhaseTiming(TimingPhase.DOWNLOAD, 40 * MS, 10 * 1000)), 40 * MS, false);
+
+        String[] lines = timing.waterfall().split("\n");
+        assertEquals(bar(0, 10), barOf(lines[1]));
+        assertEquals(bar(10, 20), barOf(lines[2]));
+        assertEquals(bar(20, 40), barOf(lines[3]));
+        // 很短的阶段至少占一列，落在最后一列
+        assertEquals(bar(39, 40), barOf(lines[4]));
+        assertTrue(lines[5].startsWith("Total"));
+        assertTrue(lines[6].contains("建立连接 20.00ms"));
+        assertTrue(lines[6].contains("等待首字节 20.00ms"));
+        assertEquals(20 * MS, timing.connectionSetupNanos());
+        assertEquals(0, timing.duration(TimingPhase.TLS));
+    }
+
+    private static String barOf(String line) {
+        return line.substring(line.indexOf('|') + 1, line.lastIndexOf('|'));
+    }
+
+    private static String bar(int from, int to) {
+        StringBuilder bar = new StringBuilder();
+        for (int i = 0; i < RequestTiming.WATERFALL_WIDTH; i++) {
+            bar.append(i >= from && i < to ? '#' : ' ');
+        }
+        return bar.toString();
+    }
+}
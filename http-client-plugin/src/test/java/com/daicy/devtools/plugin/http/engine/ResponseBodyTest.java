@@ -0,0 +1,90 @@
+package com.daicy.devtools.plugin.http.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseBodyTest {
+    @Test
+    void testSmallBodyStaysInMemory() throws IOException {
+        byte[] data = "{\"name\":\"开发工具\"}".getBytes(StandardCharsets.UTF_8);
+        try (ResponseBody body = ResponseBody.read(new ByteArrayInputStream(data), StandardCharsets.UTF_8, 1024)) {
+            assertFalse(body.isSpilled());
+            assertEquals(data.length, body.size());
+            assertEquals("{\"name\":\"开发工具\"}", body.text());
+            assertEquals(body.text(), body.preview());
+        }
+    }
+
+    @Test
+    void testLargeBodySpillsToFileAndPreviewsHeadAndTail() throws IOException {
+        String text = "a".repeat(ResponseBody.PREVIEW_HEAD_BYTES) + "b".repeat(100_000)
+            + "c".repeat(ResponseBody.PREVIEW_TAIL_BYTES);
+        byte[] data = text.getBytes(StandardCharsets.US_ASCII);
+
+        Path file;
+        try (ResponseBody body = ResponseBody.read(new ByteArrayInputStream(data), StandardCharsets.UTF_8, 4096)) {
+            assertTrue(body.isSpilled());
+            file = body.file();
+            assertEquals(data.length, body.size());
+            assertEquals(data.length, Files.size(file));
+            assertEquals(text, body.text());
+
+            String preview = body.preview();
+            assertTrue(preview.startsWith("a".repeat(ResponseBody.PREVIEW_HEAD_BYTES) + "\n\n... 省略 100000 字节 ..."));
+            assertTrue(preview.endsWith("c".repeat(ResponseBody.PREVIEW_TAIL_BYTES)));
+            assertFalse(preview.contains("b"));
+        }
+        assertFalse(Files.exists(file), "关闭后应删除临时文件");
+    }
+
+    @Test
+    void testBodyExactlyAtThresholdStaysInMemory() throws IOException {
+        byte[] data = new byte[4096];
+        try (ResponseBody body = ResponseBody.read(new ByteArrayInputStream(data), StandardCharsets.UTF_8, 4096)) {
+            assertFalse(body.isSpilled());
+            assertEquals(4096, body.size());
+        }
+    }
+
+    @Test
+    void testDeclaredCharsetIsUsed() throws IOException {
+        Charset gbk = Charset.forName("GBK");
+        byte[] data = "开发工具".getBytes(gbk);
+        try (ResponseBody body = ResponseBody.read(new ByteArrayInputStream(data), gbk, 1024)) {
+            assertEquals("开发工具", body.text());
+        }
+    }
+
+    @Test
+    void testFailedReadDeletesTempFile() throws IOException {
+        long before = countTempBodies();
+        InputStream failing = new InputStream() {
+            private int remaining = 10_000;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("connection reset");
+                }
+                return 'x';
+            }
+        };
+        assertThrows(IOException.class, () -> ResponseBody.read(failing, StandardCharsets.UTF_8, 1024));
+        assertEquals(before, countTempBodies());
+    }
+
+    private static long countTempBodies() throws IOException {
+        try (var files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(path -> path.getFileName().toString().startsWith("devtools-http-")).count();
+        }
+    }
+}
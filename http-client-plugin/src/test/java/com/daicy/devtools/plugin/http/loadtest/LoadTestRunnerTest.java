@@ -0,0 +1,148 @@
+package com.daicy.devtools.plugin.http.loadtest;
+
+import com.daicy.devtools.plugin.http.engine.HttpEngine;
+import com.daicy.devtools.plugin.http.engine.RequestSpec;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadTestRunnerTest {
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200, "ok"));
+        server.createContext("/fail", exchange -> respond(exchange, 500, "error"));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "slow");
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        engine = new HttpEngine();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        engine.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testClosedLoopCountsRequestsAndBytes() throws Exception {
+        LoadTestRunner runner = new LoadTestRunner(engine,
+            new LoadTestConfig(RequestSpec.get(url("/ok")), 4, 0, Duration.ofSeconds(1), Duration.ofMillis(200)));
+
+        LoadTestSnapshot result = runner.start().get(10, TimeUnit.SECONDS);
+
+        assertFalse(runner.isRunning());
+        assertTrue(result.requests() > 0);
+        assertEquals(0, result.errors());
+        assertEquals(result.requests() * 2, result.bytes());
+        assertEquals(result.requests(), result.latency().getCount());
+        assertTrue(result.corrected().getCount() >= result.requests());
+        assertTrue(result.elapsedNanos() >= TimeUnit.SECONDS.toNanos(1));
+        assertTrue(result.summary().contains("p99"));
+    }
+
+    @Test
+    void testOpenLoopFollowsTargetRate() throws Exception {
+        LoadTestRunner runner = new LoadTestRunner(engine,
+            new LoadTestConfig(RequestSpec.get(url("/ok")), 4, 50, Duration.ofSeconds(1), Duration.ZERO));
+
+        LoadTestSnapshot result = runner.start().get(10, TimeUnit.SECONDS);
+
+        // 1秒内按每秒50个安排，恰好50个请求
+        assertEquals(50, result.requests());
+        assertEquals(0, result.errors());
+    }
+
+    @Test
+    void testOpenLoopCorrectsCoordinatedOmission() throws Exception {
+        // 单个虚拟用户、每个响应200ms，而请求每50ms安排一个，后面的请求越排越晚
+        LoadTestRunner runner = new LoadTestRunner(engine,
+            new LoadTestConfig(RequestSpec.get(url("/slow")), 1, 20, Duration.ofSeconds(1), Duration.ZERO));
+
+        LoadTestSnapshot result = runner.start().get(10, TimeUnit.SECONDS);
+
+        long raw = result.latency().getValueAtPercentile(99);
+        long corrected = result.corrected().getValueAtPercentile(99);
+        assertTrue(raw < TimeUnit.MILLISECONDS.toNanos(400), "raw p99 " + raw);
+        assertTrue(corrected > TimeUnit.MILLISECONDS.toNanos(500), "corrected p99 " + corrected);
+    }
+
+    @Test
+    void testErrorsAndStop() throws Exception {
+        LoadTestRunner runner = new LoadTestRunner(engine,
+            new LoadTestConfig(RequestSpec.get(url("/fail")), 2, 0, Duration.ofSeconds(30), Duration.ZERO));
+
+        var completion = runner.start();
+        assertThrows(IllegalStateException.class, runner::start);
+        Thread.sleep(200);
+        runner.stop();
+        LoadTestSnapshot result = completion.get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.requests() > 0);
+        assertEquals(1.0, result.errorRate());
+        assertTrue(result.elapsedNanos() < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void testScheduleRampsUpLinearly() {
+        LoadTestRunner runner = new LoadTestRunner(engine,
+            new LoadTestConfig(RequestSpec.get(url("/ok")), 1, 100, Duration.ofSeconds(5), Duration.ofSeconds(2)));
+
+        // 预热2秒内速率从0升到100，共安排100个请求，之后每10ms一个
+        assertEquals(0, runner.scheduledOffset(0));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), runner.scheduledOffset(25), 1000);
+        assertEquals(TimeUnit.SECONDS.toNanos(2), runner.scheduledOffset(100), 1000);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2010), runner.scheduledOffset(101), 1000);
+    }
+
+    @Test
+    void testInvalidConfig() {
+        RequestSpec request = RequestSpec.get(url("/ok"));
+        assertThrows(IllegalArgumentException.class,
+            () -> new LoadTestConfig(request, 0, 0, Duration.ofSeconds(1), Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+            () -> new LoadTestConfig(request, 1, -1, Duration.ofSeconds(1), Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+            () -> new LoadTestConfig(request, 1, 0, Duration.ZERO, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+            () -> new LoadTestConfig(request, 1, 0, Duration.ofSeconds(1), Duration.ofSeconds(2)));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] data = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, data.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(data);
+        }
+    }
+}
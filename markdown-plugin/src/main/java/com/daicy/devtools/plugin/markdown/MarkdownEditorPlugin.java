@@ -1,6 +1,8 @@
 package com.daicy.devtools.plugin.markdown;
 
+import com.daicy.devtools.core.markdown.MarkdownRenderer;
 import com.daicy.devtools.plugin.Plugin;
+import com.daicy.devtools.plugin.metrics.OperationMetrics;
 import javafx.scene.control.TextArea;
 import javafx.scene.web.WebView;
 import javafx.scene.layout.VBox;
@@ -8,9 +10,6 @@ import javafx.scene.control.SplitPane;
 import javafx.scene.control.Button;
 import javafx.scene.control.ToolBar;
 import javafx.scene.layout.Priority;
-import com.vladsch.flexmark.html.HtmlRenderer;
-import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.data.MutableDataSet;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.control.Alert;
@@ -23,20 +22,11 @@ public class MarkdownEditorPlugin implements Plugin {
     private VBox editorContainer;
     private TextArea editor;
     private WebView preview;
-    private Parser parser;
-    private HtmlRenderer renderer;
-
-    public MarkdownEditorPlugin() {
-        // 默认构造函数
-    }
+    private final MarkdownRenderer markdownRenderer = new MarkdownRenderer();
+    private final OperationMetrics renderMetrics = operationMetrics("渲染");
 
     @Override
     public void initialize() {
-        // 初始化Markdown解析器
-        MutableDataSet options = new MutableDataSet();
-        parser = Parser.builder(options).build();
-        renderer = HtmlRenderer.builder(options).build();
-
         // 创建编辑器界面
         editorContainer = new VBox();
         
@@ -102,13 +92,25 @@ public class MarkdownEditorPlugin implements Plugin {
 
     private void updatePreview() {
         String markdown = editor.getText();
-        String html = renderer.render(parser.parse(markdown));
+        String html = renderHtml(markdown);
         preview.getEngine().loadContent(html);
     }
 
+    /**
+     * 把Markdown渲染为HTML，不依赖界面控件
+     * @param markdown Markdown文本
+     * @return HTML片段
+     */
+    public String renderHtml(String markdown) {
+        long start = renderMetrics.start();
+        String html = markdownRenderer.render(markdown);
+        renderMetrics.stop(start, OperationMetrics.utf8Length(markdown));
+        return html;
+    }
+
     private void copyHtmlToClipboard() {
         String markdown = editor.getText();
-        String html = renderer.render(parser.parse(markdown));
+        String html = renderHtml(markdown);
         
         // 获取系统剪贴板
         Clipboard clipboard = Clipboard.getSystemClipboard();